@@ -12,9 +12,14 @@ CREATE TABLE IF NOT EXISTS persona (
     apellido VARCHAR(100) NOT NULL,
     facultad VARCHAR(100) NOT NULL,
     puntaje INT NOT NULL,
-    admitido VARCHAR(2) NOT NULL
+    admitido VARCHAR(2) NOT NULL,
+    -- Rankings por facultad: lee las personas de una facultad en orden de puntaje sin recorrer la tabla
+    INDEX idx_persona_facultad_puntaje (facultad, puntaje)
 );
 
+-- En una base creada antes de agregar el índice:
+-- ALTER TABLE persona ADD INDEX idx_persona_facultad_puntaje (facultad, puntaje);
+
 -- Insertar algunos datos de ejemplo
 INSERT INTO persona (dni, nombre, apellido, facultad, puntaje, admitido) VALUES
 ('12345678', 'Juan', 'Perez', 'Ingenieria', 400, 'SI'),
@@ -0,0 +1,76 @@
+/**
+ * Mide la evaluación de la admisión con ReglasAdmision: por nombre de
+ * facultad, por id de facultad y en lote sobre arreglos de puntajes.
+ * Los resultados se expresan por operación, es decir, por arreglo completo.
+ */
+package benchmark.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Persona;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import service.ReglasAdmision;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdmisionBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int filas;
+
+    private ReglasAdmision reglas;
+    private String[] facultades;
+    private int[] idsFacultad;
+    private int[] puntajes;
+    private boolean[] admitidos;
+
+    @Setup
+    public void preparar() {
+        reglas = ReglasAdmision.cargar();
+        List<Persona> personas = Datos.generar(filas);
+        facultades = new String[filas];
+        idsFacultad = new int[filas];
+        puntajes = new int[filas];
+        admitidos = new boolean[filas];
+        for (int i = 0; i < filas; i++) {
+            Persona p = personas.get(i);
+            facultades[i] = p.getFacultadAspirada();
+            idsFacultad[i] = reglas.idFacultad(p.getFacultadAspirada());
+            puntajes[i] = p.getPuntaje();
+        }
+    }
+
+    @Benchmark
+    public void porNombre(Blackhole bh) {
+        for (int i = 0; i < filas; i++) {
+            bh.consume(reglas.evaluar(facultades[i], puntajes[i]));
+        }
+    }
+
+    @Benchmark
+    public void porId(Blackhole bh) {
+        for (int i = 0; i < filas; i++) {
+            bh.consume(reglas.admitido(idsFacultad[i], puntajes[i]));
+        }
+    }
+
+    @Benchmark
+    public int enLote() {
+        return reglas.evaluar(idsFacultad, puntajes, admitidos, filas);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Programa que compara dos resultados de JMH guardados en CSV (-rf csv),
+ * por ejemplo los de dos commits distintos.
+ *
+ * Para cada benchmark y combinación de parámetros muestra el puntaje de
+ * ambas ejecuciones y la variación. La variación se marca con * cuando es
+ * mayor que la suma de los márgenes de error de las dos mediciones.
+ *
+ * java -cp target/benchmarks.jar benchmark.jmh.CompararResultados base.csv nuevo.csv
+ */
+package benchmark.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompararResultados {
+
+    /**
+     * Resultado de un benchmark con una combinación de parámetros.
+     */
+    private static final class Resultado {
+        final double puntaje;
+        final double error;
+        final String unidad;
+
+        Resultado(double puntaje, double error, String unidad) {
+            this.puntaje = puntaje;
+            this.error = error;
+            this.unidad = unidad;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso: CompararResultados base.csv nuevo.csv");
+            return;
+        }
+        Map<String, Resultado> base = leer(args[0]);
+        Map<String, Resultado> nuevo = leer(args[1]);
+
+        System.out.printf("%-60s %14s %14s %9s  %s%n", "Benchmark", "Base", "Nuevo", "Cambio", "Unidad");
+        for (Map.Entry<String, Resultado> entrada : nuevo.entrySet()) {
+            Resultado n = entrada.getValue();
+            Resultado b = base.get(entrada.getKey());
+            if (b == null) {
+                System.out.printf("%-60s %14s %14.3f %9s  %s%n", entrada.getKey(), "-", n.puntaje, "nuevo", n.unidad);
+                continue;
+            }
+            double cambio = (n.puntaje - b.puntaje) / b.puntaje * 100;
+            boolean significativo = Math.abs(n.puntaje - b.puntaje) > errorValido(b) + errorValido(n);
+            System.out.printf("%-60s %14.3f %14.3f %+8.1f%%%s %s%n", entrada.getKey(), b.puntaje, n.puntaje,
+                    cambio, significativo ? "*" : " ", n.unidad);
+        }
+    }
+
+    private static double errorValido(Resultado r) {
+        return Double.isNaN(r.error) ? 0 : r.error;
+    }
+
+    /**
+     * Lee un CSV de JMH. La clave de cada resultado es el nombre del
+     * benchmark seguido de los parámetros, por ejemplo "MostrarBenchmark.mostrar filas=1000".
+     */
+    private static Map<String, Resultado> leer(String archivo) throws IOException {
+        List<String> lineas = Files.readAllLines(Paths.get(archivo), StandardCharsets.UTF_8);
+        List<String> encabezado = separar(lineas.get(0));
+        int colPuntaje = encabezado.indexOf("Score");
+        int colUnidad = encabezado.indexOf("Unit");
+        int colError = colPuntaje + 1;
+
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (int i = 1; i < lineas.size(); i++) {
+            List<String> campos = separar(lineas.get(i));
+            if (campos.size() < encabezado.size()) {
+                continue;
+            }
+            StringBuilder clave = new StringBuilder(campos.get(0).replace("benchmark.jmh.", ""));
+            for (int c = colUnidad + 1; c < encabezado.size(); c++) {
+                if (!campos.get(c).isEmpty()) {
+                    clave.append(' ').append(encabezado.get(c).replace("Param: ", "")).append('=').append(campos.get(c));
+                }
+            }
+            resultados.put(clave.toString(), new Resultado(numero(campos.get(colPuntaje)),
+                    numero(campos.get(colError)), campos.get(colUnidad)));
+        }
+        return resultados;
+    }
+
+    private static double numero(String texto) {
+        try {
+            return Double.parseDouble(texto.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Separa una línea CSV respetando los campos entre comillas.
+     */
+    private static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (c == ',' && !entreComillas) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Datos de prueba compartidos por los benchmarks JMH: personas generadas con
+ * una semilla fija para que todas las ejecuciones midan los mismos valores.
+ */
+package benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.Persona;
+
+final class Datos {
+
+    static final String[] FACULTADES = {"Ingenieria", "Artes", "Tecnologica", "Medio_Ambiente", "Ciencias"};
+
+    private Datos() {
+    }
+
+    /**
+     * Genera personas con idPersona consecutivo desde 1.
+     *
+     * @param filas Número de personas
+     * @return Lista de personas
+     */
+    static List<Persona> generar(int filas) {
+        Random azar = new Random(42);
+        List<Persona> personas = new ArrayList<>(filas);
+        for (int i = 1; i <= filas; i++) {
+            int puntaje = 200 + azar.nextInt(300);
+            personas.add(new Persona(i, String.format("%08d", i), "Nombre" + (i % 1000), "Apellido" + (i % 5000),
+                    FACULTADES[azar.nextInt(FACULTADES.length)], puntaje, puntaje >= 320 ? "SI" : "NO"));
+        }
+        return personas;
+    }
+}
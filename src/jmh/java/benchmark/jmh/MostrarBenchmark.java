@@ -0,0 +1,55 @@
+/**
+ * Mide PersonaService.mostrar: la construcción del modelo de tabla por
+ * columnas recorriendo todas las personas. Las personas se cargan antes en
+ * un PersonaMemoria, el almacenamiento de datos.backend=memoria, así que la
+ * medición no incluye la consulta a la base de datos.
+ */
+package benchmark.jmh;
+
+import data.PersonaMemoria;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.PersonaColumnTableModel;
+import service.PersonaService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MostrarBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int filas;
+
+    private PersonaService personaService;
+
+    @Setup
+    public void preparar() {
+        PersonaMemoria datos = new PersonaMemoria();
+        datos.insertarLote(Datos.generar(filas), filas);
+        personaService = new PersonaService(datos);
+    }
+
+    @TearDown
+    public void cerrar() {
+        personaService.cerrar();
+    }
+
+    @Benchmark
+    public PersonaColumnTableModel mostrar() {
+        return personaService.mostrar();
+    }
+}
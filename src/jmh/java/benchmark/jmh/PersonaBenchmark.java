@@ -0,0 +1,54 @@
+/**
+ * Mide la creación de objetos Persona: con el constructor completo, como lo
+ * hace el DAO al leer una fila, y con el constructor vacío y los setters,
+ * como lo hace PersonaService.insertar.
+ */
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+import model.Persona;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonaBenchmark {
+
+    // Campos no finales para que el compilador no pliegue los valores
+    private int id = 1;
+    private String dni = "12345678";
+    private String nombre = "Nombre";
+    private String apellido = "Apellido";
+    private String facultad = "Ingenieria";
+    private int puntaje = 350;
+    private String admitido = "SI";
+
+    @Benchmark
+    public Persona constructor() {
+        return new Persona(id, dni, nombre, apellido, facultad, puntaje, admitido);
+    }
+
+    @Benchmark
+    public Persona setters() {
+        Persona p = new Persona();
+        p.setIdPersona(id);
+        p.setDni(dni);
+        p.setNombre(nombre);
+        p.setApellido(apellido);
+        p.setFacultadAspirada(facultad);
+        p.setPuntaje(puntaje);
+        p.setAdmitido(admitido);
+        return p;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Mide las operaciones de acceso a datos: buscar por DNI, insertar, listar
+ * una página y listar la tabla completa, con la base de datos configurada en
+ * database.properties (backend mysql), con PersonaMemoria (backend memoria) o
+ * con PersonaArchivo en un directorio temporal (backend archivo).
+ *
+ * Antes de cada medición se cargan filas personas con DNI que empiezan con
+ * "J"; al terminar se borran, junto con las que agregó el benchmark de
+ * inserción. El backend mysql necesita la base de datos local en marcha.
+ */
+package benchmark.jmh;
+
+import data.DatabaseConnection;
+import data.PersonaArchivo;
+import data.PersonaDAO;
+import data.PersonaMemoria;
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Persona;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonaDAOBenchmark {
+
+    private static final String SQL_BORRAR = "delete from persona where dni like 'J%'";
+
+    // Implementación medida
+    @Param({"memoria", "archivo", "mysql"})
+    public String backend;
+
+    @Param({"1000", "100000"})
+    public int filas;
+
+    private PersonaInterface datos;
+    private String[] dnis;
+
+    // idPersona anterior al de la primera persona cargada
+    private int antesDelPrimero;
+
+    // Las inserciones usan DNI posteriores a los cargados
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    @Setup
+    public void preparar() throws SQLException {
+        datos = crear(backend);
+        borrar();
+
+        List<Persona> personas = new ArrayList<>(filas);
+        dnis = new String[filas];
+        for (Persona p : Datos.generar(filas)) {
+            dnis[personas.size()] = dni(p.getIdPersona());
+            personas.add(new Persona(0, dnis[personas.size()], p.getNombre(), p.getApellido(),
+                    p.getFacultadAspirada(), p.getPuntaje(), p.getAdmitido()));
+        }
+        List<ResultadoEscritura> resultados = datos.insertarLote(personas, 1000);
+        if (resultados.contains(ResultadoEscritura.ERROR) || resultados.contains(ResultadoEscritura.DUPLICADO)) {
+            throw new IllegalStateException("No se pudieron cargar los datos de prueba; ¿está la base de datos en marcha?");
+        }
+        antesDelPrimero = datos.buscar(dnis[0]).getIdPersona() - 1;
+        siguiente.set(filas + 1);
+    }
+
+    @TearDown
+    public void terminar() throws SQLException {
+        borrar();
+        if (datos instanceof PersonaArchivo) {
+            ((PersonaArchivo) datos).cerrar();
+        }
+    }
+
+    private static PersonaInterface crear(String backend) {
+        switch (backend) {
+            case "mysql":
+                return new PersonaDAO();
+            case "memoria":
+                return new PersonaMemoria();
+            case "archivo":
+                try {
+                    return new PersonaArchivo(Files.createTempDirectory("personas-jmh"),
+                            PersonaArchivo.Sincronizacion.PERIODICA, 1000, 60000);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            default:
+                throw new IllegalArgumentException("Backend desconocido: " + backend);
+        }
+    }
+
+    private static String dni(int numero) {
+        return String.format("J%07d", numero);
+    }
+
+    private void borrar() throws SQLException {
+        if (!"mysql".equals(backend)) {
+            return;
+        }
+        try (Connection cn = DatabaseConnection.getPool().obtener();
+             PreparedStatement ps = cn.prepareStatement(SQL_BORRAR)) {
+            ps.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public Persona buscar() {
+        return datos.buscar(dnis[ThreadLocalRandom.current().nextInt(dnis.length)]);
+    }
+
+    @Benchmark
+    public boolean insertar() {
+        int n = siguiente.getAndIncrement();
+        return datos.insertar(new Persona(0, dni(n), "Nombre", "Apellido", "Ingenieria", 350, "SI"));
+    }
+
+    @Benchmark
+    public List<Persona> listarPagina() {
+        return datos.listarPagina(antesDelPrimero + ThreadLocalRandom.current().nextInt(filas), 200);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Persona> listar() {
+        return datos.listar();
+    }
+}
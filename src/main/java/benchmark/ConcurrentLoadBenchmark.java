@@ -0,0 +1,145 @@
+/**
+ * Programa de carga concurrente para PersonaDAO.
+ *
+ * Lanza varios hilos que comparten una única instancia del DAO y ejecutan
+ * tráfico mixto de inserciones, búsquedas, actualizaciones y eliminaciones.
+ * Cada hilo trabaja sobre sus propios DNI y comprueba que las búsquedas
+ * devuelvan los datos que escribió, de modo que cualquier interferencia
+ * entre hilos aparece como inconsistencia. Informa el rendimiento para cada
+ * número de hilos.
+ *
+ * Requiere la base de datos crudPersona en ejecución. Las filas creadas se
+ * eliminan al terminar cada ronda.
+ *
+ * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+ *          benchmark.ConcurrentLoadBenchmark [hilos, p. ej. 1,2,4,8] [segundos por ronda]
+ */
+package benchmark;
+
+import data.DatabaseConnection;
+import data.PersonaDAO;
+import data.interfaces.PersonaInterface;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import model.Persona;
+
+public class ConcurrentLoadBenchmark {
+
+    // Contadores compartidos de una ronda
+    private static final class Resultado {
+        final LongAdder operaciones = new LongAdder();
+        final LongAdder errores = new LongAdder();
+        final LongAdder inconsistencias = new LongAdder();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] niveles = (args.length > 0 ? args[0] : "1,2,4,8,16").split(",");
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        PersonaInterface dao = new PersonaDAO();
+        String ejecucion = Long.toString(System.currentTimeMillis() % 100000, 36);
+
+        System.out.printf("%6s %12s %10s %10s %16s%n", "hilos", "ops/s", "ops", "errores", "inconsistencias");
+        for (String nivel : niveles) {
+            int hilos = Integer.parseInt(nivel.trim());
+            Resultado r = ronda(dao, hilos, segundos, ejecucion + "-" + hilos);
+            long ops = r.operaciones.sum();
+            System.out.printf("%6d %,12.0f %,10d %,10d %,16d%n", hilos, ops / (double) segundos,
+                    ops, r.errores.sum(), r.inconsistencias.sum());
+        }
+
+        DatabaseConnection.cerrarPool();
+    }
+
+    /**
+     * Ejecuta una ronda de carga con el número de hilos indicado.
+     */
+    private static Resultado ronda(PersonaInterface dao, int hilos, int segundos, String prefijo)
+            throws InterruptedException {
+        Resultado resultado = new Resultado();
+        CountDownLatch inicio = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(hilos);
+        long limite = System.nanoTime() + segundos * 1_000_000_000L;
+
+        for (int h = 0; h < hilos; h++) {
+            String prefijoHilo = prefijo + "-" + h + "-";
+            Thread hilo = new Thread(() -> {
+                try {
+                    inicio.await();
+                    trabajar(dao, prefijoHilo, limite, resultado);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fin.countDown();
+                }
+            }, "carga-" + h);
+            hilo.start();
+        }
+
+        inicio.countDown();
+        fin.await();
+        return resultado;
+    }
+
+    /**
+     * Bucle de un hilo: mezcla de 25% inserciones, 50% búsquedas,
+     * 15% actualizaciones y 10% eliminaciones sobre sus propios DNI.
+     */
+    private static void trabajar(PersonaInterface dao, String prefijo, long limite, Resultado resultado) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Persona> propias = new ArrayList<>();
+        int secuencia = 0;
+
+        while (System.nanoTime() < limite) {
+            int tirada = random.nextInt(100);
+
+            if (tirada < 25 || propias.isEmpty()) {
+                Persona p = new Persona(0, prefijo + secuencia++, "Nombre" + secuencia, "Carga", "Ingenieria",
+                        random.nextInt(500), "NO");
+                if (dao.insertar(p)) {
+                    propias.add(p);
+                } else {
+                    resultado.errores.increment();
+                }
+            } else {
+                int indice = random.nextInt(propias.size());
+                Persona p = propias.get(indice);
+
+                if (tirada < 75) {
+                    Persona encontrada = dao.buscar(p.getDni());
+                    if (encontrada == null) {
+                        resultado.errores.increment();
+                    } else if (!p.getDni().equals(encontrada.getDni()) || !p.getNombre().equals(encontrada.getNombre())) {
+                        resultado.inconsistencias.increment();
+                    } else {
+                        p.setIdPersona(encontrada.getIdPersona());
+                    }
+                } else if (tirada < 90) {
+                    if (p.getIdPersona() == 0) {
+                        Persona encontrada = dao.buscar(p.getDni());
+                        p.setIdPersona(encontrada == null ? 0 : encontrada.getIdPersona());
+                    }
+                    p.setNombre("Editado" + random.nextInt(1000));
+                    if (!dao.actualizar(p)) {
+                        resultado.errores.increment();
+                    }
+                } else {
+                    if (dao.eliminar(p.getDni())) {
+                        propias.remove(indice);
+                    } else {
+                        resultado.errores.increment();
+                    }
+                }
+            }
+            resultado.operaciones.increment();
+        }
+
+        // Limpiar las filas creadas por este hilo
+        for (Persona p : propias) {
+            dao.eliminar(p.getDni());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Programa que mide el rendimiento de las búsquedas por DNI abriendo y
+ * cerrando una conexión en cada operación, como hacía la versión anterior
+ * de DatabaseConnection, frente a la misma operación con el pool de conexiones.
+ *
+ * Requiere la base de datos crudPersona en ejecución.
+ *
+ * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+ *          benchmark.ConnectionPoolBenchmark [operaciones] [dni]
+ */
+package benchmark;
+
+import data.DatabaseConnection;
+import data.PersonaDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class ConnectionPoolBenchmark {
+
+    public static void main(String[] args) throws SQLException {
+        int operaciones = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        String dni = args.length > 1 ? args[1] : "12345678";
+
+        // Calentamiento de ambas variantes
+        porLlamada(operaciones / 10, dni);
+        conPool(operaciones / 10, dni);
+
+        double antes = porLlamada(operaciones, dni);
+        double despues = conPool(operaciones, dni);
+
+        System.out.printf("Conexión por llamada: %,.0f ops/s%n", antes);
+        System.out.printf("Pool de conexiones:   %,.0f ops/s%n", despues);
+        System.out.printf("Mejora:               %.1fx%n", despues / antes);
+
+        DatabaseConnection.cerrarPool();
+    }
+
+    /**
+     * Ejecuta búsquedas abriendo y cerrando una conexión física por operación.
+     *
+     * @return Operaciones por segundo
+     */
+    private static double porLlamada(int operaciones, String dni) throws SQLException {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operaciones; i++) {
+            try (Connection cn = DatabaseConnection.crearConexionFisica();
+                    PreparedStatement ps = cn.prepareStatement("select * from persona where dni = ?")) {
+                ps.setString(1, dni);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+        return operaciones / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    /**
+     * Ejecuta búsquedas con PersonaDAO, que toma las conexiones del pool.
+     *
+     * @return Operaciones por segundo
+     */
+    private static double conPool(int operaciones, String dni) {
+        PersonaDAO dao = new PersonaDAO();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operaciones; i++) {
+            dao.buscar(dni);
+        }
+        return operaciones / ((System.nanoTime() - inicio) / 1e9);
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Programa de carga para presentation.ServidorHttp.
+ *
+ * Lanza varios clientes que envían peticiones al servidor, cada uno con su
+ * propia conexión y sus propios DNI, en un ciclo de registro, seis
+ * búsquedas, una evaluación de admisión, una página del listado y una
+ * eliminación. Informa para cada número de clientes las peticiones por
+ * segundo y los percentiles de la latencia, que muestran si la cola de
+ * espera del servidor crece al aumentar la concurrencia.
+ *
+ * Requiere el servidor en ejecución. Las filas creadas se eliminan al
+ * terminar cada ronda.
+ *
+ * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+ *          benchmark.HttpLoadBenchmark [url, p. ej. http://localhost:8080]
+ *          [clientes, p. ej. 1,16,64,256] [segundos por ronda]
+ */
+package benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import metricas.Histograma;
+
+public class HttpLoadBenchmark {
+
+    // Búsquedas por DNI en cada ciclo
+    private static final int BUSQUEDAS_POR_CICLO = 6;
+
+    // Contadores compartidos de una ronda
+    private static final class Resultado {
+        final Histograma latencias = new Histograma();
+        final LongAdder errores = new LongAdder();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        String[] niveles = (args.length > 1 ? args[1] : "1,16,64,256").split(",");
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        String ejecucion = Long.toString(System.currentTimeMillis() % 100000, 36);
+
+        System.out.printf("%8s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                "clientes", "pet/s", "peticiones", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        for (String nivel : niveles) {
+            int clientes = Integer.parseInt(nivel.trim());
+            Resultado r = ronda(url, clientes, segundos, "h" + ejecucion + "-" + clientes);
+            Histograma h = r.latencias;
+            System.out.printf("%8d %,10.0f %,10d %9.2f %9.2f %9.2f %9.2f %9.2f %,8d%n", clientes,
+                    h.getTotal() / (double) segundos, h.getTotal(), ms(h.getPercentil(50)), ms(h.getPercentil(90)),
+                    ms(h.getPercentil(99)), ms(h.getPercentil(99.9)), ms(h.getMaximo()), r.errores.sum());
+        }
+    }
+
+    /**
+     * Ejecuta una ronda de carga con el número de clientes indicado.
+     */
+    private static Resultado ronda(String url, int clientes, int segundos, String prefijo) throws InterruptedException {
+        Resultado resultado = new Resultado();
+        CountDownLatch inicio = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(clientes);
+        long limite = System.nanoTime() + segundos * 1_000_000_000L;
+
+        for (int c = 0; c < clientes; c++) {
+            String prefijoCliente = prefijo + "-" + c + "-";
+            Thread hilo = new Thread(() -> {
+                try {
+                    inicio.await();
+                    trabajar(url, prefijoCliente, limite, resultado);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fin.countDown();
+                }
+            }, "cliente-" + c);
+            hilo.start();
+        }
+
+        inicio.countDown();
+        fin.await();
+        return resultado;
+    }
+
+    /**
+     * Bucle de un cliente. Cada cliente tiene su propio HttpClient para que
+     * las conexiones no se compartan entre clientes.
+     */
+    private static void trabajar(String url, String prefijo, long limite, Resultado resultado)
+            throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int secuencia = 0;
+
+        while (System.nanoTime() < limite) {
+            String dni = prefijo + secuencia++;
+            int puntaje = random.nextInt(500);
+            String cuerpo = "{\"nombre\":\"Nombre" + secuencia + "\",\"apellido\":\"Carga\","
+                    + "\"facultad\":\"Ingenieria\",\"puntaje\":" + puntaje + "}";
+
+            enviar(cliente, resultado, HttpRequest.newBuilder(URI.create(url + "/personas/" + dni))
+                    .PUT(HttpRequest.BodyPublishers.ofString(cuerpo))
+                    .header("Content-Type", "application/json"));
+            for (int i = 0; i < BUSQUEDAS_POR_CICLO; i++) {
+                enviar(cliente, resultado, HttpRequest.newBuilder(URI.create(url + "/personas/" + dni)).GET());
+            }
+            enviar(cliente, resultado, HttpRequest.newBuilder(
+                    URI.create(url + "/admision?facultad=Ingenieria&puntaje=" + puntaje)).GET());
+            enviar(cliente, resultado, HttpRequest.newBuilder(
+                    URI.create(url + "/personas?despuesDe=" + random.nextInt(1000) + "&tamano=20")).GET());
+            enviar(cliente, resultado, HttpRequest.newBuilder(URI.create(url + "/personas/" + dni)).DELETE());
+        }
+    }
+
+    /**
+     * Envía una petición y registra su latencia. Cuenta como error una
+     * respuesta 5xx o un fallo de conexión.
+     */
+    private static void enviar(HttpClient cliente, Resultado resultado, HttpRequest.Builder peticion)
+            throws InterruptedException {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> respuesta = cliente.send(peticion.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() >= 500) {
+                resultado.errores.increment();
+            }
+        } catch (IOException e) {
+            resultado.errores.increment();
+        }
+        resultado.latencias.registrar(System.nanoTime() - inicio);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
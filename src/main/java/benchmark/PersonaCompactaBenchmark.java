@@ -0,0 +1,125 @@
+/**
+ * Programa que mide la memoria que retiene una cohorte de personas guardada
+ * como lista de Persona, como lista de PersonaCompacta y en PersonasCompactas,
+ * y comprueba que las conversiones conservan los datos.
+ *
+ * No necesita base de datos: genera las personas en memoria. Para que la
+ * medición de memoria sea estable conviene fijar el heap, por ejemplo:
+ *
+ * java -Xms2g -Xmx2g -cp target/classes benchmark.PersonaCompactaBenchmark [personas]
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import model.Persona;
+import model.PersonaCompacta;
+import model.PersonasCompactas;
+
+public class PersonaCompactaBenchmark {
+
+    private static final String[] FACULTADES = {"Ingenieria", "Artes", "Tecnologica", "Medio_Ambiente", "Ciencias"};
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Object[] retenido = new Object[1];
+        long persona = medir("List<Persona>", cantidad, () -> generarLista(cantidad), retenido);
+        retenido[0] = null;
+
+        medir("List<PersonaCompacta>", cantidad, () -> {
+            List<PersonaCompacta> lista = new ArrayList<>(cantidad);
+            for (int i = 1; i <= cantidad; i++) {
+                lista.add(PersonaCompacta.desde(generar(i)));
+            }
+            return lista;
+        }, retenido);
+        retenido[0] = null;
+
+        long compactas = medir("PersonasCompactas", cantidad, () -> {
+            PersonasCompactas personas = new PersonasCompactas(cantidad);
+            for (int i = 1; i <= cantidad; i++) {
+                personas.agregar(generar(i));
+            }
+            return personas;
+        }, retenido);
+
+        comprobar((PersonasCompactas) retenido[0]);
+        System.out.printf("PersonasCompactas ocupa %.1f veces menos que List<Persona>%n", (double) persona / compactas);
+    }
+
+    /**
+     * Mide el heap que retiene la estructura creada por el proveedor.
+     *
+     * @return Bytes retenidos
+     */
+    private static long medir(String nombre, int cantidad, Supplier<Object> crear, Object[] retenido) {
+        long antes = heapUsado();
+        long inicio = System.nanoTime();
+        retenido[0] = crear.get();
+        long nanos = System.nanoTime() - inicio;
+        long bytes = heapUsado() - antes;
+
+        System.out.printf("%-24s personas=%,d  construcción=%,d ms  heap retenido=%,d MB (%d bytes/persona)%n",
+                nombre, cantidad, nanos / 1_000_000, bytes >> 20, bytes / cantidad);
+        return bytes;
+    }
+
+    /**
+     * Comprueba que cada persona guardada se recupera igual a la generada.
+     */
+    private static void comprobar(PersonasCompactas personas) {
+        for (int i = 0; i < personas.size(); i++) {
+            Persona original = generar(i + 1);
+            Persona copia = personas.get(i);
+            Persona ida = PersonaCompacta.desde(original).aPersona();
+            if (!iguales(original, copia) || !iguales(original, ida)) {
+                throw new IllegalStateException("La persona " + (i + 1) + " no se recuperó igual");
+            }
+        }
+    }
+
+    private static boolean iguales(Persona a, Persona b) {
+        return a.getIdPersona() == b.getIdPersona() && a.getDni().equals(b.getDni())
+                && a.getNombre().equals(b.getNombre()) && a.getApellido().equals(b.getApellido())
+                && a.getFacultadAspirada().equals(b.getFacultadAspirada()) && a.getPuntaje() == b.getPuntaje()
+                && a.getAdmitido().equals(b.getAdmitido());
+    }
+
+    private static List<Persona> generarLista(int cantidad) {
+        List<Persona> personas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            personas.add(generar(i));
+        }
+        return personas;
+    }
+
+    /**
+     * Genera una persona con datos parecidos a los reales. Las cadenas se
+     * crean nuevas para cada persona, como ocurre al leerlas de un ResultSet.
+     * Uno de cada mil DNI tiene letras y no se puede empaquetar.
+     */
+    private static Persona generar(int i) {
+        int puntaje = (i * 7919) % 500;
+        String dni = i % 1000 == 0 ? "X" + i : String.format("%08d", i);
+        return new Persona(i, dni, "Nombre" + (i % 5000), "Apellido" + (i % 9000),
+                new String(FACULTADES[i % FACULTADES.length]), puntaje, new String(puntaje >= 320 ? "SI" : "NO"));
+    }
+
+    /**
+     * Heap ocupado después de forzar la recolección de basura.
+     */
+    private static long heapUsado() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Programa que mide el efecto de reutilizar las sentencias preparadas en
+ * las búsquedas por DNI, sobre una sola conexión para no medir el pool:
+ *
+ *   1. Preparación en el cliente, sin caché (valores por defecto del driver).
+ *   2. Preparación en el servidor con la caché del driver (useServerPrepStmts
+ *      y cachePrepStmts), preparando la sentencia en cada operación.
+ *   3. Lo mismo con las sentencias guardadas por el pool de conexiones, como
+ *      las usa PersonaDAO.
+ *
+ * Requiere la base de datos crudPersona en ejecución.
+ *
+ * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+ *          benchmark.SentenciasBenchmark [operaciones] [dni]
+ */
+package benchmark;
+
+import data.ConnectionPool;
+import data.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class SentenciasBenchmark {
+
+    private static final String SQL = "select * from persona where dni = ?";
+
+    public static void main(String[] args) throws SQLException {
+        int operaciones = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        String dni = args.length > 1 ? args[1] : "12345678";
+
+        Properties sinCache = new Properties();
+        sinCache.setProperty("useServerPrepStmts", "false");
+        sinCache.setProperty("cachePrepStmts", "false");
+        Properties servidor = new Properties();
+        servidor.setProperty("useServerPrepStmts", "true");
+        servidor.setProperty("cachePrepStmts", "true");
+
+        // Calentamiento de las tres variantes
+        porLlamada(sinCache, operaciones / 10, dni);
+        porLlamada(servidor, operaciones / 10, dni);
+        conPool(servidor, operaciones / 10, dni);
+
+        double base = porLlamada(sinCache, operaciones, dni);
+        double cacheDriver = porLlamada(servidor, operaciones, dni);
+        double cachePool = conPool(servidor, operaciones, dni);
+
+        System.out.printf("Preparación en el cliente:          %,.0f ops/s%n", base);
+        System.out.printf("Servidor + caché del driver:        %,.0f ops/s (%.2fx)%n", cacheDriver, cacheDriver / base);
+        System.out.printf("Servidor + sentencias del pool:     %,.0f ops/s (%.2fx)%n", cachePool, cachePool / base);
+    }
+
+    /**
+     * Prepara, ejecuta y cierra la sentencia en cada operación.
+     *
+     * @param ajustes Propiedades del driver de la variante
+     * @return Operaciones por segundo
+     */
+    private static double porLlamada(Properties ajustes, int operaciones, String dni) throws SQLException {
+        try (Connection cn = DatabaseConnection.crearConexionFisica(ajustes)) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < operaciones; i++) {
+                buscar(cn, dni);
+            }
+            return operaciones / ((System.nanoTime() - inicio) / 1e9);
+        }
+    }
+
+    /**
+     * Hace lo mismo con una conexión de un pool de una sola conexión, que
+     * guarda la sentencia entre operaciones.
+     *
+     * @param ajustes Propiedades del driver de la variante
+     * @return Operaciones por segundo
+     */
+    private static double conPool(Properties ajustes, int operaciones, String dni) throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> DatabaseConnection.crearConexionFisica(ajustes),
+                1, 1, 60000, 5000, 60000, 2, 32);
+        try {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < operaciones; i++) {
+                try (Connection cn = pool.obtener()) {
+                    buscar(cn, dni);
+                }
+            }
+            double resultado = operaciones / ((System.nanoTime() - inicio) / 1e9);
+            System.out.printf("(sentencias reutilizadas por el pool: %d de %d)%n",
+                    pool.getSentenciasReutilizadas(), pool.getSentenciasPedidas());
+            return resultado;
+        } finally {
+            pool.cerrar();
+        }
+    }
+
+    private static void buscar(Connection cn, String dni) throws SQLException {
+        try (PreparedStatement ps = cn.prepareStatement(SQL)) {
+            ps.setString(1, dni);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+            }
+        }
+    }
+}
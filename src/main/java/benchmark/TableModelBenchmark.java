@@ -0,0 +1,118 @@
+/**
+ * Programa que compara el modelo de tabla que construía PersonaService.mostrar
+ * (copia de la lista, conversión a String y DefaultTableModel.addRow) con
+ * PersonaColumnTableModel, midiendo el tiempo de construcción y la memoria
+ * que retiene cada modelo.
+ *
+ * No necesita base de datos: genera las personas en memoria. Para que la
+ * medición de memoria sea estable conviene fijar el heap, por ejemplo:
+ *
+ * java -Xms2g -Xmx2g -cp target/classes benchmark.TableModelBenchmark [filas]
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import model.Persona;
+import service.PersonaColumnTableModel;
+
+public class TableModelBenchmark {
+
+    private static final String[] FACULTADES = {"Ingenieria", "Artes", "Tecnologica", "Medio_Ambiente", "Ciencias"};
+
+    public static void main(String[] args) {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Persona> personas = generar(filas);
+
+        // Calentamiento
+        for (int i = 0; i < 3; i++) {
+            construirAnterior(personas);
+            construirColumnar(personas);
+        }
+
+        medir("DefaultTableModel (anterior)", personas, true);
+        medir("PersonaColumnTableModel", personas, false);
+    }
+
+    /**
+     * Mide el tiempo de construcción y el heap retenido por un modelo.
+     */
+    private static void medir(String nombre, List<Persona> personas, boolean anterior) {
+        long antes = heapUsado();
+        long inicio = System.nanoTime();
+        TableModel modelo = anterior ? construirAnterior(personas) : construirColumnar(personas);
+        long nanos = System.nanoTime() - inicio;
+        long retenido = heapUsado() - antes;
+
+        System.out.printf("%-30s filas=%,d  construcción=%,d ms  heap retenido=%,d MB (%d bytes/fila)%n",
+                nombre, modelo.getRowCount(), nanos / 1_000_000, retenido >> 20, retenido / personas.size());
+    }
+
+    /**
+     * Reproduce la construcción que hacía PersonaService.mostrar antes del modelo por columnas.
+     */
+    private static DefaultTableModel construirAnterior(List<Persona> datos) {
+        List<Persona> lista = new ArrayList<>();
+        lista.addAll(datos);
+
+        String[] title = {"idPersona", "Dni", "Nombre", "Apellido", "Facultad", "Puntaje", "Admitido"};
+        DefaultTableModel modelo = new DefaultTableModel(null, title);
+        String[] registro = new String[7];
+
+        for (Persona item : lista) {
+            registro[0] = Integer.toString(item.getIdPersona());
+            registro[1] = item.getDni();
+            registro[2] = item.getNombre();
+            registro[3] = item.getApellido();
+            registro[4] = item.getFacultadAspirada();
+            registro[5] = Integer.toString(item.getPuntaje());
+            registro[6] = item.getAdmitido();
+            modelo.addRow(registro);
+        }
+        return modelo;
+    }
+
+    /**
+     * Construye el modelo como lo hace ahora PersonaService.mostrar.
+     */
+    private static PersonaColumnTableModel construirColumnar(List<Persona> datos) {
+        PersonaColumnTableModel modelo = new PersonaColumnTableModel(datos.size());
+        for (Persona item : datos) {
+            modelo.agregar(item);
+        }
+        return modelo;
+    }
+
+    /**
+     * Genera personas con datos parecidos a los reales. Las cadenas se crean
+     * nuevas para cada persona, como ocurre al leerlas de un ResultSet.
+     */
+    private static List<Persona> generar(int filas) {
+        List<Persona> personas = new ArrayList<>(filas);
+        for (int i = 1; i <= filas; i++) {
+            int puntaje = (i * 7919) % 500;
+            String facultad = new String(FACULTADES[i % FACULTADES.length]);
+            personas.add(new Persona(i, Integer.toString(10_000_000 + i), "Nombre" + (i % 5000),
+                    "Apellido" + (i % 9000), facultad, puntaje, new String(puntaje >= 320 ? "SI" : "NO")));
+        }
+        return personas;
+    }
+
+    /**
+     * Heap ocupado después de forzar la recolección de basura.
+     */
+    private static long heapUsado() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,495 @@
+/**
+ * Clase que implementa un pool acotado de conexiones JDBC reutilizables.
+ *
+ * Las conexiones entregadas son envoltorios de la conexión física: al llamar
+ * a close() la conexión vuelve al pool en lugar de cerrarse, de modo que cada
+ * operación evita el costo de abrir una conexión TCP y autenticarse en MySQL.
+ *
+ * El pool mantiene un mínimo de conexiones abiertas, nunca supera el máximo,
+ * cierra las conexiones que permanecen inactivas demasiado tiempo, valida las
+ * conexiones antes de entregarlas y limita el tiempo de espera al pedir una.
+ * El tiempo que tarda obtener() se registra en la métrica "conexion.obtener".
+ *
+ * Cada conexión física guarda además las sentencias preparadas que se
+ * cerraron en ella: al volver a pedir el mismo SQL se entrega la sentencia
+ * anterior, con sus parámetros limpios, en lugar de prepararla de nuevo.
+ * Con useServerPrepStmts esto evita además enviar y analizar el SQL en el
+ * servidor en cada operación.
+ */
+package data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import metricas.Metricas;
+import metricas.Operacion;
+
+public class ConnectionPool {
+
+    /**
+     * Crea conexiones físicas nuevas para el pool.
+     */
+    public interface FabricaConexion {
+
+        /**
+         * Abre una nueva conexión física a la base de datos.
+         *
+         * @return Conexión abierta
+         * @throws SQLException si no se pudo abrir la conexión
+         */
+        Connection crear() throws SQLException;
+    }
+
+    /**
+     * Conexión física junto con sus sentencias preparadas libres, de la
+     * menos a la más usada recientemente. Solo la usa el hilo que tiene
+     * prestada la conexión, o el pool mientras está libre.
+     */
+    private static final class ConexionFisica {
+        final Connection conexion;
+        final LinkedHashMap<String, PreparedStatement> sentencias = new LinkedHashMap<>(16, 0.75f, true);
+
+        ConexionFisica(Connection conexion) {
+            this.conexion = conexion;
+        }
+    }
+
+    /**
+     * Conexión física disponible junto con el instante en que quedó libre.
+     */
+    private static final class ConexionLibre {
+        final ConexionFisica fisica;
+        final long libreDesde;
+
+        ConexionLibre(ConexionFisica fisica, long libreDesde) {
+            this.fisica = fisica;
+            this.libreDesde = libreDesde;
+        }
+    }
+
+    private final FabricaConexion fabrica;
+    private final int minimo;
+    private final int maximo;
+    private final long inactividadMaxNanos;
+    private final long esperaMaxMs;
+    private final long validarTrasNanos;
+    private final int validacionTimeoutSeg;
+    private final int sentenciasPorConexion;
+
+    // Conexiones libres; la primera es la usada más recientemente
+    private final LinkedBlockingDeque<ConexionLibre> libres = new LinkedBlockingDeque<>();
+
+    // Un permiso por cada conexión que puede estar prestada a la vez
+    private final Semaphore permisos;
+
+    // Conexiones físicas abiertas (libres y prestadas)
+    private final AtomicInteger abiertas = new AtomicInteger();
+
+    private final ScheduledExecutorService mantenimiento;
+
+    // Tiempo de espera y de apertura o validación al pedir una conexión
+    private final Operacion obtenerConexion = Metricas.operacion("conexion.obtener");
+
+    // Sentencias preparadas pedidas al pool y cuántas se tomaron de las guardadas
+    private final AtomicLong sentenciasPedidas = new AtomicLong();
+    private final AtomicLong sentenciasReutilizadas = new AtomicLong();
+
+    private volatile boolean cerrado;
+
+    /**
+     * Constructor de la clase ConnectionPool.
+     *
+     * @param fabrica Fábrica de conexiones físicas
+     * @param minimo Número de conexiones que se mantienen abiertas aunque estén inactivas
+     * @param maximo Número máximo de conexiones abiertas a la vez
+     * @param inactividadMaxMs Tiempo de inactividad tras el cual se cierra una conexión sobrante
+     * @param esperaMaxMs Tiempo máximo de espera al pedir una conexión
+     * @param validarTrasMs Inactividad a partir de la cual se valida la conexión antes de entregarla
+     * @param validacionTimeoutSeg Tiempo máximo para la validación de una conexión
+     * @param sentenciasPorConexion Sentencias preparadas que cada conexión guarda para reutilizarlas; 0 para no guardar
+     */
+    public ConnectionPool(FabricaConexion fabrica, int minimo, int maximo, long inactividadMaxMs,
+            long esperaMaxMs, long validarTrasMs, int validacionTimeoutSeg, int sentenciasPorConexion) {
+        if (maximo < 1 || minimo < 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaño de pool inválido: minimo=" + minimo + ", maximo=" + maximo);
+        }
+        this.fabrica = fabrica;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.inactividadMaxNanos = TimeUnit.MILLISECONDS.toNanos(inactividadMaxMs);
+        this.esperaMaxMs = esperaMaxMs;
+        this.validarTrasNanos = TimeUnit.MILLISECONDS.toNanos(validarTrasMs);
+        this.validacionTimeoutSeg = validacionTimeoutSeg;
+        this.sentenciasPorConexion = Math.max(0, sentenciasPorConexion);
+        this.permisos = new Semaphore(maximo, true);
+
+        mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-conexiones-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1000, Math.min(inactividadMaxMs / 2, 30000));
+        mantenimiento.scheduleWithFixedDelay(this::mantener, 0, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene una conexión del pool. La conexión debe cerrarse al terminar
+     * de usarla para devolverla al pool.
+     *
+     * @return Conexión lista para usarse
+     * @throws SQLException si no hay conexiones disponibles dentro del tiempo de espera
+     *         o no se pudo abrir una nueva
+     */
+    public Connection obtener() throws SQLException {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            Connection conexion = obtenerSinMedir();
+            exito = true;
+            return conexion;
+        } finally {
+            obtenerConexion.registrar(inicio, !exito);
+        }
+    }
+
+    /**
+     * Obtiene una conexión del pool sin registrar el tiempo.
+     */
+    private Connection obtenerSinMedir() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        try {
+            if (!permisos.tryAcquire(esperaMaxMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tiempo de espera agotado al obtener una conexión ("
+                        + esperaMaxMs + " ms, " + maximo + " conexiones en uso)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+        }
+
+        try {
+            return envolver(tomarOCrear());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Toma una conexión libre válida o abre una nueva si no hay ninguna.
+     */
+    private ConexionFisica tomarOCrear() throws SQLException {
+        ConexionLibre libre;
+        while ((libre = libres.pollFirst()) != null) {
+            if (System.nanoTime() - libre.libreDesde < validarTrasNanos || esValida(libre.fisica.conexion)) {
+                return libre.fisica;
+            }
+            descartar(libre.fisica);
+        }
+        ConexionFisica fisica = new ConexionFisica(fabrica.crear());
+        abiertas.incrementAndGet();
+        return fisica;
+    }
+
+    /**
+     * Verifica que una conexión siga abierta y responda.
+     */
+    private boolean esValida(Connection fisica) {
+        try {
+            return fisica.isValid(validacionTimeoutSeg);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Devuelve una conexión física al pool, restableciendo su estado.
+     */
+    private void devolver(ConexionFisica fisica) {
+        try {
+            Connection conexion = fisica.conexion;
+            boolean reutilizable = !cerrado && !conexion.isClosed();
+            if (reutilizable && !conexion.getAutoCommit()) {
+                conexion.rollback();
+                conexion.setAutoCommit(true);
+            }
+            if (reutilizable) {
+                libres.offerFirst(new ConexionLibre(fisica, System.nanoTime()));
+            } else {
+                descartar(fisica);
+            }
+        } catch (SQLException e) {
+            descartar(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Cierra una conexión física, con sus sentencias guardadas, y la retira
+     * del conteo del pool.
+     */
+    private void descartar(ConexionFisica fisica) {
+        abiertas.decrementAndGet();
+        for (PreparedStatement sentencia : fisica.sentencias.values()) {
+            cerrarSentencia(sentencia);
+        }
+        fisica.sentencias.clear();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            System.out.println("Error al cerrar una conexión del pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tarea periódica: cierra las conexiones inactivas que sobran y repone
+     * el mínimo de conexiones abiertas.
+     */
+    private void mantener() {
+        try {
+            long ahora = System.nanoTime();
+            Iterator<ConexionLibre> it = libres.descendingIterator();
+            while (it.hasNext() && abiertas.get() > minimo) {
+                ConexionLibre libre = it.next();
+                if (ahora - libre.libreDesde >= inactividadMaxNanos && libres.removeLastOccurrence(libre)) {
+                    descartar(libre.fisica);
+                }
+            }
+            while (!cerrado && abiertas.get() < minimo) {
+                ConexionFisica fisica = new ConexionFisica(fabrica.crear());
+                abiertas.incrementAndGet();
+                libres.offerLast(new ConexionLibre(fisica, System.nanoTime()));
+            }
+        } catch (Exception e) {
+            System.out.println("Error en el mantenimiento del pool de conexiones: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Envuelve la conexión física para que close() la devuelva al pool y
+     * prepareStatement() reutilice las sentencias guardadas.
+     */
+    private Connection envolver(ConexionFisica fisica) {
+        InvocationHandler manejador = new InvocationHandler() {
+            private final AtomicBoolean devuelta = new AtomicBoolean();
+
+            @Override
+            public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+                switch (metodo.getName()) {
+                    case "close":
+                        if (devuelta.compareAndSet(false, true)) {
+                            devolver(fisica);
+                        }
+                        return null;
+                    case "isClosed":
+                        return devuelta.get() || fisica.conexion.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Conexión del pool [" + fisica.conexion + "]";
+                    default:
+                        if (devuelta.get()) {
+                            throw new SQLException("La conexión ya fue devuelta al pool");
+                        }
+                        String clave = claveSentencia(metodo, args);
+                        if (clave != null) {
+                            return prepararSentencia(fisica, clave, (Connection) proxy, devuelta, metodo, args);
+                        }
+                        try {
+                            return metodo.invoke(fisica.conexion, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, manejador);
+    }
+
+    /**
+     * Clave con la que se guarda la sentencia que crea una llamada a la
+     * conexión, o null si esa llamada no usa las sentencias guardadas. Solo
+     * se guardan las de prepareStatement(sql) y prepareStatement(sql,
+     * autoGeneratedKeys); las demás variantes cambian el tipo de resultado.
+     */
+    private String claveSentencia(Method metodo, Object[] args) {
+        if (sentenciasPorConexion == 0 || !metodo.getName().equals("prepareStatement")) {
+            return null;
+        }
+        Class<?>[] tipos = metodo.getParameterTypes();
+        if (tipos.length == 1) {
+            return (String) args[0];
+        }
+        if (tipos.length == 2 && tipos[1] == int.class) {
+            return args[1] + ":" + args[0];
+        }
+        return null;
+    }
+
+    /**
+     * Entrega una sentencia guardada para el SQL pedido o prepara una nueva.
+     * Mientras está prestada se quita de las guardadas, y al cerrarla vuelve
+     * a ellas, salvo que la conexión ya se haya devuelto al pool.
+     */
+    private PreparedStatement prepararSentencia(ConexionFisica fisica, String clave, Connection conexion,
+            AtomicBoolean conexionDevuelta, Method metodo, Object[] args) throws Throwable {
+        sentenciasPedidas.incrementAndGet();
+        PreparedStatement sentencia = fisica.sentencias.remove(clave);
+        if (sentencia != null) {
+            sentenciasReutilizadas.incrementAndGet();
+        } else {
+            try {
+                sentencia = (PreparedStatement) metodo.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        PreparedStatement real = sentencia;
+        InvocationHandler manejador = new InvocationHandler() {
+            private boolean cerrada;
+
+            @Override
+            public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+                switch (metodo.getName()) {
+                    case "close":
+                        if (!cerrada) {
+                            cerrada = true;
+                            guardarSentencia(fisica, clave, real, conexionDevuelta);
+                        }
+                        return null;
+                    case "isClosed":
+                        return cerrada || real.isClosed();
+                    case "getConnection":
+                        return conexion;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Sentencia del pool [" + real + "]";
+                    default:
+                        if (cerrada) {
+                            throw new SQLException("La sentencia ya fue cerrada");
+                        }
+                        try {
+                            return metodo.invoke(real, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, manejador);
+    }
+
+    /**
+     * Limpia una sentencia cerrada por el usuario y la guarda en su conexión,
+     * cerrando la menos usada si se supera el límite. Si la conexión ya se
+     * devolvió, la sentencia se cierra de verdad.
+     */
+    private void guardarSentencia(ConexionFisica fisica, String clave, PreparedStatement sentencia,
+            AtomicBoolean conexionDevuelta) {
+        if (cerrado || conexionDevuelta.get()) {
+            cerrarSentencia(sentencia);
+            return;
+        }
+        try {
+            if (sentencia.isClosed()) {
+                return;
+            }
+            sentencia.clearParameters();
+            sentencia.clearBatch();
+            sentencia.clearWarnings();
+        } catch (SQLException e) {
+            cerrarSentencia(sentencia);
+            return;
+        }
+        PreparedStatement anterior = fisica.sentencias.put(clave, sentencia);
+        if (anterior != null) {
+            cerrarSentencia(anterior);
+        }
+        Iterator<PreparedStatement> it = fisica.sentencias.values().iterator();
+        while (fisica.sentencias.size() > sentenciasPorConexion) {
+            cerrarSentencia(it.next());
+            it.remove();
+        }
+    }
+
+    private static void cerrarSentencia(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            System.out.println("Error al cerrar una sentencia del pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cierra el pool y todas sus conexiones libres. Las conexiones prestadas
+     * se cierran cuando se devuelven.
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionLibre libre;
+        while ((libre = libres.pollFirst()) != null) {
+            descartar(libre.fisica);
+        }
+    }
+
+    /**
+     * @return Número de conexiones físicas abiertas
+     */
+    public int getAbiertas() {
+        return abiertas.get();
+    }
+
+    /**
+     * @return Número de conexiones abiertas que no están prestadas
+     */
+    public int getLibres() {
+        return libres.size();
+    }
+
+    /**
+     * @return Número de sentencias preparadas pedidas a las conexiones del pool
+     */
+    public long getSentenciasPedidas() {
+        return sentenciasPedidas.get();
+    }
+
+    /**
+     * @return Número de sentencias preparadas que se tomaron de las guardadas en lugar de prepararse
+     */
+    public long getSentenciasReutilizadas() {
+        return sentenciasReutilizadas.get();
+    }
+
+    /**
+     * @return Número de conexiones prestadas en este momento
+     */
+    public int getEnUso() {
+        return maximo - permisos.availablePermits();
+    }
+}
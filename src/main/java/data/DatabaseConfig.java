@@ -0,0 +1,104 @@
+/**
+ * Clase que carga la configuración de acceso a la base de datos.
+ *
+ * Los valores se leen del archivo database.properties del classpath y
+ * pueden sobrescribirse con propiedades del sistema (-Dclave=valor).
+ */
+package data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+public final class DatabaseConfig {
+
+    // Nombre del archivo de configuración dentro del classpath
+    private static final String ARCHIVO = "/database.properties";
+
+    private static final Properties propiedades = cargar();
+
+    private DatabaseConfig() {
+    }
+
+    /**
+     * Carga el archivo de configuración. Si no existe se usan los valores por defecto.
+     *
+     * @return Propiedades leídas del archivo
+     */
+    private static Properties cargar() {
+        Properties props = new Properties();
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream(ARCHIVO)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.out.println("Error al leer " + ARCHIVO + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    /**
+     * Obtiene el valor de una clave de configuración.
+     *
+     * @param clave Nombre de la clave
+     * @param defecto Valor a usar si la clave no está definida
+     * @return Valor configurado o el valor por defecto
+     */
+    public static String get(String clave, String defecto) {
+        String valor = System.getProperty(clave);
+        if (valor == null) {
+            valor = propiedades.getProperty(clave);
+        }
+        return valor == null ? defecto : valor.trim();
+    }
+
+    /**
+     * Obtiene todas las claves que empiezan con un prefijo, sin el prefijo.
+     * Las propiedades del sistema con el mismo prefijo tienen prioridad.
+     *
+     * @param prefijo Prefijo de las claves, por ejemplo "db.driver."
+     * @return Claves encontradas y sus valores
+     */
+    public static Properties getConPrefijo(String prefijo) {
+        Properties resultado = new Properties();
+        for (Properties origen : new Properties[] {propiedades, System.getProperties()}) {
+            for (String clave : origen.stringPropertyNames()) {
+                if (clave.startsWith(prefijo) && clave.length() > prefijo.length()) {
+                    resultado.setProperty(clave.substring(prefijo.length()), origen.getProperty(clave).trim());
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el valor entero de una clave de configuración.
+     *
+     * @param clave Nombre de la clave
+     * @param defecto Valor a usar si la clave no está definida o no es numérica
+     * @return Valor configurado o el valor por defecto
+     */
+    public static int getInt(String clave, int defecto) {
+        return (int) getLong(clave, defecto);
+    }
+
+    /**
+     * Obtiene el valor numérico de una clave de configuración.
+     *
+     * @param clave Nombre de la clave
+     * @param defecto Valor a usar si la clave no está definida o no es numérica
+     * @return Valor configurado o el valor por defecto
+     */
+    public static long getLong(String clave, long defecto) {
+        String valor = get(clave, null);
+        if (valor == null) {
+            return defecto;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            System.out.println("Valor no numérico para " + clave + ": " + valor);
+            return defecto;
+        }
+    }
+}
@@ -4,81 +4,139 @@ package data;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 /**
  * Clase que gestiona la conexión a la base de datos MySQL.
- * Implementa el patrón Singleton para asegurar una única conexión a la base de datos.
+ * Mantiene un pool de conexiones reutilizables compartido por toda la aplicación:
+ * las conexiones obtenidas con getConexion() se devuelven al pool con
+ * cerrarConexion() (o con close()) en lugar de cerrarse.
  */
 public class DatabaseConnection {
     
-   // Parámetros de conexión a la base de datos
-   private static final String HOST="localhost";
+   // Parámetros de conexión a la base de datos (database.properties)
+   private static final String HOST = DatabaseConfig.get("db.host", "localhost");
    
-   private static final String PUERTO ="3306";
+   private static final String PUERTO = DatabaseConfig.get("db.puerto", "3306");
    
-   private static final String DB = "crudPersona";
+   private static final String DB = DatabaseConfig.get("db.nombre", "crudPersona");
    
-   private static final String USER = "root";
+   private static final String USER = DatabaseConfig.get("db.usuario", "root");
    
-   private static final String PASSWORD = "Carlonitos02";
+   private static final String PASSWORD = DatabaseConfig.get("db.password", "");
    
-   private static String url;
+   private static final String url = "jdbc:mysql://" + HOST + ":" + PUERTO + "/" + DB;
+   
+   // Propiedades del driver (claves db.driver.*): SSL, zona horaria, sentencias preparadas, lotes...
+   private static final Properties AJUSTES_DRIVER = DatabaseConfig.getConPrefijo("db.driver.");
+   
+   // Pool de conexiones compartido
+   private static final ConnectionPool pool = crearPool();
    
-   // Objeto de conexión a la base de datos
-   private static Connection conexion = null;
-    
    /**
-    * Obtiene una conexión a la base de datos.
-    * Si no existe una conexión activa o está cerrada, crea una nueva.
+    * Crea el pool de conexiones con los parámetros de database.properties.
+    * Las conexiones del pool miden sus sentencias (ver TrazaSQL).
+    * 
+    * @return Pool de conexiones
+    */
+   private static ConnectionPool crearPool() {
+       return new ConnectionPool(() -> TrazaSQL.envolver(crearConexionFisica()),
+               DatabaseConfig.getInt("pool.minimo", 2),
+               DatabaseConfig.getInt("pool.maximo", 10),
+               DatabaseConfig.getLong("pool.inactividadMaxMs", 300000),
+               DatabaseConfig.getLong("pool.esperaMaxMs", 5000),
+               DatabaseConfig.getLong("pool.validarTrasMs", 500),
+               DatabaseConfig.getInt("pool.validacionTimeoutSeg", 2),
+               DatabaseConfig.getInt("pool.sentenciasPorConexion", 32));
+   }
+   
+   /**
+    * Abre una conexión física nueva, sin pasar por el pool.
+    * El llamador es responsable de cerrarla.
     * 
     * @return Connection objeto de conexión a la base de datos
+    * @throws SQLException si no se pudo establecer la conexión
     */
-   public static Connection getConexion() {
-       // Si no hay conexión o la conexión está cerrada, crear una nueva
+   public static Connection crearConexionFisica() throws SQLException {
+       return crearConexionFisica(new Properties());
+   }
+   
+   /**
+    * Abre una conexión física nueva con algunas propiedades del driver
+    * cambiadas, por ejemplo para comparar configuraciones en un benchmark.
+    * El llamador es responsable de cerrarla.
+    * 
+    * @param cambios Propiedades del driver que reemplazan a las configuradas
+    * @return Connection objeto de conexión a la base de datos
+    * @throws SQLException si no se pudo establecer la conexión
+    */
+   public static Connection crearConexionFisica(Properties cambios) throws SQLException {
        try {
-           if (conexion == null || conexion.isClosed()) {
-               // Cargar el driver de MySQL
-               Class.forName("com.mysql.cj.jdbc.Driver");
-               
-               // Construir la URL de conexión
-               url = "jdbc:mysql://" + HOST + ":" + PUERTO + "/" + DB + 
-                     "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
-               
-               // Establecer la conexión con la base de datos
-               conexion = DriverManager.getConnection(url, USER, PASSWORD);
-               System.out.println("Conexión establecida correctamente");
-           }
+           // Cargar el driver de MySQL
+           Class.forName("com.mysql.cj.jdbc.Driver");
        } catch (ClassNotFoundException e) {
-           System.out.println("Error: No se encontró el driver de MySQL");
-           e.printStackTrace();
+           throw new SQLException("No se encontró el driver de MySQL", e);
+       }
+       Properties propiedades = new Properties();
+       propiedades.putAll(AJUSTES_DRIVER);
+       propiedades.putAll(cambios);
+       propiedades.setProperty("user", USER);
+       propiedades.setProperty("password", PASSWORD);
+       return DriverManager.getConnection(url, propiedades);
+   }
+    
+   /**
+    * Obtiene una conexión del pool.
+    * La conexión debe devolverse con cerrarConexion() al terminar de usarla.
+    * 
+    * @return Connection objeto de conexión a la base de datos, o null si no se pudo obtener
+    */
+   public static Connection getConexion() {
+       try {
+           return pool.obtener();
        } catch (SQLException e) {
-           System.out.println("Error: No se pudo establecer la conexión con la base de datos");
+           System.out.println("Error: No se pudo obtener una conexión con la base de datos");
            System.out.println("URL: " + url);
            System.out.println("Usuario: " + USER);
            e.printStackTrace();
-       } catch (Exception e) {
-           System.out.println("Error desconocido al establecer la conexión");
-           e.printStackTrace();
        }
        
-       return conexion;
+       return null;
    }
    
    /**
-    * Cierra la conexión a la base de datos si está abierta.
+    * Devuelve una conexión al pool. No hace nada si la conexión es null.
+    * 
+    * @param conexion Conexión obtenida con getConexion()
     */
-   public static void cerrarConexion() {
+   public static void cerrarConexion(Connection conexion) {
+       if (conexion == null) {
+           return;
+       }
        try {
-           if (conexion != null && !conexion.isClosed()) {
-               conexion.close();
-               System.out.println("Conexión cerrada correctamente");
-           }
+           conexion.close();
        } catch (SQLException e) {
-           System.out.println("Error al cerrar la conexión");
+           System.out.println("Error al devolver la conexión al pool");
            e.printStackTrace();
        }
    }
    
+   /**
+    * Cierra el pool y todas sus conexiones. Se usa al terminar la aplicación.
+    */
+   public static void cerrarPool() {
+       pool.cerrar();
+   }
+   
+   /**
+    * Obtiene el pool de conexiones compartido, para consultar su estado.
+    * 
+    * @return Pool de conexiones
+    */
+   public static ConnectionPool getPool() {
+       return pool;
+   }
+   
    //Metodo para verificar conexion
    /*
    public static void main(String[]args)
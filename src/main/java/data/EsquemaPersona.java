@@ -0,0 +1,35 @@
+/**
+ * Restricciones de la tabla persona de MySQL, para que los almacenamientos
+ * en memoria y en archivo rechacen las mismas filas que la base de datos:
+ * todas las columnas son NOT NULL y los textos tienen el largo máximo de
+ * su VARCHAR, contado en caracteres.
+ */
+package data;
+
+import model.Persona;
+
+final class EsquemaPersona {
+
+    static final int LARGO_DNI = 20;
+    static final int LARGO_TEXTO = 100;
+    static final int LARGO_ADMITIDO = 2;
+
+    private EsquemaPersona() {
+    }
+
+    /**
+     * @param obj Persona a guardar
+     * @return true si MySQL aceptaría sus datos
+     */
+    static boolean valida(Persona obj) {
+        return cabe(obj.getDni(), LARGO_DNI)
+                && cabe(obj.getNombre(), LARGO_TEXTO)
+                && cabe(obj.getApellido(), LARGO_TEXTO)
+                && cabe(obj.getFacultadAspirada(), LARGO_TEXTO)
+                && cabe(obj.getAdmitido(), LARGO_ADMITIDO);
+    }
+
+    private static boolean cabe(String valor, int largo) {
+        return valor != null && valor.codePointCount(0, valor.length()) <= largo;
+    }
+}
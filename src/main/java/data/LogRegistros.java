@@ -0,0 +1,257 @@
+/**
+ * Clase que maneja un archivo de registros de solo agregado, accedido con
+ * memoria mapeada (FileChannel.map).
+ *
+ * El archivo se divide en segmentos de tamaño fijo que se mapean completos;
+ * un registro nunca cruza de un segmento a otro. Cada registro se guarda como
+ * su longitud, el CRC32 de su contenido y el contenido. Una longitud 0 marca
+ * el final del log y una longitud -1 indica que el resto del segmento está
+ * vacío. Al abrir un archivo, un registro con CRC inválido (una escritura
+ * interrumpida) se considera el final.
+ *
+ * Los registros anteriores al final no se modifican nunca, por lo que pueden
+ * leerse mientras otro hilo agrega registros. Las escrituras deben hacerse
+ * desde un solo hilo a la vez.
+ */
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+final class LogRegistros implements Closeable {
+
+    // Tamaño de cada segmento mapeado
+    static final int SEGMENTO = 64 << 20;
+
+    // Longitud y CRC de cada registro
+    static final int CABECERA = 8;
+
+    private static final int FIN = 0;
+    private static final int SALTO = -1;
+
+    // Marca que devuelve leer() para un salto al siguiente segmento
+    private static final ByteBuffer SALTO_SEGMENTO = ByteBuffer.allocate(0);
+
+    /**
+     * Recibe cada registro al recorrer el log.
+     */
+    interface Visitante {
+        void visitar(long posicion, ByteBuffer contenido) throws IOException;
+    }
+
+    private final FileChannel canal;
+
+    // Se reemplaza completo al agregar un segmento, para que los lectores sin candado vean uno consistente
+    private volatile MappedByteBuffer[] segmentos;
+
+    // Posición donde se escribirá el próximo registro
+    private volatile long fin;
+
+    // Posición hasta la que el log ya se escribió en el disco
+    private long sincronizado;
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Abre o crea el archivo y mapea sus segmentos. El final del log se
+     * establece después con setFin().
+     *
+     * @param ruta Archivo del log
+     * @throws IOException si no se puede abrir o mapear
+     */
+    LogRegistros(Path ruta) throws IOException {
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int cantidad = (int) ((canal.size() + SEGMENTO - 1) / SEGMENTO);
+        MappedByteBuffer[] mapeados = new MappedByteBuffer[Math.max(cantidad, 1)];
+        for (int i = 0; i < mapeados.length; i++) {
+            mapeados[i] = canal.map(FileChannel.MapMode.READ_WRITE, (long) i * SEGMENTO, SEGMENTO);
+        }
+        segmentos = mapeados;
+    }
+
+    /**
+     * @return Posición donde se escribirá el próximo registro
+     */
+    long getFin() {
+        return fin;
+    }
+
+    /**
+     * Establece el final del log, normalmente el que devolvió recorrer() al abrirlo.
+     *
+     * @param posicion Posición donde se escribirá el próximo registro
+     */
+    void setFin(long posicion) {
+        fin = posicion;
+        sincronizado = posicion;
+    }
+
+    /**
+     * Recorre los registros válidos desde una posición.
+     *
+     * @param desde Posición del primer registro a recorrer
+     * @param visitante Recibe cada registro
+     * @return Posición siguiente al último registro válido
+     * @throws IOException si el visitante falla
+     */
+    long recorrer(long desde, Visitante visitante) throws IOException {
+        long posicion = desde;
+        while (true) {
+            posicion = saltarSiNoCabe(posicion, CABECERA);
+            ByteBuffer contenido = leer(posicion, true);
+            if (contenido == null) {
+                break;
+            }
+            if (contenido == SALTO_SEGMENTO) {
+                posicion = (posicion / SEGMENTO + 1) * SEGMENTO;
+                continue;
+            }
+            visitante.visitar(posicion, contenido);
+            posicion += CABECERA + contenido.remaining();
+        }
+        return posicion;
+    }
+
+    /**
+     * Lee el contenido del registro en una posición.
+     *
+     * @param posicion Posición del registro
+     * @param verificar Comprobar el CRC; no hace falta para posiciones de registros ya validados
+     * @return Contenido del registro, o null si no hay un registro válido
+     */
+    ByteBuffer leer(long posicion, boolean verificar) {
+        MappedByteBuffer[] mapeados = segmentos;
+        int segmento = (int) (posicion / SEGMENTO);
+        int inicio = (int) (posicion % SEGMENTO);
+        if (segmento >= mapeados.length || inicio + CABECERA > SEGMENTO) {
+            return null;
+        }
+        ByteBuffer datos = mapeados[segmento];
+        int longitud = datos.getInt(inicio);
+        if (longitud == SALTO) {
+            return SALTO_SEGMENTO;
+        }
+        if (longitud <= FIN || inicio + CABECERA + longitud > SEGMENTO) {
+            return null;
+        }
+        ByteBuffer contenido = datos.duplicate();
+        contenido.limit(inicio + CABECERA + longitud).position(inicio + CABECERA);
+        contenido = contenido.slice();
+
+        if (!verificar) {
+            return contenido;
+        }
+        CRC32 control = new CRC32();
+        control.update(contenido.duplicate());
+        return (int) control.getValue() == datos.getInt(inicio + 4) ? contenido : null;
+    }
+
+    /**
+     * Copia el contenido de un registro ya validado a un arreglo, con una
+     * sola copia desde el archivo mapeado.
+     *
+     * @param posicion Posición de un registro válido
+     * @return Contenido del registro
+     */
+    byte[] leerBytes(long posicion) {
+        ByteBuffer datos = segmentos[(int) (posicion / SEGMENTO)].duplicate();
+        int inicio = (int) (posicion % SEGMENTO);
+        byte[] contenido = new byte[datos.getInt(inicio)];
+        datos.position(inicio + CABECERA);
+        datos.get(contenido);
+        return contenido;
+    }
+
+    /**
+     * @param posicion Posición de un registro válido
+     * @return Bytes que ocupa el registro, incluida su cabecera
+     */
+    int tamano(long posicion) {
+        return CABECERA + segmentos[(int) (posicion / SEGMENTO)].getInt((int) (posicion % SEGMENTO));
+    }
+
+    /**
+     * Agrega un registro al final del log.
+     *
+     * @param contenido Contenido del registro
+     * @return Posición del registro
+     * @throws IOException si no se puede mapear un segmento nuevo
+     */
+    long agregar(byte[] contenido) throws IOException {
+        int necesario = CABECERA + contenido.length;
+        if (necesario > SEGMENTO) {
+            throw new IOException("Registro demasiado grande: " + contenido.length + " bytes");
+        }
+        int segmento = (int) (fin / SEGMENTO);
+        int inicio = (int) (fin % SEGMENTO);
+        if (inicio + necesario > SEGMENTO) {
+            if (inicio + 4 <= SEGMENTO && segmento < segmentos.length) {
+                segmentos[segmento].putInt(inicio, SALTO);
+            }
+            segmento++;
+            inicio = 0;
+        }
+        if (segmento >= segmentos.length) {
+            MappedByteBuffer[] mapeados = Arrays.copyOf(segmentos, segmento + 1);
+            mapeados[segmento] = canal.map(FileChannel.MapMode.READ_WRITE, (long) segmento * SEGMENTO, SEGMENTO);
+            segmentos = mapeados;
+        }
+
+        MappedByteBuffer datos = segmentos[segmento];
+        crc.reset();
+        crc.update(contenido);
+        ByteBuffer escritura = datos.duplicate();
+        escritura.position(inicio + CABECERA);
+        escritura.put(contenido);
+        // Marca de fin detrás del registro, por si quedaron datos de una escritura interrumpida
+        if (inicio + necesario + 4 <= SEGMENTO) {
+            datos.putInt(inicio + necesario, FIN);
+        }
+        datos.putInt(inicio + 4, (int) crc.getValue());
+        datos.putInt(inicio, contenido.length);
+
+        long posicion = (long) segmento * SEGMENTO + inicio;
+        fin = posicion + necesario;
+        return posicion;
+    }
+
+    /**
+     * Devuelve la posición donde empezaría un registro del tamaño indicado
+     * a partir de otra posición, saltando al siguiente segmento si no cabe.
+     */
+    private static long saltarSiNoCabe(long posicion, int tamano) {
+        return posicion % SEGMENTO + tamano > SEGMENTO ? (posicion / SEGMENTO + 1) * SEGMENTO : posicion;
+    }
+
+    /**
+     * Escribe en el disco los segmentos modificados desde la última
+     * sincronización. Como el log solo crece, son los que van desde la
+     * posición sincronizada hasta el final. Puede llamarse desde otro hilo
+     * mientras se agregan registros.
+     */
+    synchronized void sincronizar() {
+        long hasta = fin;
+        if (hasta == sincronizado) {
+            return;
+        }
+        MappedByteBuffer[] mapeados = segmentos;
+        int ultimo = (int) Math.min((hasta - 1) / SEGMENTO, mapeados.length - 1);
+        for (int i = (int) (sincronizado / SEGMENTO); i <= ultimo; i++) {
+            mapeados[i].force();
+        }
+        sincronizado = hasta;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        canal.close();
+    }
+}
@@ -0,0 +1,950 @@
+/**
+ * Clase que implementa PersonaInterface guardando las personas en archivos
+ * locales, para equipos sin MySQL (datos.backend=archivo).
+ *
+ * Cada alta, modificación o baja se agrega al final de un log de registros
+ * (LogRegistros) accedido con memoria mapeada; los registros nunca se
+ * modifican. En memoria se mantiene un índice con la posición del registro
+ * vigente de cada idPersona y el idPersona de cada DNI, de modo que buscar
+ * es una consulta al índice y una lectura del archivo mapeado. El índice
+ * guarda también el puntaje, la facultad y la admisión de cada persona, para
+ * elegir las de un ranking sin leer los registros que no se devuelven.
+ *
+ * Al abrir, el índice se carga del último punto de control (personas.idx) y
+ * solo se recorren los registros escritos después; sin punto de control se
+ * recorre el log completo. Un hilo de mantenimiento compacta el log cuando
+ * los registros reemplazados o eliminados ocupan más que los vigentes:
+ * copia los vigentes a un log nuevo sin detener las escrituras y solo toma
+ * el candado para copiar lo escrito mientras tanto y cambiar de archivo.
+ *
+ * La durabilidad se elige con archivo.sincronizacion:
+ *   - siempre: cada escritura se sincroniza con el disco antes de confirmarse.
+ *   - periodica: el log se sincroniza cada archivo.sincronizacionMs; una caída
+ *     puede perder las escrituras de ese intervalo.
+ *   - nunca: el sistema operativo decide cuándo escribir; solo se sincroniza al cerrar.
+ *
+ * Las operaciones tienen el mismo comportamiento que en PersonaDAO: el DNI es
+ * único, los idPersona se asignan en forma creciente y los errores se
+ * informan por consola devolviendo false o null.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import model.Diccionario;
+import model.EstadisticaFacultad;
+import model.Persona;
+
+public class PersonaArchivo implements PersonaInterface {
+
+    /**
+     * Frecuencia con la que las escrituras se sincronizan con el disco.
+     */
+    public enum Sincronizacion {
+        SIEMPRE, PERIODICA, NUNCA
+    }
+
+    // Tipos de registro del log
+    private static final byte PERSONA = 1;
+    private static final byte BAJA = 2;
+
+    private static final String PREFIJO_LOG = "personas-";
+    private static final String EXTENSION_LOG = ".log";
+    private static final String ARCHIVO_INDICE = "personas.idx";
+    // Cambia con el formato del punto de control; uno de otro formato se descarta y se recorre el log
+    private static final int MAGICO_INDICE = 0x5049445A;
+
+    // Longitud que indica un texto null
+    private static final int NULO = 0xFFFF;
+
+    // Bytes reemplazados a partir de los cuales vale la pena compactar
+    private static final long BASURA_MINIMA = 4 << 20;
+
+    /**
+     * Índice en memoria del contenido del log.
+     */
+    private static final class Indice {
+        // Posición + 1 del registro vigente de cada idPersona; 0 si no existe
+        long[] posiciones = new long[1024];
+        int[] tamanos = new int[1024];
+        final Map<String, Integer> idPorDni = new HashMap<>();
+
+        // Datos de cada idPersona para los rankings; la facultad es un código de codigosFacultad
+        int[] puntajes = new int[1024];
+        int[] facultades = new int[1024];
+        boolean[] admitidos = new boolean[1024];
+        final Diccionario codigosFacultad = new Diccionario(Integer.MAX_VALUE - 1);
+
+        int ultimoId;
+        int vivas;
+        long bytesVivos;
+        long bytesBasura;
+
+        /**
+         * Aplica al índice un registro agregado al log.
+         */
+        void aplicar(LogRegistros log, long posicion, ByteBuffer contenido) {
+            int id = contenido.getInt(1);
+            int tamano = LogRegistros.CABECERA + contenido.remaining();
+            if (id >= posiciones.length) {
+                crecer(Math.max(id + 1, posiciones.length * 2));
+            }
+            if (posiciones[id] != 0) {
+                idPorDni.remove(leerDni(log.leerBytes(posiciones[id] - 1)));
+                bytesVivos -= tamanos[id];
+                bytesBasura += tamanos[id];
+                posiciones[id] = 0;
+                vivas--;
+            }
+            if (contenido.get(0) == PERSONA) {
+                posiciones[id] = posicion + 1;
+                tamanos[id] = tamano;
+                idPorDni.put(leerDni(contenido), id);
+                puntajes[id] = contenido.getInt(5);
+                int facultad = saltarTexto(contenido, saltarTexto(contenido, saltarTexto(contenido, 9)));
+                facultades[id] = codigosFacultad.codigo(leerTexto(contenido, facultad));
+                admitidos[id] = "SI".equals(leerTexto(contenido, saltarTexto(contenido, facultad)));
+                bytesVivos += tamano;
+                vivas++;
+            } else {
+                bytesBasura += tamano;
+            }
+            ultimoId = Math.max(ultimoId, id);
+        }
+
+        void crecer(int capacidad) {
+            posiciones = Arrays.copyOf(posiciones, capacidad);
+            tamanos = Arrays.copyOf(tamanos, capacidad);
+            puntajes = Arrays.copyOf(puntajes, capacidad);
+            facultades = Arrays.copyOf(facultades, capacidad);
+            admitidos = Arrays.copyOf(admitidos, capacidad);
+        }
+    }
+
+    private final Path directorio;
+    private final Sincronizacion sincronizacion;
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    // Se reemplazan al compactar, con el candado de escritura
+    private volatile LogRegistros log;
+    private Indice indice;
+    private long generacion;
+
+    // Escrituras desde el último punto de control
+    private long cambios;
+
+    // Evita dos compactaciones a la vez y que se cierre durante una compactación
+    private final Object mantenimiento = new Object();
+    private final ScheduledExecutorService hilo;
+    private boolean cerrado;
+
+    /**
+     * Constructor de la clase PersonaArchivo. Abre o crea los archivos en el
+     * directorio indicado y reconstruye el índice.
+     *
+     * @param directorio Directorio de los archivos de datos
+     * @param sincronizacion Frecuencia de sincronización con el disco
+     * @param sincronizacionMs Intervalo de sincronización en modo PERIODICA
+     * @param compactacionMs Intervalo con el que se revisa si conviene compactar y se guarda el punto de control
+     * @throws IOException si no se pueden abrir los archivos
+     */
+    public PersonaArchivo(Path directorio, Sincronizacion sincronizacion, long sincronizacionMs, long compactacionMs)
+            throws IOException {
+        this.directorio = directorio;
+        this.sincronizacion = sincronizacion;
+        abrir();
+
+        hilo = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mantenimiento-archivo-personas");
+            t.setDaemon(true);
+            return t;
+        });
+        if (sincronizacion == Sincronizacion.PERIODICA) {
+            hilo.scheduleWithFixedDelay(() -> log.sincronizar(), sincronizacionMs, sincronizacionMs, TimeUnit.MILLISECONDS);
+        }
+        hilo.scheduleWithFixedDelay(this::mantener, compactacionMs, compactacionMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea el almacenamiento con los parámetros de database.properties.
+     *
+     * @return Almacenamiento abierto
+     * @throws IllegalStateException si no se pueden abrir los archivos
+     */
+    public static PersonaArchivo desdeConfiguracion() {
+        try {
+            return new PersonaArchivo(Paths.get(DatabaseConfig.get("archivo.directorio", "datos")),
+                    Sincronizacion.valueOf(DatabaseConfig.get("archivo.sincronizacion", "periodica").toUpperCase(Locale.ROOT)),
+                    DatabaseConfig.getLong("archivo.sincronizacionMs", 1000),
+                    DatabaseConfig.getLong("archivo.compactacionMs", 60000));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron abrir los archivos de datos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Abre el log más reciente y reconstruye el índice desde el punto de
+     * control, o recorriendo el log completo si no hay uno válido.
+     */
+    private void abrir() throws IOException {
+        Files.createDirectories(directorio);
+
+        // Una compactación interrumpida deja un .tmp; el log vigente es el de mayor generación
+        generacion = 0;
+        List<Path> logs = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO_LOG + "*")) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.endsWith(".tmp")) {
+                    Files.delete(archivo);
+                } else if (nombre.endsWith(EXTENSION_LOG)) {
+                    logs.add(archivo);
+                    generacion = Math.max(generacion, generacionDe(nombre));
+                }
+            }
+        }
+        for (Path archivo : logs) {
+            if (generacionDe(archivo.getFileName().toString()) != generacion) {
+                Files.delete(archivo);
+            }
+        }
+
+        log = new LogRegistros(rutaLog(generacion));
+        long desde = leerIndice();
+        if (desde < 0) {
+            indice = new Indice();
+            desde = 0;
+        }
+        Indice cargado = indice;
+        LogRegistros abierto = log;
+        abierto.setFin(abierto.recorrer(desde, (posicion, contenido) -> cargado.aplicar(abierto, posicion, contenido)));
+    }
+
+    private static long generacionDe(String nombre) {
+        return Long.parseLong(nombre.substring(PREFIJO_LOG.length(), nombre.length() - EXTENSION_LOG.length()));
+    }
+
+    private Path rutaLog(long gen) {
+        return directorio.resolve(PREFIJO_LOG + gen + EXTENSION_LOG);
+    }
+
+    /**
+     * Inserta una nueva persona y le asigna el idPersona generado.
+     *
+     * @param obj Persona a insertar
+     * @return true si la inserción fue exitosa, false si el DNI ya existe, los datos no cumplen el esquema o falla la escritura
+     */
+    @Override
+    public boolean insertar(Persona obj) {
+        return insertarSiNoExiste(obj) == ResultadoEscritura.INSERTADO;
+    }
+
+    /**
+     * Inserta una nueva persona y le asigna el idPersona generado.
+     *
+     * @param obj Persona a insertar
+     * @return INSERTADO, DUPLICADO o ERROR si los datos no cumplen el esquema o falla la escritura
+     */
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+        if (!EsquemaPersona.valida(obj)) {
+            return ResultadoEscritura.ERROR;
+        }
+        candado.writeLock().lock();
+        try {
+            if (indice.idPorDni.containsKey(obj.getDni())) {
+                return ResultadoEscritura.DUPLICADO;
+            }
+            int id = indice.ultimoId + 1;
+            escribir(codificar(obj, id));
+            confirmar();
+            obj.setIdPersona(id);
+            return ResultadoEscritura.INSERTADO;
+        } catch (IOException | RuntimeException e) {
+            System.out.println(e.getMessage());
+            return ResultadoEscritura.ERROR;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserta varias personas y asigna a cada una insertada su idPersona.
+     * En modo SIEMPRE se sincroniza una vez por lote en lugar de una vez por
+     * persona. Las que no cumplen el esquema de la tabla se informan como
+     * error.
+     *
+     * @param personas Personas a insertar
+     * @param tamanoLote Número de personas por lote
+     * @return Resultado de cada persona, en el mismo orden de la colección
+     */
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+        ResultadoEscritura[] resultados = new ResultadoEscritura[personas.size()];
+        Arrays.fill(resultados, ResultadoEscritura.ERROR);
+        Persona[] filas = personas.toArray(new Persona[0]);
+        int[] ids = new int[filas.length];
+        int lote = Math.max(1, tamanoLote);
+
+        for (int inicio = 0; inicio < filas.length; inicio += lote) {
+            int fin = Math.min(inicio + lote, filas.length);
+            candado.writeLock().lock();
+            try {
+                for (int i = inicio; i < fin; i++) {
+                    if (!EsquemaPersona.valida(filas[i])) {
+                        continue;
+                    }
+                    if (indice.idPorDni.containsKey(filas[i].getDni())) {
+                        resultados[i] = ResultadoEscritura.DUPLICADO;
+                        continue;
+                    }
+                    ids[i] = indice.ultimoId + 1;
+                    escribir(codificar(filas[i], ids[i]));
+                    resultados[i] = ResultadoEscritura.INSERTADO;
+                }
+                confirmar();
+                for (int i = inicio; i < fin; i++) {
+                    if (resultados[i] == ResultadoEscritura.INSERTADO) {
+                        filas[i].setIdPersona(ids[i]);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                System.out.println(e.getMessage());
+                break;
+            } finally {
+                candado.writeLock().unlock();
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Obtiene una lista de todas las personas.
+     *
+     * @return Lista de objetos Persona, en orden de idPersona
+     */
+    @Override
+    public List<Persona> listar() {
+        return listarPagina(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Recorre todas las personas por páginas (ver RecorridoPaginado); los
+     * registros de cada página se leen del log cuando se pide la página.
+     *
+     * @param tamanoLectura Personas por página; 0 o menos para el valor por defecto
+     * @return Flujo de personas, en orden de idPersona
+     */
+    @Override
+    public Stream<Persona> recorrer(int tamanoLectura) {
+        return RecorridoPaginado.flujo(this, tamanoLectura);
+    }
+
+    /**
+     * Obtiene una página de personas ordenadas por idPersona, empezando
+     * después del id indicado.
+     *
+     * @param despuesDeId Último idPersona de la página anterior, o 0 para la primera página
+     * @param tamano Número máximo de personas de la página
+     * @return Lista de objetos Persona con idPersona mayor que despuesDeId
+     */
+    @Override
+    public List<Persona> listarPagina(int despuesDeId, int tamano) {
+        candado.readLock().lock();
+        try {
+            List<Persona> registros = new ArrayList<>(Math.min(tamano, indice.vivas));
+            for (int id = Math.max(despuesDeId, 0) + 1; id <= indice.ultimoId && registros.size() < tamano; id++) {
+                if (indice.posiciones[id] != 0) {
+                    registros.add(decodificar(log.leerBytes(indice.posiciones[id] - 1)));
+                }
+            }
+            return registros;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el último idPersona de cada página completa con los datos del
+     * índice, sin leer el log.
+     *
+     * @param tamanoPagina Número de personas por página
+     * @return Último idPersona de cada página completa
+     */
+    @Override
+    public int[] listarFinesDePagina(int tamanoPagina) {
+        candado.readLock().lock();
+        try {
+            int tamano = Math.max(tamanoPagina, 1);
+            int[] fines = new int[indice.vivas / tamano];
+            int total = 0;
+            int contadas = 0;
+            for (int id = 1; id <= indice.ultimoId && total < fines.length; id++) {
+                if (indice.posiciones[id] != 0 && ++contadas % tamano == 0) {
+                    fines[total++] = id;
+                }
+            }
+            return fines;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene las personas de una facultad con puntaje dentro de un rango,
+     * de mayor a menor puntaje. Las personas se eligen con los datos del
+     * índice y solo se leen del log las devueltas.
+     *
+     * @param facultad Facultad de las personas
+     * @param puntajeMinimo Puntaje mínimo, inclusive
+     * @param puntajeMaximo Puntaje máximo, inclusive
+     * @param soloAdmitidos true para devolver solo las personas admitidas
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de objetos Persona
+     */
+    @Override
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad) {
+        candado.readLock().lock();
+        try {
+            int codigo = indice.codigosFacultad.buscar(facultad);
+            if (codigo < 0 || cantidad <= 0) {
+                return new ArrayList<>();
+            }
+            Ranking ranking = new Ranking(Math.min(cantidad, indice.vivas));
+            for (int id = 1; id <= indice.ultimoId; id++) {
+                if (indice.posiciones[id] != 0 && indice.facultades[id] == codigo
+                        && indice.puntajes[id] >= puntajeMinimo && indice.puntajes[id] <= puntajeMaximo
+                        && (!soloAdmitidos || indice.admitidos[id])) {
+                    ranking.ofrecer(indice.puntajes[id], id);
+                }
+            }
+            int[] elegidos = ranking.elegidos();
+            List<Persona> registros = new ArrayList<>(elegidos.length);
+            for (int id : elegidos) {
+                registros.add(decodificar(log.leerBytes(indice.posiciones[id] - 1)));
+            }
+            return registros;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula los totales de cada facultad con los datos del índice, sin
+     * leer el log.
+     *
+     * @return Una estadística por cada facultad con personas
+     */
+    @Override
+    public List<EstadisticaFacultad> contarPorFacultad() {
+        candado.readLock().lock();
+        try {
+            int facultades = indice.codigosFacultad.size();
+            long[] postulantes = new long[facultades];
+            long[] admitidos = new long[facultades];
+            long[] sumas = new long[facultades];
+            for (int id = 1; id <= indice.ultimoId; id++) {
+                if (indice.posiciones[id] != 0) {
+                    int f = indice.facultades[id];
+                    postulantes[f]++;
+                    admitidos[f] += indice.admitidos[id] ? 1 : 0;
+                    sumas[f] += indice.puntajes[id];
+                }
+            }
+            List<EstadisticaFacultad> estadisticas = new ArrayList<>();
+            for (int f = 0; f < facultades; f++) {
+                if (postulantes[f] > 0) {
+                    estadisticas.add(new EstadisticaFacultad(indice.codigosFacultad.valor(f), postulantes[f], admitidos[f], sumas[f]));
+                }
+            }
+            return estadisticas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las personas guardadas.
+     *
+     * @return Número de personas
+     */
+    @Override
+    public int contar() {
+        candado.readLock().lock();
+        try {
+            return indice.vivas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca una persona por su DNI.
+     *
+     * @param dni DNI de la persona a buscar
+     * @return Objeto Persona encontrado, o null si no se encuentra
+     */
+    @Override
+    public Persona buscar(String dni) {
+        candado.readLock().lock();
+        try {
+            Integer id = dni == null ? null : indice.idPorDni.get(dni);
+            return id == null ? null : decodificar(log.leerBytes(indice.posiciones[id] - 1));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza la información de una persona existente, buscada por idPersona.
+     *
+     * @param obj Persona con la información actualizada
+     * @return true si la actualización fue exitosa, false si no existe, el nuevo DNI ya es de otra persona, los datos no cumplen el esquema o falla la escritura
+     */
+    @Override
+    public boolean actualizar(Persona obj) {
+        candado.writeLock().lock();
+        try {
+            int id = obj.getIdPersona();
+            if (id <= 0 || id > indice.ultimoId || indice.posiciones[id] == 0 || !EsquemaPersona.valida(obj)) {
+                return false;
+            }
+            Integer otro = indice.idPorDni.get(obj.getDni());
+            if (otro != null && otro != id) {
+                return false;
+            }
+            escribir(codificar(obj, id));
+            confirmar();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.out.println(e.getMessage());
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una persona por su DNI.
+     *
+     * @param dni DNI de la persona a eliminar
+     * @return true si la eliminación fue exitosa, false si no existe o falla la escritura
+     */
+    @Override
+    public boolean eliminar(String dni) {
+        Persona obj = new Persona();
+        obj.setDni(dni);
+        return eliminarSiExiste(obj) == ResultadoEscritura.ELIMINADO;
+    }
+
+    /**
+     * Inserta una persona o reemplaza los datos de la que tiene su DNI, con
+     * un solo registro en el log.
+     *
+     * @param obj Persona a guardar
+     * @return INSERTADO, ACTUALIZADO o ERROR si los datos no cumplen el esquema o no se pudo escribir
+     */
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+        if (!EsquemaPersona.valida(obj)) {
+            return ResultadoEscritura.ERROR;
+        }
+        candado.writeLock().lock();
+        try {
+            Integer existente = indice.idPorDni.get(obj.getDni());
+            int id = existente != null ? existente : indice.ultimoId + 1;
+            escribir(codificar(obj, id));
+            confirmar();
+            obj.setIdPersona(id);
+            return existente != null ? ResultadoEscritura.ACTUALIZADO : ResultadoEscritura.INSERTADO;
+        } catch (IOException | RuntimeException e) {
+            System.out.println(e.getMessage());
+            return ResultadoEscritura.ERROR;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina la persona con el DNI de obj y copia en obj sus datos, que se
+     * leen del log antes de registrar la baja.
+     *
+     * @param obj Persona con el DNI a eliminar; recibe los datos eliminados
+     * @return ELIMINADO, NO_EXISTE o ERROR si no se pudo escribir
+     */
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+        candado.writeLock().lock();
+        try {
+            Integer id = obj.getDni() == null ? null : indice.idPorDni.get(obj.getDni());
+            if (id == null) {
+                return ResultadoEscritura.NO_EXISTE;
+            }
+            Persona eliminada = decodificar(log.leerBytes(indice.posiciones[id] - 1));
+            escribir(ByteBuffer.allocate(5).put(BAJA).putInt(id).array());
+            confirmar();
+            obj.copiarDe(eliminada);
+            return ResultadoEscritura.ELIMINADO;
+        } catch (IOException | RuntimeException e) {
+            System.out.println(e.getMessage());
+            return ResultadoEscritura.ERROR;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un registro al log y lo aplica al índice. Debe llamarse con el
+     * candado de escritura.
+     */
+    private void escribir(byte[] contenido) throws IOException {
+        long posicion = log.agregar(contenido);
+        indice.aplicar(log, posicion, ByteBuffer.wrap(contenido));
+        cambios++;
+    }
+
+    /**
+     * Sincroniza con el disco las escrituras recién hechas si el modo es SIEMPRE.
+     */
+    private void confirmar() {
+        if (sincronizacion == Sincronizacion.SIEMPRE) {
+            log.sincronizar();
+        }
+    }
+
+    /**
+     * Tarea periódica: compacta si los registros reemplazados ocupan más que
+     * los vigentes y, si no, guarda el punto de control si hubo cambios.
+     */
+    private void mantener() {
+        synchronized (mantenimiento) {
+            if (!cerrado) {
+                mantenerAbierto();
+            }
+        }
+    }
+
+    private void mantenerAbierto() {
+        try {
+            boolean compactar;
+            boolean guardar;
+            candado.readLock().lock();
+            try {
+                compactar = indice.bytesBasura > BASURA_MINIMA && indice.bytesBasura > indice.bytesVivos;
+                guardar = cambios > 0;
+            } finally {
+                candado.readLock().unlock();
+            }
+            if (compactar) {
+                compactar();
+            } else if (guardar) {
+                guardarIndice();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error en el mantenimiento de " + directorio + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copia los registros vigentes a un log nuevo y reemplaza al anterior.
+     * La copia se hace sin bloquear las operaciones; solo los registros
+     * escritos durante la copia se pasan con el candado de escritura.
+     *
+     * @throws IOException si no se puede escribir el log nuevo; el log anterior queda intacto
+     */
+    public void compactar() throws IOException {
+        synchronized (mantenimiento) {
+            if (cerrado) {
+                return;
+            }
+            LogRegistros anterior;
+            long desde;
+            long[] posiciones;
+            int ultimoId;
+            long nuevaGeneracion;
+            candado.readLock().lock();
+            try {
+                anterior = log;
+                desde = anterior.getFin();
+                ultimoId = indice.ultimoId;
+                posiciones = Arrays.copyOf(indice.posiciones, ultimoId + 1);
+                nuevaGeneracion = generacion + 1;
+            } finally {
+                candado.readLock().unlock();
+            }
+
+            Path temporal = directorio.resolve(PREFIJO_LOG + nuevaGeneracion + EXTENSION_LOG + ".tmp");
+            LogRegistros nuevo = new LogRegistros(temporal);
+            Indice nuevoIndice = new Indice();
+            LogRegistros.Visitante copiar = (posicion, contenido) -> {
+                byte[] bytes = new byte[contenido.remaining()];
+                contenido.duplicate().get(bytes);
+                nuevoIndice.aplicar(nuevo, nuevo.agregar(bytes), ByteBuffer.wrap(bytes));
+            };
+            try {
+                // Los registros anteriores a 'desde' no cambian, así que se leen sin candado
+                for (int id = 1; id <= ultimoId; id++) {
+                    if (posiciones[id] != 0) {
+                        copiar.visitar(posiciones[id] - 1, ByteBuffer.wrap(anterior.leerBytes(posiciones[id] - 1)));
+                    }
+                }
+                // Conserva el último id aunque su persona haya sido eliminada, para no reutilizarlo
+                if (ultimoId > 0 && posiciones[ultimoId] == 0) {
+                    byte[] baja = ByteBuffer.allocate(5).put(BAJA).putInt(ultimoId).array();
+                    nuevoIndice.aplicar(nuevo, nuevo.agregar(baja), ByteBuffer.wrap(baja));
+                }
+                nuevo.sincronizar();
+
+                candado.writeLock().lock();
+                try {
+                    anterior.recorrer(desde, copiar);
+                    nuevo.sincronizar();
+                    Files.move(temporal, rutaLog(nuevaGeneracion), StandardCopyOption.ATOMIC_MOVE);
+                    log = nuevo;
+                    indice = nuevoIndice;
+                    generacion = nuevaGeneracion;
+                } finally {
+                    candado.writeLock().unlock();
+                }
+            } catch (IOException | RuntimeException e) {
+                nuevo.close();
+                Files.deleteIfExists(temporal);
+                throw e;
+            }
+
+            anterior.close();
+            Files.deleteIfExists(rutaLog(nuevaGeneracion - 1));
+            guardarIndice();
+        }
+    }
+
+    /**
+     * Guarda el punto de control: el índice junto con la posición del log
+     * hasta la que está actualizado. Antes sincroniza el log, para que el
+     * punto de control nunca apunte a registros que no llegaron al disco.
+     *
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void guardarIndice() throws IOException {
+        Path archivo = directorio.resolve(ARCHIVO_INDICE);
+        Path temporal = directorio.resolve(ARCHIVO_INDICE + ".tmp");
+        candado.readLock().lock();
+        try {
+            log.sincronizar();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal), 1 << 16))) {
+                out.writeInt(MAGICO_INDICE);
+                out.writeLong(generacion);
+                out.writeLong(log.getFin());
+                out.writeInt(indice.ultimoId);
+                out.writeLong(indice.bytesBasura);
+                // Los nombres en orden de código, desde el 0 (null)
+                out.writeInt(indice.codigosFacultad.size());
+                for (int codigo = 0; codigo < indice.codigosFacultad.size(); codigo++) {
+                    String facultad = indice.codigosFacultad.valor(codigo);
+                    out.writeBoolean(facultad != null);
+                    out.writeUTF(facultad == null ? "" : facultad);
+                }
+                out.writeInt(indice.vivas);
+                for (Map.Entry<String, Integer> entrada : indice.idPorDni.entrySet()) {
+                    int id = entrada.getValue();
+                    out.writeInt(id);
+                    out.writeLong(indice.posiciones[id] - 1);
+                    out.writeInt(indice.tamanos[id]);
+                    out.writeUTF(entrada.getKey());
+                    out.writeInt(indice.puntajes[id]);
+                    out.writeInt(indice.facultades[id]);
+                    out.writeBoolean(indice.admitidos[id]);
+                }
+            }
+            cambios = 0;
+        } finally {
+            candado.readLock().unlock();
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga el punto de control si corresponde al log abierto.
+     *
+     * @return Posición del log desde la que hay que seguir recorriendo, o -1 si no hay un punto de control válido
+     */
+    private long leerIndice() {
+        Path archivo = directorio.resolve(ARCHIVO_INDICE);
+        if (!Files.exists(archivo)) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo), 1 << 16))) {
+            if (in.readInt() != MAGICO_INDICE || in.readLong() != generacion) {
+                return -1;
+            }
+            long fin = in.readLong();
+            Indice cargado = new Indice();
+            cargado.ultimoId = in.readInt();
+            cargado.bytesBasura = in.readLong();
+            int facultades = in.readInt();
+            for (int i = 0; i < facultades; i++) {
+                boolean conNombre = in.readBoolean();
+                String nombre = in.readUTF();
+                cargado.codigosFacultad.codigo(conNombre ? nombre : null);
+            }
+            int vivas = in.readInt();
+            cargado.crecer(Math.max(cargado.ultimoId + 1, 1024));
+            for (int i = 0; i < vivas; i++) {
+                int id = in.readInt();
+                cargado.posiciones[id] = in.readLong() + 1;
+                cargado.tamanos[id] = in.readInt();
+                cargado.idPorDni.put(in.readUTF(), id);
+                cargado.puntajes[id] = in.readInt();
+                cargado.facultades[id] = in.readInt();
+                cargado.admitidos[id] = in.readBoolean();
+                cargado.bytesVivos += cargado.tamanos[id];
+            }
+            cargado.vivas = vivas;
+            indice = cargado;
+            return fin;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Punto de control inválido, se recorre el log completo: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Detiene el mantenimiento, guarda el punto de control y cierra el log.
+     */
+    public void cerrar() {
+        synchronized (mantenimiento) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            hilo.shutdownNow();
+            try {
+                guardarIndice();
+                log.close();
+            } catch (IOException e) {
+                System.out.println("Error al cerrar " + directorio + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Convierte una persona en el contenido de un registro:
+     * tipo, idPersona, puntaje y los textos (longitud de 2 bytes y UTF-8).
+     */
+    private static byte[] codificar(Persona p, int idPersona) {
+        byte[][] textos = {utf8(p.getDni()), utf8(p.getNombre()), utf8(p.getApellido()),
+            utf8(p.getFacultadAspirada()), utf8(p.getAdmitido())};
+        int tamano = 9;
+        for (byte[] texto : textos) {
+            tamano += 2 + (texto == null ? 0 : texto.length);
+        }
+        ByteBuffer contenido = ByteBuffer.allocate(tamano).put(PERSONA).putInt(idPersona).putInt(p.getPuntaje());
+        for (byte[] texto : textos) {
+            if (texto == null) {
+                contenido.putChar((char) NULO);
+            } else {
+                contenido.putChar((char) texto.length).put(texto);
+            }
+        }
+        return contenido.array();
+    }
+
+    private static byte[] utf8(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULO) {
+            throw new IllegalArgumentException("Texto demasiado largo: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static Persona decodificar(byte[] contenido) {
+        int idPersona = leerEntero(contenido, 1);
+        int puntaje = leerEntero(contenido, 5);
+        int[] posicion = {9};
+        String dni = leerTexto(contenido, posicion);
+        String nombre = leerTexto(contenido, posicion);
+        String apellido = leerTexto(contenido, posicion);
+        String facultad = leerTexto(contenido, posicion);
+        String admitido = leerTexto(contenido, posicion);
+        return new Persona(idPersona, dni, nombre, apellido, facultad, puntaje, admitido);
+    }
+
+    /**
+     * Lee el DNI, el primer texto del registro, sin decodificar el resto.
+     */
+    private static String leerDni(ByteBuffer contenido) {
+        return leerTexto(contenido, 9);
+    }
+
+    /**
+     * Lee el texto que empieza en una posición del contenido de un registro.
+     */
+    private static String leerTexto(ByteBuffer contenido, int posicion) {
+        int longitud = contenido.getChar(posicion);
+        if (longitud == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        ByteBuffer b = contenido.duplicate();
+        b.position(posicion + 2);
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Posición siguiente al texto que empieza en la posición indicada
+     */
+    private static int saltarTexto(ByteBuffer contenido, int posicion) {
+        int longitud = contenido.getChar(posicion);
+        return posicion + 2 + (longitud == NULO ? 0 : longitud);
+    }
+
+    private static String leerDni(byte[] contenido) {
+        return leerTexto(contenido, new int[]{9});
+    }
+
+    private static int leerEntero(byte[] b, int i) {
+        return (b[i] << 24) | ((b[i + 1] & 0xFF) << 16) | ((b[i + 2] & 0xFF) << 8) | (b[i + 3] & 0xFF);
+    }
+
+    /**
+     * Lee un texto en la posición indicada y avanza la posición.
+     */
+    private static String leerTexto(byte[] b, int[] posicion) {
+        int i = posicion[0];
+        int longitud = ((b[i] & 0xFF) << 8) | (b[i + 1] & 0xFF);
+        if (longitud == NULO) {
+            posicion[0] = i + 2;
+            return null;
+        }
+        posicion[0] = i + 2 + longitud;
+        return new String(b, i + 2, longitud, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,398 @@
+/**
+ * Clase que agrega una caché de lectura por DNI delante de otra
+ * implementación de PersonaInterface.
+ *
+ * buscar() consulta primero la caché y solo llega a la base de datos si el
+ * DNI no está o su entrada expiró; el resultado se guarda para las
+ * siguientes búsquedas. También se guardan las búsquedas sin resultado
+ * (caché negativa), con un tiempo de vida más corto; una búsqueda que
+ * falla lanza la excepción del almacenamiento y no se guarda.
+ *
+ * La caché está dividida en segmentos, cada uno con su propio candado y su
+ * propio orden LRU, para que los hilos que buscan DNI distintos no compitan.
+ * Las entradas se expulsan al superar el tamaño máximo (la usada menos
+ * recientemente) o al cumplir su tiempo de vida. Las escrituras hechas a
+ * través de esta clase invalidan las entradas afectadas. Un mapa aparte
+ * guarda el DNI de cada idPersona en caché, para invalidar la entrada
+ * anterior de una modificación que cambia el DNI sin recorrer los
+ * segmentos.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import model.Persona;
+
+public class PersonaCache extends PersonaDecorador {
+
+    private static final int SEGMENTOS = 16;
+
+    /**
+     * Resultado guardado de una búsqueda. persona es null si el DNI no existía.
+     */
+    private static final class Entrada {
+        final Persona persona;
+        final long expiraEn;
+
+        Entrada(Persona persona, long expiraEn) {
+            this.persona = persona;
+            this.expiraEn = expiraEn;
+        }
+    }
+
+    /**
+     * Segmento de la caché: un mapa en orden de acceso con tamaño máximo.
+     */
+    private final class Segmento extends LinkedHashMap<String, Entrada> {
+        // Cambia con cada invalidación, para no guardar lecturas que empezaron antes
+        long version;
+
+        Segmento() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+            if (size() > maximoPorSegmento) {
+                expulsiones.increment();
+                olvidarId(mayor.getKey(), mayor.getValue());
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Guarda una entrada y actualiza el mapa de DNI por idPersona. Debe
+         * llamarse con el candado del segmento.
+         */
+        void guardar(String dni, Entrada entrada) {
+            olvidarId(dni, put(dni, entrada));
+            if (entrada.persona != null) {
+                dniPorId.put(entrada.persona.getIdPersona(), dni);
+            }
+        }
+
+        /**
+         * Quita una entrada y su idPersona del mapa. Debe llamarse con el
+         * candado del segmento.
+         */
+        void quitar(String dni) {
+            olvidarId(dni, remove(dni));
+        }
+    }
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    // DNI de cada idPersona con una entrada en caché; se modifica con el candado del segmento del DNI
+    private final Map<Integer, String> dniPorId = new ConcurrentHashMap<>();
+    private final int maximoPorSegmento;
+    private final long ttlNanos;
+    private final long ttlNegativoNanos;
+
+    // Contadores
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder aciertosNegativos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder expiraciones = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+
+    /**
+     * Constructor de la clase PersonaCache.
+     *
+     * @param delegado Implementación que se consulta cuando el DNI no está en caché
+     * @param maximo Número máximo de DNI guardados
+     * @param ttlMs Tiempo de vida de una persona encontrada
+     * @param ttlNegativoMs Tiempo de vida de una búsqueda sin resultado
+     */
+    public PersonaCache(PersonaInterface delegado, int maximo, long ttlMs, long ttlNegativoMs) {
+        super(delegado);
+        this.maximoPorSegmento = Math.max(1, maximo / SEGMENTOS);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.ttlNegativoNanos = TimeUnit.MILLISECONDS.toNanos(ttlNegativoMs);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento();
+        }
+    }
+
+    /**
+     * Crea la caché con los parámetros de database.properties.
+     *
+     * @param delegado Implementación que se consulta cuando el DNI no está en caché
+     * @return Caché configurada
+     */
+    public static PersonaCache desdeConfiguracion(PersonaInterface delegado) {
+        return new PersonaCache(delegado,
+                DatabaseConfig.getInt("cache.maximo", 10000),
+                DatabaseConfig.getLong("cache.ttlMs", 60000),
+                DatabaseConfig.getLong("cache.ttlNegativoMs", 5000));
+    }
+
+    private Segmento segmento(String dni) {
+        int h = dni.hashCode();
+        return segmentos[(h ^ (h >>> 16)) & (SEGMENTOS - 1)];
+    }
+
+    /**
+     * Busca una persona por su DNI, primero en la caché.
+     *
+     * @param dni DNI de la persona a buscar
+     * @return Copia de la persona encontrada, o null si no existe
+     */
+    @Override
+    public Persona buscar(String dni) {
+        if (dni == null) {
+            return delegado.buscar(null);
+        }
+        Segmento seg = segmento(dni);
+        long version;
+
+        synchronized (seg) {
+            Entrada entrada = seg.get(dni);
+            if (entrada != null) {
+                if (System.nanoTime() - entrada.expiraEn < 0) {
+                    if (entrada.persona == null) {
+                        aciertosNegativos.increment();
+                        return null;
+                    }
+                    aciertos.increment();
+                    return copiar(entrada.persona);
+                }
+                seg.quitar(dni);
+                expiraciones.increment();
+            }
+            version = seg.version;
+        }
+
+        fallos.increment();
+        // Si la consulta falla lanza la excepción y no se guarda nada
+        Persona persona = delegado.buscar(dni);
+
+        synchronized (seg) {
+            // Si hubo una invalidación durante la consulta, el resultado puede estar desactualizado
+            if (seg.version == version) {
+                long ttl = persona == null ? ttlNegativoNanos : ttlNanos;
+                seg.guardar(dni, new Entrada(persona == null ? null : copiar(persona), System.nanoTime() + ttl));
+            }
+        }
+        return persona;
+    }
+
+    @Override
+    public boolean insertar(Persona obj) {
+        try {
+            return delegado.insertar(obj);
+        } finally {
+            invalidar(obj.getDni());
+        }
+    }
+
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+        try {
+            return delegado.insertarSiNoExiste(obj);
+        } finally {
+            invalidar(obj.getDni());
+        }
+    }
+
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+        try {
+            return delegado.insertarLote(personas, tamanoLote);
+        } finally {
+            for (Persona p : personas) {
+                invalidar(p.getDni());
+            }
+        }
+    }
+
+    @Override
+    public boolean actualizar(Persona obj) {
+        try {
+            return delegado.actualizar(obj);
+        } finally {
+            // Si cambió el DNI, la entrada anterior está guardada con el DNI viejo
+            invalidar(obj.getDni());
+            invalidarId(obj.getIdPersona());
+        }
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        try {
+            return delegado.eliminar(dni);
+        } finally {
+            invalidar(dni);
+        }
+    }
+
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+        try {
+            return delegado.guardar(obj);
+        } finally {
+            invalidar(obj.getDni());
+        }
+    }
+
+    /**
+     * Elimina una persona por su DNI. Si el almacenamiento no devuelve los
+     * datos de la fila eliminada y la persona estaba en la caché, los copia
+     * en obj desde ella.
+     */
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+        String dni = obj.getDni();
+        Persona guardada = enCache(dni);
+        ResultadoEscritura resultado = ResultadoEscritura.ERROR;
+        try {
+            resultado = delegado.eliminarSiExiste(obj);
+            return resultado;
+        } finally {
+            invalidar(dni);
+            if (resultado == ResultadoEscritura.ELIMINADO && obj.getIdPersona() <= 0 && guardada != null) {
+                obj.copiarDe(guardada);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la persona guardada en la caché para un DNI, sin consultar la
+     * base de datos ni contar un acierto o un fallo. Sirve para conocer los
+     * datos anteriores a una escritura sin una consulta adicional.
+     *
+     * @param dni DNI de la persona
+     * @return Copia de la persona guardada, o null si el DNI no está en caché, expiró o no existía
+     */
+    public Persona enCache(String dni) {
+        if (dni == null) {
+            return null;
+        }
+        Segmento seg = segmento(dni);
+        synchronized (seg) {
+            Entrada entrada = seg.get(dni);
+            if (entrada == null || entrada.persona == null || System.nanoTime() - entrada.expiraEn >= 0) {
+                return null;
+            }
+            return copiar(entrada.persona);
+        }
+    }
+
+    /**
+     * Quita de la caché la entrada de un DNI.
+     *
+     * @param dni DNI a invalidar
+     */
+    public void invalidar(String dni) {
+        if (dni == null) {
+            return;
+        }
+        Segmento seg = segmento(dni);
+        synchronized (seg) {
+            seg.version++;
+            seg.quitar(dni);
+        }
+        invalidaciones.increment();
+    }
+
+    /**
+     * Quita de la caché la persona con el idPersona indicado, sea cual sea su DNI.
+     */
+    private void invalidarId(int idPersona) {
+        String dni = dniPorId.get(idPersona);
+        if (dni != null) {
+            invalidar(dni);
+        }
+    }
+
+    /**
+     * Quita del mapa de DNI por idPersona el id de una entrada que sale de
+     * la caché, si todavía apunta a ese DNI.
+     */
+    private void olvidarId(String dni, Entrada entrada) {
+        if (entrada != null && entrada.persona != null) {
+            dniPorId.remove(entrada.persona.getIdPersona(), dni);
+        }
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void limpiar() {
+        for (Segmento seg : segmentos) {
+            synchronized (seg) {
+                seg.version++;
+                for (Map.Entry<String, Entrada> e : seg.entrySet()) {
+                    olvidarId(e.getKey(), e.getValue());
+                }
+                seg.clear();
+            }
+        }
+    }
+
+    private static Persona copiar(Persona p) {
+        return new Persona(p.getIdPersona(), p.getDni(), p.getNombre(), p.getApellido(),
+                p.getFacultadAspirada(), p.getPuntaje(), p.getAdmitido());
+    }
+
+    /**
+     * @return Número de entradas guardadas
+     */
+    public int getTamano() {
+        int total = 0;
+        for (Segmento seg : segmentos) {
+            synchronized (seg) {
+                total += seg.size();
+            }
+        }
+        return total;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getAciertosNegativos() {
+        return aciertosNegativos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public long getExpiraciones() {
+        return expiraciones.sum();
+    }
+
+    public long getInvalidaciones() {
+        return invalidaciones.sum();
+    }
+
+    /**
+     * Exporta los contadores en formato de texto, una métrica por línea
+     * ("nombre valor"), para que puedan recolectarse externamente.
+     *
+     * @return Contadores de la caché
+     */
+    public String exportarContadores() {
+        return "persona_cache_aciertos " + getAciertos() + "\n"
+                + "persona_cache_aciertos_negativos " + getAciertosNegativos() + "\n"
+                + "persona_cache_fallos " + getFallos() + "\n"
+                + "persona_cache_expulsiones " + getExpulsiones() + "\n"
+                + "persona_cache_expiraciones " + getExpiraciones() + "\n"
+                + "persona_cache_invalidaciones " + getInvalidaciones() + "\n"
+                + "persona_cache_tamano " + getTamano() + "\n";
+    }
+}
@@ -1,191 +1,682 @@
 /**
  * Clase que implementa la interfaz PersonaInterface para realizar operaciones
  * CRUD (Create, Read, Update, Delete) en la base de datos para objetos Persona.
- * 
+ *
  * Esta clase se encarga de la interacción directa con la base de datos MySQL
  * utilizando prepared statements para prevenir inyecciones SQL.
+ *
+ * La clase no guarda estado entre llamadas: cada operación toma su propia
+ * conexión del pool y sus sentencias y resultados son locales a la llamada,
+ * por lo que una misma instancia puede usarse desde varios hilos a la vez.
  */
 package data;
 
 import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import model.EstadisticaFacultad;
 import model.Persona;
+import java.io.IOException;
 import java.util.List;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 
 public class PersonaDAO implements PersonaInterface {
 
-    // Objetos para ejecutar sentencias SQL y manejar resultados
-    PreparedStatement ps;
-    ResultSet rs;
-    
-    
+    // Sentencias SQL usadas por el DAO
+    private static final String SQL_INSERTAR = "insert into persona(dni, nombre, apellido, facultad, puntaje, admitido) values(?,?,?,?,?,?)";
+    private static final String SQL_LISTAR = "select * from persona";
+    private static final String SQL_LISTAR_PAGINA = "select * from persona where idPersona > ? order by idPersona limit ?";
+    // Numera las filas en orden de idPersona y se queda con la última de cada página
+    private static final String SQL_FINES_DE_PAGINA = "select idPersona from (select idPersona, row_number() over (order by idPersona) as fila from persona) t where mod(fila, ?) = 0 order by idPersona";
+    // Recorren el índice (facultad, puntaje) hacia atrás, sin ordenar ni leer el resto de la tabla
+    private static final String SQL_RANKING = "select * from persona where facultad = ? and puntaje between ? and ? order by puntaje desc, idPersona desc limit ?";
+    private static final String SQL_RANKING_ADMITIDOS = "select * from persona where facultad = ? and puntaje between ? and ? and admitido = 'SI' order by puntaje desc, idPersona desc limit ?";
+    private static final String SQL_CONTAR = "select count(*) from persona";
+    private static final String SQL_CONTAR_POR_FACULTAD = "select facultad, count(*), sum(admitido = 'SI'), sum(puntaje) from persona group by facultad";
+    private static final String SQL_BUSCAR = "select * from persona where dni = ?";
+    private static final String SQL_ACTUALIZAR = "update persona set dni =?, nombre =?, apellido = ?, facultad = ?, puntaje = ?, admitido = ? where idPersona = ?";
+    private static final String SQL_ELIMINAR = "delete from persona where dni = ?";
+    // Si el DNI ya existe reemplaza los datos. LAST_INSERT_ID(idPersona + 2^32) no cambia la fila,
+    // pero hace que la clave generada sea el id existente más 2^32, así se distingue de una inserción
+    private static final String SQL_GUARDAR = SQL_INSERTAR + " on duplicate key update nombre = values(nombre),"
+            + " apellido = values(apellido), facultad = values(facultad), puntaje = values(puntaje),"
+            + " admitido = values(admitido), idPersona = last_insert_id(idPersona + 4294967296) - 4294967296";
+    private static final String SQL_RECORRER = "select * from persona";
+    private static final String SQL_RECORRER_ORDENADO = SQL_RECORRER + " order by idPersona";
+    private static final String SQL_FIN_TRAMO = "select max(idPersona), count(*) from (select idPersona from persona where idPersona > ? order by idPersona limit ?) t";
+    private static final String SQL_FIN_TRAMO_FACULTAD = "select max(idPersona), count(*) from (select idPersona from persona where idPersona > ? and facultad = ? order by idPersona limit ?) t";
+
+    // Tamaño de lectura con el que Connector/J entrega las filas una a una, sin cargar el resultado completo
+    private static final int LECTURA_POR_FILA = Integer.MIN_VALUE;
+
+    // Con useCursorFetch el servidor entrega las filas en bloques del tamaño de lectura pedido;
+    // sin él, Connector/J solo deja de cargar el resultado completo con LECTURA_POR_FILA
+    private static final boolean LECTURA_CON_CURSOR = Boolean.parseBoolean(DatabaseConfig.get("db.driver.useCursorFetch", "false"));
+
+    // Código de error de MySQL para una clave única duplicada
+    private static final int ER_DUP_ENTRY = 1062;
+
+    // Desplazamiento de la clave generada por SQL_GUARDAR cuando la fila ya existía
+    private static final long DESPLAZAMIENTO_EXISTENTE = 1L << 32;
+
+
+    /**
+     * Obtiene una conexión del pool. Debe cerrarse para devolverla.
+     *
+     * @return Conexión a la base de datos
+     * @throws SQLException si no hay conexión disponible
+     */
+    private static Connection conexion() throws SQLException {
+        return DatabaseConnection.getPool().obtener();
+    }
+
     /**
-     * Inserta una nueva persona en la base de datos.
-     * 
+     * Crea un objeto Persona a partir de la fila actual del resultado.
+     *
+     * @param rs Resultado posicionado en una fila de la tabla persona
+     * @return Persona con los datos de la fila
+     * @throws SQLException si no se pueden leer las columnas
+     */
+    private static Persona leerPersona(ResultSet rs) throws SQLException {
+        int idPersona = rs.getInt(1);
+        String dni = rs.getString(2);
+        String nombre = rs.getString(3);
+        String apellido = rs.getString(4);
+        String facultad = rs.getString(5);
+        int puntaje = rs.getInt(6);
+        String admitido = rs.getString(7);
+
+        return new Persona(idPersona, dni, nombre, apellido, facultad, puntaje, admitido);
+    }
+
+    /**
+     * Inserta una nueva persona en la base de datos y le asigna el
+     * idPersona generado.
+     *
      * @param obj Persona a insertar
      * @return true si la inserción fue exitosa, false en caso contrario
      */
     @Override
     public boolean insertar(Persona obj) {
-        
-        boolean resp = false;
-        
-        try{
-           // Sentencia SQL para insertar una nueva persona
-           String sql = "insert into persona(dni, nombre, apellido, facultad, puntaje, admitido) values(?,?,?,?,?,?)";
-            
-           ps = DatabaseConnection.getConexion().prepareStatement(sql);
-           ps.setString(1,obj.getDni());
-           ps.setString(2,obj.getNombre());
-           ps.setString(3,obj.getApellido());
-           ps.setString(4,obj.getFacultadAspirada());
-           ps.setInt(5,obj.getPuntaje());
-           ps.setString(6,obj.getAdmitido());
-           
+        return insertarSiNoExiste(obj) == ResultadoEscritura.INSERTADO;
+    }
+
+    /**
+     * Inserta una nueva persona y le asigna el idPersona generado. Un DNI
+     * repetido se reconoce por el error de clave única de MySQL, sin una
+     * consulta previa.
+     *
+     * @param obj Persona a insertar
+     * @return INSERTADO, DUPLICADO o ERROR
+     */
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+
+        ResultadoEscritura resultado = ResultadoEscritura.ERROR;
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+
+           asignarParametros(ps, obj);
+
            // Ejecutar la inserción y verificar si fue exitosa
            if(ps.executeUpdate()>0)
            {
-               resp=true;
+               resultado = ResultadoEscritura.INSERTADO;
+               try (ResultSet claves = ps.getGeneratedKeys()) {
+                   if (claves.next()) {
+                       obj.setIdPersona(claves.getInt(1));
+                   }
+               }
            }
-           ps.close();
-           DatabaseConnection.cerrarConexion();
         }
-        
+
+        catch(SQLIntegrityConstraintViolationException e){
+            if (e.getErrorCode() == ER_DUP_ENTRY) {
+                resultado = ResultadoEscritura.DUPLICADO;
+            } else {
+                System.out.println(e.getMessage());
+            }
+        }
+
         catch(Exception e){ System.out.println(e.getMessage());}
-        
-        return resp;
-        
-        
-        
+
+        return resultado;
+
+    }
+
+    /**
+     * Inserta varias personas usando lotes JDBC.
+     *
+     * Cada lote se envía con executeBatch, que el driver reescribe como un
+     * único insert de varias filas (rewriteBatchedStatements), y se confirma
+     * en su propia transacción. Si el lote falla, por ejemplo por un DNI
+     * duplicado, se deshace y sus filas se insertan una a una para conocer
+     * el resultado de cada una. A cada persona insertada se le asigna el
+     * idPersona generado.
+     *
+     * Un DNI repetido dentro de la colección se envía después de que se
+     * conoce el resultado de su primera aparición: si esta se insertó, o ya
+     * existía, la repetición es DUPLICADO; si falló, se intenta insertar.
+     *
+     * @param personas Personas a insertar
+     * @param tamanoLote Número de filas por lote y por transacción
+     * @return Resultado de cada persona, en el mismo orden de la colección
+     */
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+
+        ResultadoEscritura[] resultados = new ResultadoEscritura[personas.size()];
+        Arrays.fill(resultados, ResultadoEscritura.ERROR);
+        Persona[] filas = personas.toArray(new Persona[0]);
+        int lote = Math.max(1, tamanoLote);
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+
+            cn.setAutoCommit(false);
+
+            // Primera aparición de cada DNI enviada en esta llamada, y filas ya enviadas
+            Map<String, Integer> primeras = new HashMap<>();
+            BitSet enviadas = new BitSet(filas.length);
+            // Repeticiones que esperan el resultado de su primera aparición
+            List<Integer> aplazadas = new ArrayList<>();
+            int siguiente = 0;
+
+            while (siguiente < filas.length || !aplazadas.isEmpty()) {
+                List<Integer> pendientes = new ArrayList<>(lote);
+                List<Integer> revisar = aplazadas;
+                aplazadas = new ArrayList<>();
+
+                for (int i : revisar) {
+                    clasificar(filas, i, resultados, primeras, enviadas, pendientes, aplazadas);
+                }
+                while (siguiente < filas.length && pendientes.size() < lote) {
+                    clasificar(filas, siguiente++, resultados, primeras, enviadas, pendientes, aplazadas);
+                }
+                if (pendientes.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    for (int i : pendientes) {
+                        asignarParametros(ps, filas[i]);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    int[] ids = leerIds(ps, pendientes.size());
+                    cn.commit();
+                    for (int j = 0; j < ids.length; j++) {
+                        int i = pendientes.get(j);
+                        resultados[i] = ResultadoEscritura.INSERTADO;
+                        filas[i].setIdPersona(ids[j]);
+                    }
+                } catch (SQLException e) {
+                    ps.clearBatch();
+                    cn.rollback();
+                    insertarUnoAUno(cn, ps, filas, pendientes, resultados);
+                }
+                for (int i : pendientes) {
+                    enviadas.set(i);
+                }
+            }
+
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Decide qué hacer con una fila de insertarLote: enviarla en el lote
+     * actual, marcarla como DUPLICADO si repite un DNI ya insertado o
+     * existente, o aplazarla si la primera aparición de su DNI todavía no
+     * se envió.
+     */
+    private static void clasificar(Persona[] filas, int i, ResultadoEscritura[] resultados,
+            Map<String, Integer> primeras, BitSet enviadas, List<Integer> pendientes, List<Integer> aplazadas) {
+        Integer primera = primeras.get(filas[i].getDni());
+        if (primera == null || (enviadas.get(primera) && resultados[primera] == ResultadoEscritura.ERROR)) {
+            primeras.put(filas[i].getDni(), i);
+            pendientes.add(i);
+        } else if (enviadas.get(primera)) {
+            resultados[i] = ResultadoEscritura.DUPLICADO;
+        } else {
+            aplazadas.add(i);
+        }
+    }
+
+    /**
+     * Lee los idPersona generados por el último executeBatch, en el orden
+     * en que se agregaron las filas.
+     *
+     * @throws SQLException si el driver no devuelve una clave por fila
+     */
+    private static int[] leerIds(PreparedStatement ps, int filas) throws SQLException {
+        int[] ids = new int[filas];
+        int n = 0;
+        try (ResultSet claves = ps.getGeneratedKeys()) {
+            while (n < filas && claves.next()) {
+                ids[n++] = claves.getInt(1);
+            }
+        }
+        if (n < filas) {
+            throw new SQLException("Se esperaban " + filas + " claves generadas y se obtuvieron " + n);
+        }
+        return ids;
+    }
+
+    /**
+     * Inserta fila por fila las personas de un lote que falló, asigna el
+     * idPersona a las que se insertaron y las confirma.
+     */
+    private static void insertarUnoAUno(Connection cn, PreparedStatement ps, Persona[] filas,
+            List<Integer> pendientes, ResultadoEscritura[] resultados) throws SQLException {
+        int[] ids = new int[pendientes.size()];
+        for (int j = 0; j < ids.length; j++) {
+            int i = pendientes.get(j);
+            try {
+                asignarParametros(ps, filas[i]);
+                ps.executeUpdate();
+                ids[j] = leerIds(ps, 1)[0];
+                resultados[i] = ResultadoEscritura.INSERTADO;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                resultados[i] = e.getErrorCode() == ER_DUP_ENTRY ? ResultadoEscritura.DUPLICADO : ResultadoEscritura.ERROR;
+            } catch (SQLException e) {
+                System.out.println(e.getMessage());
+                resultados[i] = ResultadoEscritura.ERROR;
+            }
+        }
+        cn.commit();
+        for (int j = 0; j < ids.length; j++) {
+            int i = pendientes.get(j);
+            if (resultados[i] == ResultadoEscritura.INSERTADO) {
+                filas[i].setIdPersona(ids[j]);
+            }
+        }
+    }
+
+    /**
+     * Asigna los parámetros de la sentencia de inserción.
+     */
+    private static void asignarParametros(PreparedStatement ps, Persona obj) throws SQLException {
+        ps.setString(1,obj.getDni());
+        ps.setString(2,obj.getNombre());
+        ps.setString(3,obj.getApellido());
+        ps.setString(4,obj.getFacultadAspirada());
+        ps.setInt(5,obj.getPuntaje());
+        ps.setString(6,obj.getAdmitido());
     }
 
     /**
      * Obtiene una lista de todas las personas almacenadas en la base de datos.
-     * 
+     *
      * @return Lista de objetos Persona
      */
     @Override
     public List<Persona> listar() {
-        
+
         List<Persona> registros = new ArrayList<>();
-        
-        try
-        {
-            
-           // Consulta SQL para obtener todas las personas
-           String consulta="select * from persona";
-           ps = DatabaseConnection.getConexion().prepareStatement(consulta);
-            
-           rs = ps.executeQuery();
-           
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_LISTAR);
+             ResultSet rs = ps.executeQuery())
+        {
            // Recorrer los resultados y crear objetos Persona
            while (rs.next())
            {
-               int idPersona = rs.getInt(1);
-               String dni = rs.getString(2);
-               String nombre = rs.getString(3);
-               String apellido = rs.getString(4);
-               String facultad = rs.getString(5);
-               int puntaje = rs.getInt(6);
-               String admitido = rs.getString(7);
-               
-
-               registros.add(new Persona(idPersona, dni, nombre, apellido, facultad,puntaje, admitido));
+               registros.add(leerPersona(rs));
            }
-           
-           rs.close();
-           ps.close();
-           DatabaseConnection.cerrarConexion();
-            
+
+        }catch(Exception e)
+        {
+            System.out.println(e.getMessage());
+        }
+
+        return registros;
+
+    }
+
+    /**
+     * Recorre todas las personas con un resultado de solo avance que se lee
+     * a medida que se consume el flujo. Sin db.driver.useCursorFetch las
+     * filas llegan una a una (ver LECTURA_POR_FILA) y tamanoLectura no se
+     * usa; con él, el servidor las envía en bloques de tamanoLectura.
+     *
+     * La conexión queda tomada hasta que el flujo se agota o se cierra, y no
+     * puede usarse para otra sentencia mientras tanto. Al cerrarlo antes de
+     * agotarlo, Connector/J descarta las filas que falten.
+     *
+     * @param tamanoLectura Filas por bloque con useCursorFetch; 0 o menos para leer fila a fila
+     * @return Flujo de personas, en orden de idPersona
+     * @throws IllegalStateException si la consulta falla
+     */
+    @Override
+    public Stream<Persona> recorrer(int tamanoLectura) {
+
+        Connection cn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            cn = conexion();
+            ps = cn.prepareStatement(SQL_RECORRER_ORDENADO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(LECTURA_CON_CURSOR && tamanoLectura > 0 ? tamanoLectura : LECTURA_POR_FILA);
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            cerrar(rs, ps, cn);
+            throw new IllegalStateException("Error al recorrer las personas: " + e.getMessage(), e);
+        }
+
+        ResultSet resultado = rs;
+        AutoCloseable[] recursos = {rs, ps, cn};
+        AtomicBoolean cerrado = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (cerrado.compareAndSet(false, true)) {
+                cerrar(recursos);
+            }
+        };
+
+        Spliterator<Persona> filas = new Spliterators.AbstractSpliterator<Persona>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Persona> accion) {
+                if (cerrado.get()) {
+                    return false;
+                }
+                try {
+                    if (!resultado.next()) {
+                        // Agotado: la conexión vuelve al pool sin esperar a que se cierre el flujo
+                        liberar.run();
+                        return false;
+                    }
+                    accion.accept(leerPersona(resultado));
+                    return true;
+                } catch (SQLException e) {
+                    liberar.run();
+                    throw new IllegalStateException("Error al recorrer las personas: " + e.getMessage(), e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(filas, false).onClose(liberar);
+
+    }
+
+    /**
+     * Cierra recursos JDBC en el orden indicado, ignorando los nulos y los errores.
+     */
+    private static void cerrar(AutoCloseable... recursos) {
+        for (AutoCloseable recurso : recursos) {
+            if (recurso != null) {
+                try {
+                    recurso.close();
+                } catch (Exception e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene una página de personas ordenadas por idPersona, empezando
+     * después del id indicado. La consulta recorre la clave primaria desde
+     * ese id, por lo que su costo no depende de la posición de la página.
+     *
+     * @param despuesDeId Último idPersona de la página anterior, o 0 para la primera página
+     * @param tamano Número máximo de personas de la página
+     * @return Lista de objetos Persona con idPersona mayor que despuesDeId
+     */
+    @Override
+    public List<Persona> listarPagina(int despuesDeId, int tamano) {
+
+        List<Persona> registros = new ArrayList<>(tamano);
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_LISTAR_PAGINA))
+        {
+            ps.setInt(1, despuesDeId);
+            ps.setInt(2, tamano);
+
+            try (ResultSet rs = ps.executeQuery())
+            {
+                while (rs.next())
+                {
+                    registros.add(leerPersona(rs));
+                }
+            }
+
+        }catch(Exception e)
+        {
+            System.out.println(e.getMessage());
+        }
+
+        return registros;
+
+    }
+
+    /**
+     * Obtiene el último idPersona de cada página completa. La consulta solo
+     * lee idPersona, así que MySQL puede resolverla recorriendo un índice sin
+     * leer las filas, y devuelve un id por página en lugar de las páginas.
+     *
+     * @param tamanoPagina Número de personas por página
+     * @return Último idPersona de cada página completa, o null si ocurre un error
+     */
+    @Override
+    public int[] listarFinesDePagina(int tamanoPagina) {
+
+        int[] fines = new int[64];
+        int total = 0;
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_FINES_DE_PAGINA))
+        {
+            ps.setInt(1, tamanoPagina);
+
+            try (ResultSet rs = ps.executeQuery())
+            {
+                while (rs.next())
+                {
+                    if (total == fines.length) {
+                        fines = Arrays.copyOf(fines, total * 2);
+                    }
+                    fines[total++] = rs.getInt(1);
+                }
+            }
+
+        }catch(Exception e)
+        {
+            System.out.println(e.getMessage());
+            return null;
+        }
+
+        return Arrays.copyOf(fines, total);
+
+    }
+
+    /**
+     * Obtiene las personas de una facultad con puntaje dentro de un rango,
+     * de mayor a menor puntaje. La consulta usa el índice (facultad, puntaje),
+     * que en InnoDB incluye también idPersona: el orden coincide con el del
+     * índice recorrido hacia atrás, así que MySQL lee solo las filas que
+     * devuelve (más las no admitidas que descarta) y no las ordena.
+     *
+     * @param facultad Facultad de las personas
+     * @param puntajeMinimo Puntaje mínimo, inclusive
+     * @param puntajeMaximo Puntaje máximo, inclusive
+     * @param soloAdmitidos true para devolver solo las personas admitidas
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de objetos Persona
+     */
+    @Override
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad) {
+
+        List<Persona> registros = new ArrayList<>();
+        if (cantidad <= 0) {
+            return registros;
+        }
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(soloAdmitidos ? SQL_RANKING_ADMITIDOS : SQL_RANKING))
+        {
+            ps.setString(1, facultad);
+            ps.setInt(2, puntajeMinimo);
+            ps.setInt(3, puntajeMaximo);
+            ps.setInt(4, cantidad);
+
+            try (ResultSet rs = ps.executeQuery())
+            {
+                while (rs.next())
+                {
+                    registros.add(leerPersona(rs));
+                }
+            }
+
         }catch(Exception e)
         {
             System.out.println(e.getMessage());
         }
-        
+
         return registros;
-        
+
+    }
+
+    /**
+     * Cuenta las personas almacenadas en la base de datos.
+     *
+     * @return Número de personas, o -1 si ocurre un error
+     */
+    @Override
+    public int contar() {
+
+        int total = -1;
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_CONTAR);
+             ResultSet rs = ps.executeQuery())
+        {
+            if (rs.next())
+            {
+                total = rs.getInt(1);
+            }
+
+        }catch(Exception e)
+        {
+            System.out.println(e.getMessage());
+        }
+
+        return total;
+
+    }
+
+    /**
+     * Calcula los totales de cada facultad con una sola consulta agrupada.
+     *
+     * @return Una estadística por cada facultad con personas, o null si ocurre un error
+     */
+    @Override
+    public List<EstadisticaFacultad> contarPorFacultad() {
+
+        List<EstadisticaFacultad> estadisticas = new ArrayList<>();
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_CONTAR_POR_FACULTAD);
+             ResultSet rs = ps.executeQuery())
+        {
+            while (rs.next())
+            {
+                estadisticas.add(new EstadisticaFacultad(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+            }
+
+        }catch(Exception e)
+        {
+            System.out.println(e.getMessage());
+            return null;
+        }
+
+        return estadisticas;
+
     }
 
     /**
      * Busca una persona en la base de datos por su DNI.
-     * 
+     *
      * @param dniPersona DNI de la persona a buscar
      * @return Objeto Persona encontrado, o null si no se encuentra
+     * @throws IllegalStateException si la consulta falla
      */
     @Override
     public Persona buscar(String dniPersona) {
-        
+
         Persona persona = null;
-        
-        try
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_BUSCAR))
         {
-            // Consulta SQL para buscar una persona por DNI
-            String consulta = "select * from persona where dni = ?";
-            
-            ps= DatabaseConnection.getConexion().prepareStatement(consulta);
             ps.setString(1, dniPersona);
-            rs = ps.executeQuery();
-            
-            // Si se encuentra la persona, crear el objeto Persona
-            if(rs.next())
+
+            try (ResultSet rs = ps.executeQuery())
             {
-                
-               int idPersona = rs.getInt(1);
-               String dni = rs.getString(2);
-               String nombre = rs.getString(3);
-               String apellido = rs.getString(4);
-               String facultad = rs.getString(5);
-               int puntaje = rs.getInt(6);
-               String admitido = rs.getString(7);
-              
-               persona = new Persona(idPersona,dni,nombre,apellido,facultad,puntaje,admitido);
-            }
-            
-            rs.close();
-            ps.close();
-            DatabaseConnection.cerrarConexion();
-            
-                    
-        }
-        catch(Exception e)
+                // Si se encuentra la persona, crear el objeto Persona
+                if(rs.next())
+                {
+                   persona = leerPersona(rs);
+                }
+            }
+
+        }
+        catch(SQLException e)
         {
-            System.out.println(e.getMessage());
-            
+            throw new IllegalStateException("Error al buscar la persona: " + e.getMessage(), e);
         }
-        
+
         return persona;
-        
+
     }
 
     /**
      * Actualiza la información de una persona existente en la base de datos.
-     * 
+     *
      * @param obj Persona con la información actualizada
      * @return true si la actualización fue exitosa, false en caso contrario
      */
     @Override
     public boolean actualizar(Persona obj) {
-        
+
         boolean resp = false;
-        
-        try{
-            // Sentencia SQL para actualizar una persona existente
-            String update = "update persona set dni =?, nombre =?, apellido = ?, facultad = ?, puntaje = ? where idPersona = ?";
-            
-            ps = DatabaseConnection.getConexion().prepareStatement(update);
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_ACTUALIZAR)) {
+
             ps.setString(1, obj.getDni());
             ps.setString(2, obj.getNombre());
             ps.setString(3, obj.getApellido());
             ps.setString(4, obj.getFacultadAspirada());
             ps.setInt(5, obj.getPuntaje());
-            ps.setInt(6, obj.getIdPersona());
-            
+            ps.setString(6, obj.getAdmitido());
+            ps.setInt(7, obj.getIdPersona());
+
             // Ejecutar la actualización y verificar si fue exitosa
-            if (ps.executeUpdate()>0) 
+            if (ps.executeUpdate()>0)
             {
                 resp = true;
             }
@@ -193,45 +684,236 @@ public class PersonaDAO implements PersonaInterface {
         catch (Exception e) {
             System.out.println(e.getMessage());
         }
-        
+
         return resp;
-        
-        
-        
+
     }
 
     /**
      * Elimina una persona de la base de datos por su DNI.
-     * 
+     *
      * @param dni DNI de la persona a eliminar
      * @return true si la eliminación fue exitosa, false en caso contrario
      */
     @Override
     public boolean eliminar(String dni) {
-        
-       boolean resp = false;
-        
-        try {
-            // Sentencia SQL para eliminar una persona por DNI
-            String delete = "delete from persona where dni = ?";
-            ps = DatabaseConnection.getConexion().prepareStatement(delete);
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_ELIMINAR)) {
+
             ps.setString(1, dni);
-            
-            
-            // Ejecutar la eliminación y verificar si fue exitosa
-            if (ps.executeUpdate()>0) {
-                resp = true;
+
+            return ps.executeUpdate() > 0;
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Elimina una persona por su DNI con una sola sentencia; el número de
+     * filas eliminadas indica si existía. No lee la fila, así que obj no
+     * recibe sus datos.
+     *
+     * @param obj Persona con el DNI a eliminar
+     * @return ELIMINADO, NO_EXISTE o ERROR
+     */
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_ELIMINAR)) {
+
+            ps.setString(1, obj.getDni());
+
+            return ps.executeUpdate() > 0 ? ResultadoEscritura.ELIMINADO : ResultadoEscritura.NO_EXISTE;
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResultadoEscritura.ERROR;
+        }
+    }
+
+    /**
+     * Inserta una persona o reemplaza los datos de la que tiene su DNI, con
+     * una sola sentencia insert ... on duplicate key update. La clave
+     * generada indica si la fila se insertó o ya existía (ver SQL_GUARDAR);
+     * el número de filas afectadas no basta, porque Connector/J cuenta las
+     * filas encontradas y guardar los mismos datos también informa 1.
+     *
+     * @param obj Persona a guardar
+     * @return INSERTADO, ACTUALIZADO o ERROR
+     */
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(SQL_GUARDAR, Statement.RETURN_GENERATED_KEYS)) {
+
+            asignarParametros(ps, obj);
+            ps.executeUpdate();
+
+            try (ResultSet claves = ps.getGeneratedKeys()) {
+                if (!claves.next()) {
+                    return ResultadoEscritura.ERROR;
+                }
+                long clave = claves.getLong(1);
+                if (clave > DESPLAZAMIENTO_EXISTENTE) {
+                    obj.setIdPersona((int) (clave - DESPLAZAMIENTO_EXISTENTE));
+                    return ResultadoEscritura.ACTUALIZADO;
+                }
+                obj.setIdPersona((int) clave);
+                return ResultadoEscritura.INSERTADO;
             }
         } catch (Exception e) {
             System.out.println(e.getMessage());
+            return ResultadoEscritura.ERROR;
         }
-        
-        return resp;
-        
-        
     }
 
-    
-    
-    
+    /**
+     * Recibe las personas de un recorrido de la tabla, una por una.
+     */
+    public interface Visitante {
+        void visitar(Persona persona) throws IOException;
+    }
+
+    /**
+     * Recorre las personas de la tabla sin cargarlas en memoria. El resultado
+     * es de solo avance y lectura y se pide con el tamaño de lectura
+     * Integer.MIN_VALUE, así Connector/J entrega las filas a medida que
+     * llegan del servidor en lugar de guardarlas todas antes de devolver la
+     * primera. Mientras dura el recorrido la conexión no puede usarse para
+     * otra sentencia, por eso se toma una propia y se devuelve al terminar.
+     *
+     * @param facultad Facultad a la que se limita el recorrido, o null para todas
+     * @param admitido Estado de admisión ("SI" o "NO") al que se limita, o null para todos
+     * @param visitante Recibe cada persona; la misma instancia no se reutiliza entre filas
+     * @return Número de personas recorridas
+     * @throws SQLException si falla la consulta
+     * @throws IOException si el visitante falla; el recorrido se detiene
+     */
+    public long recorrer(String facultad, String admitido, Visitante visitante) throws SQLException, IOException {
+
+        StringBuilder sql = new StringBuilder(SQL_RECORRER);
+        if (facultad != null) {
+            sql.append(" where facultad = ?");
+        }
+        if (admitido != null) {
+            sql.append(facultad != null ? " and" : " where").append(" admitido = ?");
+        }
+
+        long filas = 0;
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+        {
+            ps.setFetchSize(LECTURA_POR_FILA);
+            int i = 1;
+            if (facultad != null) {
+                ps.setString(i++, facultad);
+            }
+            if (admitido != null) {
+                ps.setString(i, admitido);
+            }
+
+            try (ResultSet rs = ps.executeQuery())
+            {
+                while (rs.next())
+                {
+                    visitante.visitar(leerPersona(rs));
+                    filas++;
+                }
+            }
+        }
+
+        return filas;
+
+    }
+
+    /**
+     * Busca el final de un tramo de personas para recorrer la tabla por
+     * partes, siguiendo la clave primaria.
+     *
+     * @param despuesDeId Último idPersona del tramo anterior, o 0 para el primero
+     * @param tamano Número máximo de personas del tramo
+     * @param facultad Facultad a la que se limita el tramo, o null para todas
+     * @return Arreglo con el último idPersona del tramo y su número de personas; {0, 0} si no quedan personas
+     * @throws SQLException si falla la consulta
+     */
+    public int[] finDeTramo(int despuesDeId, int tamano, String facultad) throws SQLException {
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(facultad == null ? SQL_FIN_TRAMO : SQL_FIN_TRAMO_FACULTAD))
+        {
+            int i = 1;
+            ps.setInt(i++, despuesDeId);
+            if (facultad != null) {
+                ps.setString(i++, facultad);
+            }
+            ps.setInt(i, tamano);
+
+            try (ResultSet rs = ps.executeQuery())
+            {
+                rs.next();
+                return new int[]{rs.getInt(1), rs.getInt(2)};
+            }
+        }
+
+    }
+
+    /**
+     * Recalcula el estado de admisión de las personas de un tramo con una
+     * sola sentencia. Solo se modifican las filas cuyo estado cambia, y la
+     * sentencia se confirma sola, por lo que los bloqueos duran lo que dura
+     * el tramo.
+     *
+     * @param despuesDeId Último idPersona del tramo anterior (excluido)
+     * @param hastaId Último idPersona del tramo (incluido)
+     * @param cortes Puntaje mínimo de admisión de cada facultad a recalcular
+     * @return Número de personas cuyo estado cambió
+     * @throws SQLException si falla la actualización
+     */
+    public int reevaluarTramo(int despuesDeId, int hastaId, Map<String, Integer> cortes) throws SQLException {
+
+        // case facultad when ? then if(puntaje >= ?, 'SI', 'NO') ... end
+        StringBuilder caso = new StringBuilder("case facultad");
+        StringBuilder lista = new StringBuilder();
+        for (int i = 0; i < cortes.size(); i++) {
+            caso.append(" when ? then if(puntaje >= ?, 'SI', 'NO')");
+            lista.append(i == 0 ? "?" : ",?");
+        }
+        caso.append(" end");
+        String sql = "update persona set admitido = " + caso
+                + " where idPersona > ? and idPersona <= ? and facultad in (" + lista + ")"
+                + " and not (admitido <=> " + caso + ")";
+
+        try (Connection cn = conexion();
+             PreparedStatement ps = cn.prepareStatement(sql)) {
+
+            int i = 1;
+            i = asignarCortes(ps, i, cortes);
+            ps.setInt(i++, despuesDeId);
+            ps.setInt(i++, hastaId);
+            for (String facultad : cortes.keySet()) {
+                ps.setString(i++, facultad);
+            }
+            asignarCortes(ps, i, cortes);
+
+            return ps.executeUpdate();
+        }
+
+    }
+
+    /**
+     * Asigna los pares facultad, corte de la expresión case.
+     *
+     * @return Índice del siguiente parámetro
+     */
+    private static int asignarCortes(PreparedStatement ps, int i, Map<String, Integer> cortes) throws SQLException {
+        for (Map.Entry<String, Integer> corte : cortes.entrySet()) {
+            ps.setString(i++, corte.getKey());
+            ps.setInt(i++, corte.getValue());
+        }
+        return i;
+    }
+
 }
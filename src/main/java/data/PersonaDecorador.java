@@ -0,0 +1,106 @@
+/**
+ * Clase base para las implementaciones de PersonaInterface que envuelven a
+ * otra y le agregan comportamiento (caché, métricas, etc.).
+ *
+ * Por defecto cada operación se delega sin cambios en la implementación
+ * envuelta; las subclases sobrescriben solo las operaciones que les interesan.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import model.EstadisticaFacultad;
+import model.Persona;
+
+public abstract class PersonaDecorador implements PersonaInterface {
+
+    // Implementación envuelta
+    protected final PersonaInterface delegado;
+
+    /**
+     * Constructor de la clase PersonaDecorador.
+     *
+     * @param delegado Implementación que recibe las operaciones
+     */
+    protected PersonaDecorador(PersonaInterface delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public boolean insertar(Persona obj) {
+        return delegado.insertar(obj);
+    }
+
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+        return delegado.insertarSiNoExiste(obj);
+    }
+
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+        return delegado.insertarLote(personas, tamanoLote);
+    }
+
+    @Override
+    public List<Persona> listar() {
+        return delegado.listar();
+    }
+
+    @Override
+    public Stream<Persona> recorrer(int tamanoLectura) {
+        return delegado.recorrer(tamanoLectura);
+    }
+
+    @Override
+    public List<Persona> listarPagina(int despuesDeId, int tamano) {
+        return delegado.listarPagina(despuesDeId, tamano);
+    }
+
+    @Override
+    public int[] listarFinesDePagina(int tamanoPagina) {
+        return delegado.listarFinesDePagina(tamanoPagina);
+    }
+
+    @Override
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad) {
+        return delegado.listarRanking(facultad, puntajeMinimo, puntajeMaximo, soloAdmitidos, cantidad);
+    }
+
+    @Override
+    public int contar() {
+        return delegado.contar();
+    }
+
+    @Override
+    public List<EstadisticaFacultad> contarPorFacultad() {
+        return delegado.contarPorFacultad();
+    }
+
+    @Override
+    public Persona buscar(String dni) {
+        return delegado.buscar(dni);
+    }
+
+    @Override
+    public boolean actualizar(Persona obj) {
+        return delegado.actualizar(obj);
+    }
+
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+        return delegado.guardar(obj);
+    }
+
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+        return delegado.eliminarSiExiste(obj);
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        return delegado.eliminar(dni);
+    }
+}
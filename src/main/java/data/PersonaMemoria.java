@@ -0,0 +1,659 @@
+/**
+ * Clase que implementa PersonaInterface guardando todas las personas en
+ * memoria, sin base de datos. Sirve como modo sin conexión de la aplicación
+ * (datos.backend=memoria) y como fuente de datos para benchmarks y pruebas.
+ *
+ * Las personas se guardan en un arreglo en orden de idPersona, que se asigna
+ * en forma creciente como lo hace la base de datos. Para buscarlas hay dos
+ * índices de direccionamiento abierto sobre arreglos de int, que no crean
+ * objetos al consultar ni al modificar:
+ *   - por DNI: la tabla guarda la posición de la persona, y el DNI se compara
+ *     con el de la persona guardada.
+ *   - por idPersona: un mapa de int a int.
+ * Las personas eliminadas dejan su posición vacía; cuando las posiciones
+ * vacías superan a las ocupadas, el arreglo se compacta.
+ *
+ * Las escrituras se hacen de a una con el candado de escritura. Las
+ * búsquedas por DNI se hacen sin bloquear (lectura optimista) y solo toman
+ * el candado de lectura si una escritura ocurrió mientras tanto. Las personas
+ * guardadas no se modifican: cada método devuelve copias y guarda copias.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+import model.EstadisticaFacultad;
+import model.Persona;
+
+public class PersonaMemoria implements PersonaInterface {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final StampedLock candado = new StampedLock();
+
+    // Personas por posición, en orden de idPersona; null si fue eliminada
+    private Persona[] filas = new Persona[CAPACIDAD_INICIAL];
+
+    // idPersona de cada posición, también de las eliminadas, para buscar por rango
+    private int[] ids = new int[CAPACIDAD_INICIAL];
+
+    // Posiciones usadas y personas vivas
+    private int usadas;
+    private int vivas;
+
+    private int ultimoId;
+
+    // Índice por DNI: posición + 1 de la persona, o 0 si la celda está libre
+    private int[] indiceDni = new int[CAPACIDAD_INICIAL * 2];
+
+    // Índice por idPersona: posición de la persona
+    private final MapaEnteros indiceId = new MapaEnteros(CAPACIDAD_INICIAL);
+
+    /**
+     * Inserta una nueva persona y le asigna el idPersona generado.
+     *
+     * @param obj Persona a insertar
+     * @return true si la inserción fue exitosa, false si el DNI ya existe o los datos no cumplen el esquema
+     */
+    @Override
+    public boolean insertar(Persona obj) {
+        return insertarSiNoExiste(obj) == ResultadoEscritura.INSERTADO;
+    }
+
+    /**
+     * Inserta una nueva persona y le asigna el idPersona generado.
+     *
+     * @param obj Persona a insertar
+     * @return INSERTADO, DUPLICADO o ERROR si los datos no cumplen el esquema
+     */
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+        if (!EsquemaPersona.valida(obj)) {
+            return ResultadoEscritura.ERROR;
+        }
+        long stamp = candado.writeLock();
+        try {
+            if (posicionDni(obj.getDni()) >= 0) {
+                return ResultadoEscritura.DUPLICADO;
+            }
+            obj.setIdPersona(agregar(obj));
+            return ResultadoEscritura.INSERTADO;
+        } finally {
+            candado.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Inserta varias personas y asigna a cada una insertada su idPersona.
+     * Los DNI repetidos, ya existentes o dentro de la colección, se informan
+     * como duplicados, y las que no cumplen el esquema de la tabla (un
+     * dato nulo o demasiado largo) como error.
+     *
+     * @param personas Personas a insertar
+     * @param tamanoLote Número de personas insertadas por cada toma del candado
+     * @return Resultado de cada persona, en el mismo orden de la colección
+     */
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+        ResultadoEscritura[] resultados = new ResultadoEscritura[personas.size()];
+        Persona[] lote = personas.toArray(new Persona[0]);
+        int tamano = Math.max(1, tamanoLote);
+
+        // El candado se suelta entre lotes para no frenar a los lectores durante toda la carga
+        for (int inicio = 0; inicio < lote.length; inicio += tamano) {
+            int fin = Math.min(inicio + tamano, lote.length);
+            long stamp = candado.writeLock();
+            try {
+                for (int i = inicio; i < fin; i++) {
+                    if (!EsquemaPersona.valida(lote[i])) {
+                        resultados[i] = ResultadoEscritura.ERROR;
+                    } else if (posicionDni(lote[i].getDni()) >= 0) {
+                        resultados[i] = ResultadoEscritura.DUPLICADO;
+                    } else {
+                        lote[i].setIdPersona(agregar(lote[i]));
+                        resultados[i] = ResultadoEscritura.INSERTADO;
+                    }
+                }
+            } finally {
+                candado.unlockWrite(stamp);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Guarda una copia de la persona al final del arreglo. Debe llamarse con
+     * el candado de escritura.
+     *
+     * @return idPersona asignado
+     */
+    private int agregar(Persona obj) {
+        if (usadas == filas.length) {
+            if (usadas - vivas > vivas) {
+                compactar();
+            } else {
+                filas = Arrays.copyOf(filas, filas.length * 2);
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+        int id = ++ultimoId;
+        int posicion = usadas++;
+        filas[posicion] = copiar(obj, id);
+        ids[posicion] = id;
+        vivas++;
+
+        if (vivas * 2 > indiceDni.length) {
+            reconstruirIndiceDni(indiceDni.length * 2);
+        } else {
+            indexarDni(indiceDni, obj.getDni(), posicion);
+        }
+        indiceId.poner(id, posicion);
+        return id;
+    }
+
+    /**
+     * Obtiene una lista de todas las personas.
+     *
+     * @return Lista de objetos Persona, en orden de idPersona
+     */
+    @Override
+    public List<Persona> listar() {
+        long stamp = candado.readLock();
+        try {
+            List<Persona> registros = new ArrayList<>(vivas);
+            for (int i = 0; i < usadas; i++) {
+                if (filas[i] != null) {
+                    registros.add(copiar(filas[i], filas[i].getIdPersona()));
+                }
+            }
+            return registros;
+        } finally {
+            candado.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Recorre todas las personas por páginas (ver RecorridoPaginado), sin
+     * retener el candado mientras se consume el flujo.
+     *
+     * @param tamanoLectura Personas por página; 0 o menos para el valor por defecto
+     * @return Flujo de personas, en orden de idPersona
+     */
+    @Override
+    public Stream<Persona> recorrer(int tamanoLectura) {
+        return RecorridoPaginado.flujo(this, tamanoLectura);
+    }
+
+    /**
+     * Obtiene una página de personas ordenadas por idPersona, empezando
+     * después del id indicado.
+     *
+     * @param despuesDeId Último idPersona de la página anterior, o 0 para la primera página
+     * @param tamano Número máximo de personas de la página
+     * @return Lista de objetos Persona con idPersona mayor que despuesDeId
+     */
+    @Override
+    public List<Persona> listarPagina(int despuesDeId, int tamano) {
+        long stamp = candado.readLock();
+        try {
+            List<Persona> registros = new ArrayList<>(Math.min(tamano, vivas));
+            int i = Arrays.binarySearch(ids, 0, usadas, despuesDeId);
+            i = i >= 0 ? i + 1 : -i - 1;
+            for (; i < usadas && registros.size() < tamano; i++) {
+                if (filas[i] != null) {
+                    registros.add(copiar(filas[i], filas[i].getIdPersona()));
+                }
+            }
+            return registros;
+        } finally {
+            candado.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Obtiene el último idPersona de cada página completa recorriendo los
+     * idPersona, sin copiar personas.
+     *
+     * @param tamanoPagina Número de personas por página
+     * @return Último idPersona de cada página completa
+     */
+    @Override
+    public int[] listarFinesDePagina(int tamanoPagina) {
+        long stamp = candado.readLock();
+        try {
+            int tamano = Math.max(tamanoPagina, 1);
+            int[] fines = new int[vivas / tamano];
+            int total = 0;
+            int contadas = 0;
+            for (int i = 0; i < usadas && total < fines.length; i++) {
+                if (filas[i] != null && ++contadas % tamano == 0) {
+                    fines[total++] = ids[i];
+                }
+            }
+            return fines;
+        } finally {
+            candado.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Obtiene las personas de una facultad con puntaje dentro de un rango,
+     * de mayor a menor puntaje. Recorre todas las personas, pero solo crea
+     * copias de las elegidas.
+     *
+     * @param facultad Facultad de las personas
+     * @param puntajeMinimo Puntaje mínimo, inclusive
+     * @param puntajeMaximo Puntaje máximo, inclusive
+     * @param soloAdmitidos true para devolver solo las personas admitidas
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de objetos Persona
+     */
+    @Override
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad) {
+        if (facultad == null || cantidad <= 0) {
+            return new ArrayList<>();
+        }
+        long stamp = candado.readLock();
+        try {
+            // Las posiciones siguen el orden de idPersona, así que sirven para desempatar
+            Ranking ranking = new Ranking(Math.min(cantidad, vivas));
+            for (int i = 0; i < usadas; i++) {
+                Persona p = filas[i];
+                if (p != null && p.getPuntaje() >= puntajeMinimo && p.getPuntaje() <= puntajeMaximo
+                        && facultad.equals(p.getFacultadAspirada())
+                        && (!soloAdmitidos || "SI".equals(p.getAdmitido()))) {
+                    ranking.ofrecer(p.getPuntaje(), i);
+                }
+            }
+            int[] elegidas = ranking.elegidos();
+            List<Persona> registros = new ArrayList<>(elegidas.length);
+            for (int posicion : elegidas) {
+                registros.add(copiar(filas[posicion], filas[posicion].getIdPersona()));
+            }
+            return registros;
+        } finally {
+            candado.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Calcula los totales de cada facultad recorriendo todas las personas.
+     *
+     * @return Una estadística por cada facultad con personas
+     */
+    @Override
+    public List<EstadisticaFacultad> contarPorFacultad() {
+        long stamp = candado.readLock();
+        try {
+            // Postulantes, admitidos y suma de puntajes por facultad
+            Map<String, long[]> totales = new LinkedHashMap<>();
+            for (int i = 0; i < usadas; i++) {
+                Persona p = filas[i];
+                if (p != null) {
+                    long[] t = totales.computeIfAbsent(p.getFacultadAspirada(), f -> new long[3]);
+                    t[0]++;
+                    t[1] += "SI".equals(p.getAdmitido()) ? 1 : 0;
+                    t[2] += p.getPuntaje();
+                }
+            }
+            List<EstadisticaFacultad> estadisticas = new ArrayList<>(totales.size());
+            for (Map.Entry<String, long[]> t : totales.entrySet()) {
+                estadisticas.add(new EstadisticaFacultad(t.getKey(), t.getValue()[0], t.getValue()[1], t.getValue()[2]));
+            }
+            return estadisticas;
+        } finally {
+            candado.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Cuenta las personas guardadas.
+     *
+     * @return Número de personas
+     */
+    @Override
+    public int contar() {
+        long stamp = candado.tryOptimisticRead();
+        int total = vivas;
+        if (!candado.validate(stamp)) {
+            stamp = candado.readLock();
+            try {
+                total = vivas;
+            } finally {
+                candado.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Busca una persona por su DNI.
+     *
+     * @param dni DNI de la persona a buscar
+     * @return Copia de la persona encontrada, o null si no se encuentra
+     */
+    @Override
+    public Persona buscar(String dni) {
+        if (dni == null) {
+            return null;
+        }
+        long stamp = candado.tryOptimisticRead();
+        Persona persona = stamp == 0 ? null : localizar(dni);
+        if (!candado.validate(stamp)) {
+            stamp = candado.readLock();
+            try {
+                persona = localizar(dni);
+            } finally {
+                candado.unlockRead(stamp);
+            }
+        }
+        return persona == null ? null : copiar(persona, persona.getIdPersona());
+    }
+
+    /**
+     * Busca una persona por DNI sin tomar el candado. Puede ejecutarse
+     * mientras otro hilo escribe, por lo que solo usa copias locales de los
+     * arreglos, verifica los límites y recorre la tabla como máximo una vez;
+     * el resultado solo vale si la lectura optimista sigue siendo válida.
+     */
+    private Persona localizar(String dni) {
+        int[] tabla = indiceDni;
+        Persona[] personas = filas;
+        int mascara = tabla.length - 1;
+        int i = dispersar(dni.hashCode()) & mascara;
+        for (int n = 0; n <= mascara; n++) {
+            int valor = tabla[i];
+            if (valor == 0) {
+                return null;
+            }
+            if (valor - 1 < personas.length) {
+                Persona p = personas[valor - 1];
+                if (p != null && dni.equals(p.getDni())) {
+                    return p;
+                }
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Actualiza la información de una persona existente, buscada por idPersona.
+     *
+     * @param obj Persona con la información actualizada
+     * @return true si la actualización fue exitosa, false si no existe, el nuevo DNI ya es de otra persona o los datos no cumplen el esquema
+     */
+    @Override
+    public boolean actualizar(Persona obj) {
+        long stamp = candado.writeLock();
+        try {
+            int posicion = indiceId.obtener(obj.getIdPersona());
+            if (posicion < 0 || !EsquemaPersona.valida(obj)) {
+                return false;
+            }
+            String dniAnterior = filas[posicion].getDni();
+            if (!dniAnterior.equals(obj.getDni())) {
+                if (posicionDni(obj.getDni()) >= 0) {
+                    return false;
+                }
+                desindexarDni(dniAnterior);
+                indexarDni(indiceDni, obj.getDni(), posicion);
+            }
+            filas[posicion] = copiar(obj, obj.getIdPersona());
+            return true;
+        } finally {
+            candado.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Elimina una persona por su DNI.
+     *
+     * @param dni DNI de la persona a eliminar
+     * @return true si la eliminación fue exitosa, false si no existe
+     */
+    @Override
+    public boolean eliminar(String dni) {
+        Persona obj = new Persona();
+        obj.setDni(dni);
+        return eliminarSiExiste(obj) == ResultadoEscritura.ELIMINADO;
+    }
+
+    /**
+     * Inserta una persona o reemplaza los datos de la que tiene su DNI.
+     *
+     * @param obj Persona a guardar
+     * @return INSERTADO, ACTUALIZADO o ERROR si los datos no cumplen el esquema
+     */
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+        if (!EsquemaPersona.valida(obj)) {
+            return ResultadoEscritura.ERROR;
+        }
+        long stamp = candado.writeLock();
+        try {
+            int posicion = posicionDni(obj.getDni());
+            if (posicion < 0) {
+                obj.setIdPersona(agregar(obj));
+                return ResultadoEscritura.INSERTADO;
+            }
+            int id = filas[posicion].getIdPersona();
+            filas[posicion] = copiar(obj, id);
+            obj.setIdPersona(id);
+            return ResultadoEscritura.ACTUALIZADO;
+        } finally {
+            candado.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Elimina la persona con el DNI de obj y copia en obj sus datos.
+     *
+     * @param obj Persona con el DNI a eliminar; recibe los datos eliminados
+     * @return ELIMINADO o NO_EXISTE
+     */
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+        String dni = obj.getDni();
+        if (dni == null) {
+            return ResultadoEscritura.NO_EXISTE;
+        }
+        long stamp = candado.writeLock();
+        try {
+            int posicion = posicionDni(dni);
+            if (posicion < 0) {
+                return ResultadoEscritura.NO_EXISTE;
+            }
+            desindexarDni(dni);
+            indiceId.quitar(filas[posicion].getIdPersona());
+            obj.copiarDe(filas[posicion]);
+            filas[posicion] = null;
+            vivas--;
+            return ResultadoEscritura.ELIMINADO;
+        } finally {
+            candado.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Quita las posiciones vacías del arreglo y reconstruye los índices.
+     * Debe llamarse con el candado de escritura.
+     */
+    private void compactar() {
+        int j = 0;
+        for (int i = 0; i < usadas; i++) {
+            if (filas[i] != null) {
+                filas[j] = filas[i];
+                ids[j] = ids[i];
+                j++;
+            }
+        }
+        Arrays.fill(filas, j, usadas, null);
+        usadas = j;
+
+        indiceId.limpiar();
+        for (int i = 0; i < usadas; i++) {
+            indiceId.poner(ids[i], i);
+        }
+        reconstruirIndiceDni(indiceDni.length);
+    }
+
+    /**
+     * Busca la posición de una persona por DNI. Debe llamarse con algún candado.
+     *
+     * @return Posición de la persona, o -1 si no existe
+     */
+    private int posicionDni(String dni) {
+        int mascara = indiceDni.length - 1;
+        for (int i = dispersar(dni.hashCode()) & mascara; indiceDni[i] != 0; i = (i + 1) & mascara) {
+            int posicion = indiceDni[i] - 1;
+            if (dni.equals(filas[posicion].getDni())) {
+                return posicion;
+            }
+        }
+        return -1;
+    }
+
+    private void indexarDni(int[] tabla, String dni, int posicion) {
+        int mascara = tabla.length - 1;
+        int i = dispersar(dni.hashCode()) & mascara;
+        while (tabla[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        tabla[i] = posicion + 1;
+    }
+
+    /**
+     * Quita un DNI del índice y desplaza hacia atrás las celdas siguientes que
+     * quedarían inalcanzables, para no dejar marcas de borrado.
+     */
+    private void desindexarDni(String dni) {
+        int mascara = indiceDni.length - 1;
+        int i = dispersar(dni.hashCode()) & mascara;
+        while (!dni.equals(filas[indiceDni[i] - 1].getDni())) {
+            i = (i + 1) & mascara;
+        }
+        int hueco = i;
+        for (int j = (hueco + 1) & mascara; indiceDni[j] != 0; j = (j + 1) & mascara) {
+            int ideal = dispersar(filas[indiceDni[j] - 1].getDni().hashCode()) & mascara;
+            // La celda j puede ocupar el hueco si su posición ideal no está entre el hueco y j
+            if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                indiceDni[hueco] = indiceDni[j];
+                hueco = j;
+            }
+        }
+        indiceDni[hueco] = 0;
+    }
+
+    private void reconstruirIndiceDni(int capacidad) {
+        int[] tabla = new int[capacidad];
+        for (int i = 0; i < usadas; i++) {
+            if (filas[i] != null) {
+                indexarDni(tabla, filas[i].getDni(), i);
+            }
+        }
+        indiceDni = tabla;
+    }
+
+    private static int dispersar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Persona copiar(Persona p, int idPersona) {
+        return new Persona(idPersona, p.getDni(), p.getNombre(), p.getApellido(),
+                p.getFacultadAspirada(), p.getPuntaje(), p.getAdmitido());
+    }
+
+    /**
+     * Mapa de int a int con direccionamiento abierto. La clave 0 indica una
+     * celda libre, por lo que no puede usarse como clave (los idPersona empiezan en 1).
+     */
+    private static final class MapaEnteros {
+        private int[] claves;
+        private int[] valores;
+        private int tamano;
+
+        MapaEnteros(int capacidad) {
+            claves = new int[capacidad * 2];
+            valores = new int[capacidad * 2];
+        }
+
+        /**
+         * @return Valor de la clave, o -1 si no existe
+         */
+        int obtener(int clave) {
+            int mascara = claves.length - 1;
+            for (int i = dispersar(clave) & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+                if (claves[i] == clave) {
+                    return valores[i];
+                }
+            }
+            return -1;
+        }
+
+        void poner(int clave, int valor) {
+            if ((tamano + 1) * 2 > claves.length) {
+                crecer();
+            }
+            int mascara = claves.length - 1;
+            int i = dispersar(clave) & mascara;
+            while (claves[i] != 0 && claves[i] != clave) {
+                i = (i + 1) & mascara;
+            }
+            if (claves[i] == 0) {
+                tamano++;
+            }
+            claves[i] = clave;
+            valores[i] = valor;
+        }
+
+        void quitar(int clave) {
+            int mascara = claves.length - 1;
+            int i = dispersar(clave) & mascara;
+            while (claves[i] != clave) {
+                if (claves[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            int hueco = i;
+            for (int j = (hueco + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+                int ideal = dispersar(claves[j]) & mascara;
+                if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                    claves[hueco] = claves[j];
+                    valores[hueco] = valores[j];
+                    hueco = j;
+                }
+            }
+            claves[hueco] = 0;
+            tamano--;
+        }
+
+        void limpiar() {
+            Arrays.fill(claves, 0);
+            tamano = 0;
+        }
+
+        private void crecer() {
+            int[] clavesAnteriores = claves;
+            int[] valoresAnteriores = valores;
+            claves = new int[clavesAnteriores.length * 2];
+            valores = new int[valoresAnteriores.length * 2];
+            tamano = 0;
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != 0) {
+                    poner(clavesAnteriores[i], valoresAnteriores[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * Clase que mide las operaciones de otra implementación de PersonaInterface.
+ *
+ * Cada operación registra su duración, si falló y cuántas filas devolvió o
+ * escribió en las métricas "persona.&lt;operacion&gt;" (ver metricas.Metricas).
+ * Como PersonaInterface informa los errores con el valor devuelto, se
+ * cuentan como errores las excepciones, los false de insertar y actualizar,
+ * el -1 de contar y los ERROR de insertarSiNoExiste e insertarLote. Un
+ * recorrido se mide desde que se abre hasta que se cierra, con las filas
+ * consumidas. Un eliminar que devuelve false no se cuenta como error,
+ * porque también significa que el DNI no existía.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import metricas.Metricas;
+import metricas.Operacion;
+import model.EstadisticaFacultad;
+import model.Persona;
+
+public class PersonaMetricas extends PersonaDecorador {
+
+    private final Operacion insertar = Metricas.operacion("persona.insertar");
+    private final Operacion insertarSiNoExiste = Metricas.operacion("persona.insertarSiNoExiste");
+    private final Operacion insertarLote = Metricas.operacion("persona.insertarLote");
+    private final Operacion listar = Metricas.operacion("persona.listar");
+    private final Operacion recorrer = Metricas.operacion("persona.recorrer");
+    private final Operacion listarPagina = Metricas.operacion("persona.listarPagina");
+    private final Operacion listarFinesDePagina = Metricas.operacion("persona.listarFinesDePagina");
+    private final Operacion listarRanking = Metricas.operacion("persona.listarRanking");
+    private final Operacion contar = Metricas.operacion("persona.contar");
+    private final Operacion contarPorFacultad = Metricas.operacion("persona.contarPorFacultad");
+    private final Operacion buscar = Metricas.operacion("persona.buscar");
+    private final Operacion actualizar = Metricas.operacion("persona.actualizar");
+    private final Operacion eliminar = Metricas.operacion("persona.eliminar");
+    private final Operacion guardar = Metricas.operacion("persona.guardar");
+    private final Operacion eliminarSiExiste = Metricas.operacion("persona.eliminarSiExiste");
+
+    /**
+     * Constructor de la clase PersonaMetricas.
+     *
+     * @param delegado Implementación cuyas operaciones se miden
+     */
+    public PersonaMetricas(PersonaInterface delegado) {
+        super(delegado);
+    }
+
+    @Override
+    public boolean insertar(Persona obj) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            exito = delegado.insertar(obj);
+            return exito;
+        } finally {
+            insertar.registrar(inicio, !exito);
+            if (exito) {
+                insertar.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public ResultadoEscritura insertarSiNoExiste(Persona obj) {
+        long inicio = System.nanoTime();
+        ResultadoEscritura resultado = ResultadoEscritura.ERROR;
+        try {
+            resultado = delegado.insertarSiNoExiste(obj);
+            return resultado;
+        } finally {
+            insertarSiNoExiste.registrar(inicio, resultado == ResultadoEscritura.ERROR);
+            if (resultado == ResultadoEscritura.INSERTADO) {
+                insertarSiNoExiste.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote) {
+        long inicio = System.nanoTime();
+        List<ResultadoEscritura> resultados = null;
+        try {
+            resultados = delegado.insertarLote(personas, tamanoLote);
+            return resultados;
+        } finally {
+            boolean error = resultados == null;
+            if (resultados != null) {
+                int insertadas = 0;
+                for (ResultadoEscritura resultado : resultados) {
+                    if (resultado == ResultadoEscritura.INSERTADO) {
+                        insertadas++;
+                    } else if (resultado == ResultadoEscritura.ERROR) {
+                        error = true;
+                    }
+                }
+                insertarLote.agregarFilas(insertadas);
+            }
+            insertarLote.registrar(inicio, error);
+        }
+    }
+
+    @Override
+    public List<Persona> listar() {
+        long inicio = System.nanoTime();
+        List<Persona> lista = null;
+        try {
+            lista = delegado.listar();
+            return lista;
+        } finally {
+            registrarLista(listar, inicio, lista);
+        }
+    }
+
+    @Override
+    public Stream<Persona> recorrer(int tamanoLectura) {
+        long inicio = System.nanoTime();
+        Stream<Persona> flujo;
+        try {
+            flujo = delegado.recorrer(tamanoLectura);
+        } catch (RuntimeException e) {
+            recorrer.registrar(inicio, true);
+            throw e;
+        }
+        AtomicLong filas = new AtomicLong();
+        AtomicBoolean registrado = new AtomicBoolean();
+        return flujo.peek(p -> filas.incrementAndGet()).onClose(() -> {
+            if (registrado.compareAndSet(false, true)) {
+                recorrer.registrar(inicio, false);
+                recorrer.agregarFilas(filas.get());
+            }
+        });
+    }
+
+    @Override
+    public List<Persona> listarPagina(int despuesDeId, int tamano) {
+        long inicio = System.nanoTime();
+        List<Persona> lista = null;
+        try {
+            lista = delegado.listarPagina(despuesDeId, tamano);
+            return lista;
+        } finally {
+            registrarLista(listarPagina, inicio, lista);
+        }
+    }
+
+    @Override
+    public int[] listarFinesDePagina(int tamanoPagina) {
+        long inicio = System.nanoTime();
+        int[] fines = null;
+        try {
+            fines = delegado.listarFinesDePagina(tamanoPagina);
+            return fines;
+        } finally {
+            listarFinesDePagina.registrar(inicio, fines == null);
+        }
+    }
+
+    @Override
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad) {
+        long inicio = System.nanoTime();
+        List<Persona> lista = null;
+        try {
+            lista = delegado.listarRanking(facultad, puntajeMinimo, puntajeMaximo, soloAdmitidos, cantidad);
+            return lista;
+        } finally {
+            registrarLista(listarRanking, inicio, lista);
+        }
+    }
+
+    /**
+     * Registra una operación que devuelve una lista; null indica que falló.
+     */
+    private static void registrarLista(Operacion operacion, long inicio, List<Persona> lista) {
+        operacion.registrar(inicio, lista == null);
+        if (lista != null) {
+            operacion.agregarFilas(lista.size());
+        }
+    }
+
+    @Override
+    public int contar() {
+        long inicio = System.nanoTime();
+        int total = -1;
+        try {
+            total = delegado.contar();
+            return total;
+        } finally {
+            contar.registrar(inicio, total < 0);
+        }
+    }
+
+    @Override
+    public List<EstadisticaFacultad> contarPorFacultad() {
+        long inicio = System.nanoTime();
+        List<EstadisticaFacultad> estadisticas = null;
+        try {
+            estadisticas = delegado.contarPorFacultad();
+            return estadisticas;
+        } finally {
+            contarPorFacultad.registrar(inicio, estadisticas == null);
+        }
+    }
+
+    @Override
+    public Persona buscar(String dni) {
+        long inicio = System.nanoTime();
+        boolean terminada = false;
+        Persona persona = null;
+        try {
+            persona = delegado.buscar(dni);
+            terminada = true;
+            return persona;
+        } finally {
+            buscar.registrar(inicio, !terminada);
+            if (persona != null) {
+                buscar.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public boolean actualizar(Persona obj) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            exito = delegado.actualizar(obj);
+            return exito;
+        } finally {
+            actualizar.registrar(inicio, !exito);
+            if (exito) {
+                actualizar.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public ResultadoEscritura guardar(Persona obj) {
+        long inicio = System.nanoTime();
+        ResultadoEscritura resultado = ResultadoEscritura.ERROR;
+        try {
+            resultado = delegado.guardar(obj);
+            return resultado;
+        } finally {
+            guardar.registrar(inicio, resultado == ResultadoEscritura.ERROR);
+            if (resultado != ResultadoEscritura.ERROR) {
+                guardar.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public ResultadoEscritura eliminarSiExiste(Persona obj) {
+        long inicio = System.nanoTime();
+        ResultadoEscritura resultado = ResultadoEscritura.ERROR;
+        try {
+            resultado = delegado.eliminarSiExiste(obj);
+            return resultado;
+        } finally {
+            eliminarSiExiste.registrar(inicio, resultado == ResultadoEscritura.ERROR);
+            if (resultado == ResultadoEscritura.ELIMINADO) {
+                eliminarSiExiste.agregarFilas(1);
+            }
+        }
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        long inicio = System.nanoTime();
+        boolean terminada = false;
+        boolean exito = false;
+        try {
+            exito = delegado.eliminar(dni);
+            terminada = true;
+            return exito;
+        } finally {
+            eliminar.registrar(inicio, !terminada);
+            if (exito) {
+                eliminar.agregarFilas(1);
+            }
+        }
+    }
+}
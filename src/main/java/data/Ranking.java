@@ -0,0 +1,71 @@
+/**
+ * Clase que elige, entre muchos candidatos, los de mayor puntaje sin
+ * ordenarlos a todos.
+ *
+ * Los candidatos se identifican por un número de orden no negativo (su
+ * posición o su idPersona); a igual puntaje gana el de mayor orden. Se
+ * guardan en un montículo de tamaño fijo, con el peor de los elegidos en la
+ * raíz, así que cada candidato cuesta O(log n) y no se crean objetos.
+ */
+package data;
+
+import java.util.Arrays;
+
+final class Ranking {
+
+    // Montículo mínimo de claves puntaje-orden
+    private final long[] claves;
+    private int tamano;
+
+    /**
+     * @param cantidad Número de candidatos a elegir
+     */
+    Ranking(int cantidad) {
+        claves = new long[Math.max(0, cantidad)];
+    }
+
+    /**
+     * Propone un candidato; queda elegido si está entre los mejores vistos.
+     *
+     * @param puntaje Puntaje del candidato
+     * @param orden Número de orden del candidato, no negativo
+     */
+    void ofrecer(int puntaje, int orden) {
+        long clave = ((long) puntaje << 32) | orden;
+        if (tamano < claves.length) {
+            int i = tamano++;
+            while (i > 0 && claves[(i - 1) / 2] > clave) {
+                claves[i] = claves[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            claves[i] = clave;
+        } else if (tamano > 0 && clave > claves[0]) {
+            int i = 0;
+            while (2 * i + 1 < tamano) {
+                int hijo = 2 * i + 1;
+                if (hijo + 1 < tamano && claves[hijo + 1] < claves[hijo]) {
+                    hijo++;
+                }
+                if (claves[hijo] >= clave) {
+                    break;
+                }
+                claves[i] = claves[hijo];
+                i = hijo;
+            }
+            claves[i] = clave;
+        }
+    }
+
+    /**
+     * @return Números de orden de los elegidos, de mayor a menor puntaje
+     */
+    int[] elegidos() {
+        long[] ordenadas = Arrays.copyOf(claves, tamano);
+        Arrays.sort(ordenadas);
+        int[] ordenes = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            ordenes[i] = (int) ordenadas[tamano - 1 - i];
+        }
+        return ordenes;
+    }
+}
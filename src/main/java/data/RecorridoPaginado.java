@@ -0,0 +1,65 @@
+/**
+ * Clase que arma el flujo de PersonaInterface.recorrer a partir de
+ * listarPagina, para las implementaciones que no tienen un cursor propio.
+ *
+ * Cada página se pide cuando se terminó de consumir la anterior, así que en
+ * memoria hay a lo sumo una página y no se retiene ningún candado entre
+ * páginas. Las escrituras hechas durante el recorrido se ven si caen en una
+ * página que todavía no se leyó.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import model.Persona;
+
+public final class RecorridoPaginado {
+
+    // Personas por página cuando no se indica otro tamaño de lectura
+    private static final int TAMANO_PAGINA = 1000;
+
+    private RecorridoPaginado() {
+    }
+
+    /**
+     * Crea un flujo que recorre por páginas todas las personas de una fuente de datos.
+     *
+     * @param datos Fuente de datos
+     * @param tamanoLectura Personas por página; 0 o menos para 1000
+     * @return Flujo de personas, en orden de idPersona
+     */
+    public static Stream<Persona> flujo(PersonaInterface datos, int tamanoLectura) {
+        int tamano = tamanoLectura > 0 ? tamanoLectura : TAMANO_PAGINA;
+
+        Spliterator<Persona> paginas = new Spliterators.AbstractSpliterator<Persona>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<Persona> pagina;
+            private int ultimoId;
+            private boolean ultima;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Persona> accion) {
+                while (pagina == null || !pagina.hasNext()) {
+                    if (ultima) {
+                        return false;
+                    }
+                    List<Persona> siguiente = datos.listarPagina(ultimoId, tamano);
+                    ultima = siguiente.size() < tamano;
+                    pagina = siguiente.iterator();
+                }
+                Persona persona = pagina.next();
+                ultimoId = persona.getIdPersona();
+                accion.accept(persona);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(paginas, false);
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Clase que envuelve las conexiones físicas para medir cada sentencia SQL.
+ *
+ * Las sentencias creadas por una conexión envuelta registran la duración de
+ * cada ejecución en la métrica "sql.ejecutar". Las que tardan más que el
+ * umbral configurado, y las que fallan por un motivo distinto de una
+ * restricción (un DNI duplicado no es un problema de la base de datos), se
+ * escriben en el registro de consultas lentas con su texto SQL y la forma
+ * de sus parámetros: el tipo y, en los textos, la longitud, nunca el valor.
+ *
+ * Solo se mide una fracción de las ejecuciones (muestreo). La decisión se
+ * toma en cada ejecución y no al preparar la sentencia, porque el pool
+ * reutiliza las sentencias preparadas (ver ConnectionPool): una sentencia
+ * frecuente se prepara una sola vez y, de otro modo, se mediría siempre o
+ * nunca. Las ejecuciones no elegidas solo pasan por el envoltorio, así la
+ * traza puede quedar activa en producción.
+ */
+package data;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import metricas.Metricas;
+import metricas.Operacion;
+
+final class TrazaSQL {
+
+    // Fracción de las sentencias que se miden, entre 0 y 1
+    private static final double MUESTREO = Math.min(1, Math.max(0,
+            Double.parseDouble(DatabaseConfig.get("sql.traza.muestreo", "1"))));
+
+    // Duración a partir de la cual una ejecución se considera lenta
+    private static final long LENTA_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            DatabaseConfig.getLong("sql.traza.lentaMs", 500));
+
+    // Archivo del registro de consultas lentas; vacío para la salida estándar
+    private static final String ARCHIVO = DatabaseConfig.get("sql.traza.archivo", "sql-lentas.log");
+
+    private static final Operacion ejecutar = Metricas.operacion("sql.ejecutar");
+
+    private static PrintWriter registro;
+
+    private TrazaSQL() {
+    }
+
+    /**
+     * Envuelve una conexión física para que sus sentencias se midan. Si el
+     * muestreo es 0 devuelve la misma conexión.
+     *
+     * @param fisica Conexión a envolver
+     * @return Conexión envuelta
+     */
+    static Connection envolver(Connection fisica) {
+        if (MUESTREO == 0) {
+            return fisica;
+        }
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Conexión con traza SQL [" + fisica + "]";
+                default:
+                    Object resultado = invocar(fisica, metodo, args);
+                    if (metodo.getName().equals("prepareStatement")) {
+                        return envolver((Statement) resultado, (String) args[0]);
+                    }
+                    if (metodo.getName().equals("createStatement")) {
+                        return envolver((Statement) resultado, null);
+                    }
+                    return resultado;
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, manejador);
+    }
+
+    /**
+     * Decide si la próxima ejecución se mide.
+     */
+    private static boolean muestrear() {
+        return MUESTREO >= 1 || ThreadLocalRandom.current().nextDouble() < MUESTREO;
+    }
+
+    /**
+     * Envuelve una sentencia para medir las ejecuciones elegidas por el muestreo.
+     *
+     * @param sentencia Sentencia creada por la conexión física
+     * @param sql Texto de la sentencia preparada, o null si se recibe al ejecutarla
+     */
+    private static Statement envolver(Statement sentencia, String sql) {
+        // Forma de los parámetros por posición; una sentencia la usa un solo hilo
+        Map<Integer, String> parametros = new TreeMap<>();
+        int[] filasLote = new int[1];
+
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parametros.put((Integer) args[0], forma(nombre, args[1]));
+            } else if (nombre.equals("clearParameters")) {
+                parametros.clear();
+            } else if (nombre.equals("addBatch")) {
+                filasLote[0]++;
+            } else if (nombre.equals("clearBatch")) {
+                filasLote[0] = 0;
+            } else if (nombre.startsWith("execute")) {
+                int lote = filasLote[0];
+                if (nombre.endsWith("Batch")) {
+                    filasLote[0] = 0;
+                }
+                if (!muestrear()) {
+                    return invocar(sentencia, metodo, args);
+                }
+                String texto = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                String detalle = parametros.toString() + (lote > 0 ? " lote=" + lote : "");
+                return medir(sentencia, metodo, args, texto, detalle);
+            } else if (nombre.equals("equals")) {
+                return proxy == args[0];
+            } else if (nombre.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return invocar(sentencia, metodo, args);
+        };
+        Class<?> tipo = sentencia instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[] {tipo}, manejador);
+    }
+
+    /**
+     * Ejecuta una sentencia midiendo su duración, y la escribe en el registro
+     * si fue lenta o falló.
+     */
+    private static Object medir(Statement sentencia, Method metodo, Object[] args, String sql, String parametros)
+            throws Throwable {
+        long inicio = System.nanoTime();
+        Object resultado = null;
+        Throwable error = null;
+        try {
+            resultado = invocar(sentencia, metodo, args);
+            return resultado;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            ejecutar.registrar(inicio, error != null);
+            boolean fallo = error instanceof SQLException && !esRestriccion((SQLException) error);
+            if (duracion >= LENTA_NANOS || fallo) {
+                escribir(String.format("%s %9.1f ms %s %s%s%s | %s",
+                        LocalDateTime.now(), duracion / 1e6, metodo.getName(), parametros,
+                        filas(resultado), fallo ? " ERROR " + ((SQLException) error).getSQLState()
+                                + " " + error.getMessage() : "", normalizar(sql)));
+            }
+        }
+    }
+
+    /**
+     * Invoca un método del objeto envuelto, propagando la excepción original.
+     */
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Describe un parámetro sin su valor, por ejemplo "String(8)" o "Int".
+     */
+    private static String forma(String metodo, Object valor) {
+        String tipo = metodo.substring(3);
+        if (valor == null || tipo.equals("Null")) {
+            return "null";
+        }
+        if (valor instanceof String) {
+            return tipo + "(" + ((String) valor).length() + ")";
+        }
+        return tipo;
+    }
+
+    /**
+     * @return Filas afectadas por executeUpdate, sentencias de executeBatch, o vacío para las consultas
+     */
+    private static String filas(Object resultado) {
+        if (resultado instanceof Integer || resultado instanceof Long) {
+            return " filas=" + resultado;
+        }
+        if (resultado instanceof int[]) {
+            return " sentencias=" + ((int[]) resultado).length;
+        }
+        return "";
+    }
+
+    /**
+     * Una violación de restricción (SQLState 23xxx) es un resultado esperado,
+     * por ejemplo un DNI duplicado, y no se registra.
+     */
+    private static boolean esRestriccion(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    /**
+     * Deja el texto SQL en una sola línea.
+     */
+    private static String normalizar(String sql) {
+        return sql == null ? "?" : sql.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Escribe una línea en el registro de consultas lentas.
+     */
+    private static synchronized void escribir(String linea) {
+        if (ARCHIVO.isEmpty()) {
+            System.out.println("[sql-lenta] " + linea);
+            return;
+        }
+        try {
+            if (registro == null) {
+                registro = new PrintWriter(new FileWriter(ARCHIVO, true), true);
+            }
+            registro.println(linea);
+        } catch (IOException e) {
+            System.out.println("[sql-lenta] " + linea);
+        }
+    }
+}
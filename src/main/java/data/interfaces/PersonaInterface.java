@@ -7,19 +7,55 @@
  */
 package data.interfaces;
 
+import model.EstadisticaFacultad;
 import model.Persona;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
  
 public interface PersonaInterface {
     
     /**
-     * Inserta una nueva persona en la base de datos.
+     * Inserta una nueva persona en la base de datos. Si la inserción es
+     * exitosa, asigna a obj el idPersona generado.
      * 
      * @param obj Persona a insertar
      * @return true si la inserción fue exitosa, false en caso contrario
      */
     public boolean insertar(Persona obj);
     
+    /**
+     * Inserta una nueva persona como insertar(), pero informa si no se
+     * insertó porque el DNI ya existe, sin una consulta previa.
+     * 
+     * @param obj Persona a insertar; recibe el idPersona generado si se insertó
+     * @return INSERTADO, DUPLICADO o ERROR
+     */
+    public ResultadoEscritura insertarSiNoExiste(Persona obj);
+    
+    /**
+     * Inserta varias personas usando lotes JDBC. Cada lote se confirma por
+     * separado, y una fila con DNI duplicado no impide insertar las demás.
+     * A cada persona insertada se le asigna el idPersona generado. Un DNI
+     * repetido dentro de la colección es DUPLICADO si su primera aparición
+     * se insertó; si esta falló, se intenta con la siguiente.
+     * 
+     * @param personas Personas a insertar
+     * @param tamanoLote Número de filas por lote y por transacción
+     * @return Resultado de cada persona, en el mismo orden de la colección
+     */
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote);
+    
+    /**
+     * Inserta una persona o, si ya existe una con el mismo DNI, reemplaza sus
+     * datos, en una sola operación. En ambos casos asigna a obj el idPersona
+     * de la fila.
+     * 
+     * @param obj Persona a guardar
+     * @return INSERTADO, ACTUALIZADO o ERROR
+     */
+    public ResultadoEscritura guardar(Persona obj);
+    
     /**
      * Obtiene una lista de todas las personas almacenadas en la base de datos.
      * 
@@ -28,15 +64,79 @@ public interface PersonaInterface {
     public List<Persona> listar();
     
     /**
-     * Busca una persona en la base de datos por su DNI.
+     * Recorre todas las personas sin cargarlas juntas en memoria. El flujo
+     * lee las personas a medida que se consumen y retiene recursos (en la
+     * base de datos, una conexión) hasta que se cierra o se agota, por lo
+     * que debe usarse dentro de un try-with-resources.
+     * 
+     * @param tamanoLectura Personas que se leen juntas; 0 o menos para el valor de cada implementación
+     * @return Flujo de personas, en orden de idPersona
+     * @throws IllegalStateException si la lectura falla, al abrir el flujo o al consumirlo
+     */
+    public Stream<Persona> recorrer(int tamanoLectura);
+    
+    /**
+     * Obtiene una página de personas ordenadas por idPersona, empezando
+     * después del id indicado (paginación por clave).
+     * 
+     * @param despuesDeId Último idPersona de la página anterior, o 0 para la primera página
+     * @param tamano Número máximo de personas de la página
+     * @return Lista de objetos Persona con idPersona mayor que despuesDeId
+     */
+    public List<Persona> listarPagina(int despuesDeId, int tamano);
+    
+    /**
+     * Obtiene el último idPersona de cada página completa, en orden de
+     * idPersona, con una sola consulta. Con ellos se puede pedir cualquier
+     * página a listarPagina sin recorrer las anteriores.
+     * 
+     * @param tamanoPagina Número de personas por página
+     * @return Último idPersona de cada página completa, o null si ocurre un error
+     */
+    public int[] listarFinesDePagina(int tamanoPagina);
+    
+    /**
+     * Obtiene las personas de una facultad con puntaje dentro de un rango,
+     * de mayor a menor puntaje; a igual puntaje, primero la de mayor
+     * idPersona (la registrada más recientemente).
+     * 
+     * @param facultad Facultad de las personas
+     * @param puntajeMinimo Puntaje mínimo, inclusive
+     * @param puntajeMaximo Puntaje máximo, inclusive
+     * @param soloAdmitidos true para devolver solo las personas admitidas
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de objetos Persona
+     */
+    public List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad);
+    
+    /**
+     * Cuenta las personas almacenadas en la base de datos.
+     * 
+     * @return Número de personas, o -1 si ocurre un error
+     */
+    public int contar();
+    
+    /**
+     * Calcula los totales de postulantes, admitidos y puntajes de cada facultad.
+     * 
+     * @return Una estadística por cada facultad con personas, o null si ocurre un error
+     */
+    public List<EstadisticaFacultad> contarPorFacultad();
+    
+    /**
+     * Busca una persona en la base de datos por su DNI. Un error de lectura
+     * se lanza en lugar de devolver null, para que no se confunda con un
+     * DNI que no existe (por ejemplo, en la caché negativa de PersonaCache).
      * 
      * @param dni DNI de la persona a buscar
      * @return Objeto Persona encontrado, o null si no se encuentra
+     * @throws IllegalStateException si la consulta falla
      */
     public Persona buscar(String dni);
     
     /**
-     * Actualiza la información de una persona existente en la base de datos.
+     * Actualiza la información de una persona existente en la base de datos,
+     * identificada por su idPersona.
      * 
      * @param obj Persona con la información actualizada
      * @return true si la actualización fue exitosa, false en caso contrario
@@ -51,5 +151,17 @@ public interface PersonaInterface {
      */
     public boolean eliminar(String dni);
     
+    /**
+     * Elimina la persona con el DNI de obj en una sola operación, informando
+     * si existía. Las implementaciones que tienen la fila a mano al
+     * eliminarla (en memoria, en archivo) copian sus datos en obj, incluido
+     * su idPersona; la base de datos solo informa si existía y obj no
+     * cambia (idPersona queda en 0).
+     * 
+     * @param obj Persona con el DNI a eliminar; puede recibir los datos eliminados
+     * @return ELIMINADO, NO_EXISTE o ERROR
+     */
+    public ResultadoEscritura eliminarSiExiste(Persona obj);
+    
        
 }
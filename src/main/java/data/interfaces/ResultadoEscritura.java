@@ -0,0 +1,31 @@
+/**
+ * Enumeración que describe el resultado de escribir una persona en la base de datos.
+ *
+ * Se usa en las operaciones por lotes para informar el resultado de cada fila
+ * sin que el fallo de una de ellas detenga al resto, y en las escrituras de
+ * una sola sentencia (insertarSiNoExiste, guardar, eliminarSiExiste) para
+ * distinguir qué ocurrió
+ * sin una consulta previa.
+ */
+package data.interfaces;
+
+public enum ResultadoEscritura {
+
+    /** La fila se insertó correctamente. */
+    INSERTADO,
+
+    /** La fila no se insertó porque ya existe una persona con el mismo DNI. */
+    DUPLICADO,
+
+    /** Ya existía una persona con el mismo DNI y se reemplazaron sus datos. */
+    ACTUALIZADO,
+
+    /** La fila existía y se eliminó. */
+    ELIMINADO,
+
+    /** No existe una persona con el DNI indicado. */
+    NO_EXISTE,
+
+    /** La escritura no se hizo por cualquier otro error. */
+    ERROR
+}
@@ -0,0 +1,124 @@
+/**
+ * Clase que acumula una distribución de duraciones para calcular percentiles.
+ *
+ * Los valores se agrupan en intervalos logarítmicos: cada potencia de dos se
+ * divide en 16 intervalos iguales, así el error de un percentil es como
+ * máximo de un 6% sin importar si la duración es de microsegundos o de
+ * segundos. El máximo se guarda exacto.
+ *
+ * registrar() no usa candados: cada valor incrementa un contador atómico,
+ * de modo que muchos hilos pueden registrar a la vez con un costo de pocos
+ * nanosegundos. Los percentiles se calculan sobre una copia de los contadores.
+ */
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Histograma {
+
+    // Bits de cada valor que eligen el intervalo dentro de su potencia de dos
+    private static final int BITS_SUBINTERVALO = 4;
+    private static final int SUBINTERVALOS = 1 << BITS_SUBINTERVALO;
+
+    // Suficientes para cualquier long positivo
+    private static final int INTERVALOS = (64 - BITS_SUBINTERVALO) * SUBINTERVALOS;
+
+    private final AtomicLongArray conteos = new AtomicLongArray(INTERVALOS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra un valor.
+     *
+     * @param valor Valor a registrar, normalmente una duración en nanosegundos; los negativos se toman como 0
+     */
+    public void registrar(long valor) {
+        long v = Math.max(0, valor);
+        conteos.incrementAndGet(intervalo(v));
+        total.increment();
+        suma.add(v);
+        long actual;
+        while (v > (actual = maximo.get()) && !maximo.compareAndSet(actual, v)) {
+            // Otro hilo cambió el máximo; se vuelve a comparar
+        }
+    }
+
+    /**
+     * @return Número de valores registrados
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * @return Promedio de los valores registrados, o 0 si no hay ninguno
+     */
+    public double getMedia() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+
+    /**
+     * @return Mayor valor registrado, o 0 si no hay ninguno
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Calcula un percentil de los valores registrados.
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return Límite superior del intervalo que contiene el percentil, nunca
+     *         mayor que el máximo; 0 si no hay valores
+     */
+    public long getPercentil(double percentil) {
+        long[] copia = new long[INTERVALOS];
+        long n = 0;
+        for (int i = 0; i < INTERVALOS; i++) {
+            copia[i] = conteos.get(i);
+            n += copia[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(n * Math.min(100, Math.max(0, percentil)) / 100));
+        long acumulado = 0;
+        for (int i = 0; i < INTERVALOS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= posicion) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Devuelve el intervalo de un valor no negativo. Los valores menores que
+     * SUBINTERVALOS tienen un intervalo propio.
+     */
+    private static int intervalo(long valor) {
+        if (valor < SUBINTERVALOS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBINTERVALO;
+        int sub = (int) (valor >>> desplazamiento) & (SUBINTERVALOS - 1);
+        return (desplazamiento + 1) * SUBINTERVALOS + sub;
+    }
+
+    /**
+     * @return Mayor valor que cae en el intervalo
+     */
+    private static long limiteSuperior(int intervalo) {
+        if (intervalo < SUBINTERVALOS) {
+            return intervalo;
+        }
+        int desplazamiento = intervalo / SUBINTERVALOS - 1;
+        long inferior = (long) (SUBINTERVALOS + intervalo % SUBINTERVALOS) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+}
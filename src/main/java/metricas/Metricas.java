@@ -0,0 +1,127 @@
+/**
+ * Clase que registra las métricas de las operaciones de la aplicación.
+ *
+ * Cada operación se identifica por un nombre ("persona.buscar",
+ * "conexion.obtener", etc.) y se crea la primera vez que se pide. Al crearse
+ * se publica por JMX como StudentRegistry:type=Operacion,name=&lt;nombre&gt;.
+ *
+ * Las métricas pueden obtenerse en texto con volcar() o escribirse
+ * periódicamente en la salida estándar con iniciarRegistro().
+ */
+package metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public final class Metricas {
+
+    private static final String DOMINIO_JMX = "StudentRegistry";
+
+    private static final Map<String, Operacion> operaciones = new ConcurrentHashMap<>();
+
+    // Llamadas de cada operación en el último registro periódico
+    private static final Map<String, Long> llamadasRegistradas = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService registro;
+
+    private Metricas() {
+    }
+
+    /**
+     * Obtiene las métricas de una operación, creándolas si no existen.
+     * Conviene guardar el resultado en lugar de pedirlo en cada llamada.
+     *
+     * @param nombre Nombre de la operación
+     * @return Métricas de la operación
+     */
+    public static Operacion operacion(String nombre) {
+        Operacion operacion = operaciones.get(nombre);
+        if (operacion != null) {
+            return operacion;
+        }
+        return operaciones.computeIfAbsent(nombre, n -> {
+            Operacion nueva = new Operacion(n);
+            publicar(nueva);
+            return nueva;
+        });
+    }
+
+    /**
+     * Publica las métricas de una operación en el servidor JMX de la plataforma.
+     */
+    private static void publicar(Operacion operacion) {
+        try {
+            ObjectName nombre = new ObjectName(DOMINIO_JMX + ":type=Operacion,name=" + operacion.getNombre());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(operacion, nombre);
+        } catch (JMException e) {
+            System.out.println("No se pudieron publicar por JMX las métricas de "
+                    + operacion.getNombre() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve las métricas de las operaciones que tuvieron llamadas, una por
+     * línea y en orden alfabético.
+     *
+     * @return Métricas en texto
+     */
+    public static String volcar() {
+        StringBuilder texto = new StringBuilder();
+        for (Operacion operacion : new TreeMap<>(operaciones).values()) {
+            if (operacion.getLlamadas() > 0) {
+                texto.append(operacion).append('\n');
+            }
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Empieza a escribir las métricas en la salida estándar cada cierto
+     * tiempo. Solo se escriben las operaciones con llamadas nuevas desde el
+     * registro anterior. Llamarlo de nuevo cambia el periodo.
+     *
+     * @param periodoMs Periodo entre registros; 0 o menos lo desactiva
+     */
+    public static synchronized void iniciarRegistro(long periodoMs) {
+        detenerRegistro();
+        if (periodoMs <= 0) {
+            return;
+        }
+        registro = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "metricas-registro");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        registro.scheduleAtFixedRate(Metricas::registrar, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deja de escribir las métricas periódicamente.
+     */
+    public static synchronized void detenerRegistro() {
+        if (registro != null) {
+            registro.shutdownNow();
+            registro = null;
+        }
+    }
+
+    /**
+     * Escribe las operaciones que tuvieron llamadas desde el registro anterior.
+     */
+    private static void registrar() {
+        for (Operacion operacion : new TreeMap<>(operaciones).values()) {
+            long llamadas = operacion.getLlamadas();
+            Long anteriores = llamadasRegistradas.put(operacion.getNombre(), llamadas);
+            if (anteriores == null || anteriores != llamadas) {
+                System.out.println("[metricas] " + operacion);
+            }
+        }
+    }
+}
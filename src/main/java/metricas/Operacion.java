@@ -0,0 +1,100 @@
+/**
+ * Clase que acumula las métricas de una operación: llamadas, errores, filas
+ * y la distribución de su duración.
+ *
+ * Se obtiene con Metricas.operacion(nombre). Todos los métodos pueden
+ * llamarse desde varios hilos a la vez sin candados.
+ */
+package metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Operacion implements OperacionMBean {
+
+    private final String nombre;
+    private final Histograma duracion = new Histograma();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * @return Nombre de la operación
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Registra una llamada terminada.
+     *
+     * @param inicio Valor de System.nanoTime() al empezar la llamada
+     * @param error true si la llamada falló
+     */
+    public void registrar(long inicio, boolean error) {
+        duracion.registrar(System.nanoTime() - inicio);
+        if (error) {
+            errores.increment();
+        }
+    }
+
+    /**
+     * Suma filas devueltas o escritas por la operación.
+     *
+     * @param cantidad Número de filas
+     */
+    public void agregarFilas(long cantidad) {
+        filas.add(cantidad);
+    }
+
+    /**
+     * @return Distribución de la duración de las llamadas, en nanosegundos
+     */
+    public Histograma getDuracion() {
+        return duracion;
+    }
+
+    @Override
+    public long getLlamadas() {
+        return duracion.getTotal();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    @Override
+    public double getMediaMicros() {
+        return duracion.getMedia() / 1000;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return duracion.getPercentil(50) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return duracion.getPercentil(99) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return duracion.getMaximo() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s llamadas=%d errores=%d filas=%d media=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                nombre, getLlamadas(), getErrores(), getFilas(),
+                getMediaMicros(), getP50Micros(), getP99Micros(), getMaxMicros());
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Interfaz de administración (JMX) de las métricas de una operación.
+ *
+ * Los valores pueden consultarse con jconsole o VisualVM, bajo el dominio
+ * StudentRegistry. Las duraciones están en microsegundos.
+ */
+package metricas;
+
+public interface OperacionMBean {
+
+    /**
+     * @return Número de llamadas terminadas
+     */
+    long getLlamadas();
+
+    /**
+     * @return Número de llamadas que fallaron
+     */
+    long getErrores();
+
+    /**
+     * @return Número de filas devueltas o escritas
+     */
+    long getFilas();
+
+    /**
+     * @return Duración media
+     */
+    double getMediaMicros();
+
+    /**
+     * @return Mediana de la duración
+     */
+    double getP50Micros();
+
+    /**
+     * @return Percentil 99 de la duración
+     */
+    double getP99Micros();
+
+    /**
+     * @return Mayor duración registrada
+     */
+    double getMaxMicros();
+}
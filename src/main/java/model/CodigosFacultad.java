@@ -0,0 +1,41 @@
+/**
+ * Clase que asigna a cada facultad un código de un byte, para guardar la
+ * facultad de muchas personas sin repetir la cadena en cada una.
+ *
+ * Las facultades no son fijas (salen de admision.properties), así que los
+ * códigos se asignan la primera vez que aparece cada nombre y valen mientras
+ * dure la aplicación. El código 0 representa una facultad nula. Es un
+ * Diccionario compartido por toda la aplicación, así que codigo() y
+ * nombre() siempre devuelven lo mismo para el mismo valor.
+ */
+package model;
+
+public final class CodigosFacultad {
+
+    private static final Diccionario facultades = new Diccionario(255);
+
+    private CodigosFacultad() {
+    }
+
+    /**
+     * Obtiene el código de una facultad, asignándole uno nuevo si todavía no lo tiene.
+     *
+     * @param facultad Nombre de la facultad, o null
+     * @return Código entre 1 y 255, o 0 si la facultad es null
+     * @throws IllegalStateException si ya hay 255 facultades distintas
+     */
+    public static int codigo(String facultad) {
+        return facultades.codigo(facultad);
+    }
+
+    /**
+     * Obtiene el nombre de la facultad de un código.
+     *
+     * @param codigo Código devuelto por codigo()
+     * @return Nombre de la facultad, o null para el código 0
+     * @throws IllegalArgumentException si el código no fue asignado
+     */
+    public static String nombre(int codigo) {
+        return facultades.valor(codigo);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Clase que guarda los textos de una columna concatenados en un solo
+ * StringBuilder, con un arreglo con la posición donde termina cada valor,
+ * en lugar de un objeto String por fila. El StringBuilder usa un byte por
+ * carácter mientras el texto sea Latin-1, como los nombres con tildes y
+ * eñes.
+ *
+ * Los valores se agregan al final y no se modifican. La clase no es segura
+ * para usarla desde varios hilos mientras se agregan valores.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public final class ColumnaTexto {
+
+    private final StringBuilder texto;
+    private int[] fines;
+    private final BitSet nulos = new BitSet();
+
+    /**
+     * Constructor de la clase ColumnaTexto.
+     *
+     * @param capacidad Número de valores previsto; el arreglo crece si se supera
+     * @param largoPromedio Caracteres previstos por valor
+     */
+    public ColumnaTexto(int capacidad, int largoPromedio) {
+        texto = new StringBuilder(Math.max(capacidad, 16) * largoPromedio);
+        fines = new int[Math.max(capacidad, 16)];
+    }
+
+    /**
+     * Agrega el valor de una fila. Las filas se agregan en orden, desde 0.
+     *
+     * @param fila Número de la fila, igual a la cantidad de valores ya agregados
+     * @param valor Texto, o null
+     */
+    public void agregar(int fila, String valor) {
+        if (fila == fines.length) {
+            fines = Arrays.copyOf(fines, fila + (fila >> 1));
+        }
+        if (valor == null) {
+            nulos.set(fila);
+        } else {
+            texto.append(valor);
+        }
+        fines[fila] = texto.length();
+    }
+
+    /**
+     * @param fila Número de una fila ya agregada
+     * @return Texto de la fila, o null
+     */
+    public String get(int fila) {
+        if (nulos.get(fila)) {
+            return null;
+        }
+        int inicio = fila == 0 ? 0 : fines[fila - 1];
+        return texto.substring(inicio, fines[fila]);
+    }
+}
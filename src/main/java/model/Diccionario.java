@@ -0,0 +1,103 @@
+/**
+ * Clase que asigna a cada texto distinto un código entero, para guardar
+ * una columna con pocos valores distintos (la facultad, la admisión) como
+ * un código por fila en lugar de una cadena.
+ *
+ * El código 0 representa null; los demás se asignan en orden desde 1 la
+ * primera vez que aparece cada valor y no cambian mientras exista el
+ * diccionario. Cada valor se guarda una sola vez y valor() siempre devuelve
+ * la misma instancia. Las consultas no toman candados y pueden hacerse
+ * mientras otro hilo agrega valores.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Diccionario {
+
+    private final int maximo;
+
+    // Códigos asignados hasta ahora; el 0 está reservado para null
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>();
+
+    // Valor de cada código; se reemplaza completo al agregar uno
+    private volatile String[] valores = new String[1];
+
+    /**
+     * Constructor de la clase Diccionario.
+     *
+     * @param maximo Código más alto que se puede asignar, por ejemplo 255 para guardarlos en un byte
+     */
+    public Diccionario(int maximo) {
+        this.maximo = maximo;
+    }
+
+    /**
+     * Obtiene el código de un valor, asignándole uno nuevo si todavía no lo tiene.
+     *
+     * @param valor Texto, o null
+     * @return Código entre 1 y el máximo, o 0 si el valor es null
+     * @throws IllegalStateException si ya se asignaron todos los códigos
+     */
+    public int codigo(String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        Integer codigo = codigos.get(valor);
+        return codigo != null ? codigo : asignar(valor);
+    }
+
+    /**
+     * Obtiene el código de un valor sin asignarle uno.
+     *
+     * @param valor Texto, o null
+     * @return Código del valor, 0 si es null, o -1 si no tiene código
+     */
+    public int buscar(String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        Integer codigo = codigos.get(valor);
+        return codigo != null ? codigo : -1;
+    }
+
+    /**
+     * Obtiene el valor de un código.
+     *
+     * @param codigo Código devuelto por codigo()
+     * @return Valor del código, o null para el código 0
+     * @throws IllegalArgumentException si el código no fue asignado
+     */
+    public String valor(int codigo) {
+        String[] actuales = valores;
+        if (codigo < 0 || codigo >= actuales.length) {
+            throw new IllegalArgumentException("Código no asignado: " + codigo);
+        }
+        return actuales[codigo];
+    }
+
+    /**
+     * @return Número de códigos, contando el 0; los códigos válidos van de 0 a size() - 1
+     */
+    public int size() {
+        return valores.length;
+    }
+
+    private synchronized int asignar(String valor) {
+        Integer codigo = codigos.get(valor);
+        if (codigo != null) {
+            return codigo;
+        }
+        String[] actuales = valores;
+        if (actuales.length > maximo) {
+            throw new IllegalStateException("Demasiados valores distintos: el máximo es " + maximo);
+        }
+        String[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevos[actuales.length] = valor;
+        valores = nuevos;
+        codigos.put(valor, actuales.length);
+        return actuales.length;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Clase que escribe personas en JSON, con el formato que comparten la
+ * exportación de postulantes (ExportadorPostulantes) y las respuestas del
+ * servidor HTTP (ServidorHttp).
+ */
+package model;
+
+public final class EscritorJson {
+
+    private EscritorJson() {
+    }
+
+    /**
+     * Escribe una persona como objeto JSON.
+     */
+    public static StringBuilder persona(StringBuilder json, Persona persona) {
+        json.append("{\"idPersona\":").append(persona.getIdPersona());
+        campo(json, "dni", persona.getDni());
+        campo(json, "nombre", persona.getNombre());
+        campo(json, "apellido", persona.getApellido());
+        campo(json, "facultad", persona.getFacultadAspirada());
+        json.append(",\"puntaje\":").append(persona.getPuntaje());
+        campo(json, "admitido", persona.getAdmitido());
+        return json.append('}');
+    }
+
+    private static void campo(StringBuilder json, String nombre, String valor) {
+        texto(json.append(','), nombre).append(':');
+        if (valor == null) {
+            json.append("null");
+        } else {
+            texto(json, valor);
+        }
+    }
+
+    /**
+     * Escribe un texto JSON entre comillas, escapando los caracteres que lo requieren.
+     */
+    public static StringBuilder texto(StringBuilder json, String valor) {
+        json.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+}
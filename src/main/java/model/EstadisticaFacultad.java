@@ -0,0 +1,108 @@
+/**
+ * Clase que representa los totales de postulantes de una facultad.
+ *
+ * Guarda el número de postulantes, el de admitidos y la suma de los
+ * puntajes; la tasa de admisión y el puntaje promedio se calculan a partir
+ * de ellos. Es inmutable: sumar() devuelve una instancia nueva.
+ */
+package model;
+
+import java.util.Objects;
+
+public final class EstadisticaFacultad {
+
+    private final String facultad;
+    private final long postulantes;
+    private final long admitidos;
+    private final long sumaPuntajes;
+
+    /**
+     * Constructor de la clase EstadisticaFacultad.
+     *
+     * @param facultad Nombre de la facultad
+     * @param postulantes Número de personas que aspiran a la facultad
+     * @param admitidos Número de personas admitidas
+     * @param sumaPuntajes Suma de los puntajes de los postulantes
+     */
+    public EstadisticaFacultad(String facultad, long postulantes, long admitidos, long sumaPuntajes) {
+        this.facultad = facultad;
+        this.postulantes = postulantes;
+        this.admitidos = admitidos;
+        this.sumaPuntajes = sumaPuntajes;
+    }
+
+    /**
+     * Suma los totales de otra estadística de la misma facultad. Los totales
+     * pueden ser negativos, para restar personas.
+     *
+     * @param otra Totales a sumar
+     * @return Estadística con los totales sumados
+     */
+    public EstadisticaFacultad sumar(EstadisticaFacultad otra) {
+        return new EstadisticaFacultad(facultad, postulantes + otra.postulantes,
+                admitidos + otra.admitidos, sumaPuntajes + otra.sumaPuntajes);
+    }
+
+    /**
+     * @return Nombre de la facultad
+     */
+    public String getFacultad() {
+        return facultad;
+    }
+
+    /**
+     * @return Número de personas que aspiran a la facultad
+     */
+    public long getPostulantes() {
+        return postulantes;
+    }
+
+    /**
+     * @return Número de personas admitidas
+     */
+    public long getAdmitidos() {
+        return admitidos;
+    }
+
+    /**
+     * @return Suma de los puntajes de los postulantes
+     */
+    public long getSumaPuntajes() {
+        return sumaPuntajes;
+    }
+
+    /**
+     * @return Fracción de postulantes admitidos, entre 0 y 1; 0 si no hay postulantes
+     */
+    public double getTasaAdmision() {
+        return postulantes == 0 ? 0 : (double) admitidos / postulantes;
+    }
+
+    /**
+     * @return Puntaje promedio de los postulantes; 0 si no hay postulantes
+     */
+    public double getPuntajePromedio() {
+        return postulantes == 0 ? 0 : (double) sumaPuntajes / postulantes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof EstadisticaFacultad)) {
+            return false;
+        }
+        EstadisticaFacultad otra = (EstadisticaFacultad) obj;
+        return postulantes == otra.postulantes && admitidos == otra.admitidos
+                && sumaPuntajes == otra.sumaPuntajes && Objects.equals(facultad, otra.facultad);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(facultad, postulantes, admitidos, sumaPuntajes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d postulantes, %d admitidos (%.1f%%), puntaje promedio %.1f",
+                facultad, postulantes, admitidos, getTasaAdmision() * 100, getPuntajePromedio());
+    }
+}
@@ -42,9 +42,25 @@ public class Persona {
         this.nombre = nombre;
         this.apellido = apellido;
         this.facultadAspirada = facultad;
+        this.puntaje = puntaje;
         this.admitido = admitido;
     }
     
+    /**
+     * Copia en esta persona todos los datos de otra, incluido el idPersona.
+     * 
+     * @param otra Persona de la que se copian los datos
+     */
+    public void copiarDe(Persona otra) {
+        this.idPersona = otra.idPersona;
+        this.dni = otra.dni;
+        this.nombre = otra.nombre;
+        this.apellido = otra.apellido;
+        this.facultadAspirada = otra.facultadAspirada;
+        this.puntaje = otra.puntaje;
+        this.admitido = otra.admitido;
+    }
+    
     /**
      * Establece el estado de admisión de la persona.
      * 
@@ -0,0 +1,181 @@
+/**
+ * Clase que representa una Persona con menos memoria, para conjuntos grandes
+ * que se mantienen en memoria (por ejemplo, la cohorte completa para un
+ * ranking).
+ *
+ * Frente a Persona:
+ *   - la facultad es un código de un byte (ver CodigosFacultad) en lugar de
+ *     una cadena por persona;
+ *   - el estado de admisión es un byte (SI, NO o nulo) en lugar de una cadena;
+ *   - un DNI de hasta 18 dígitos se guarda empaquetado en un long (ver
+ *     empaquetarDni); los demás se guardan como cadena.
+ *
+ * Con referencias comprimidas (heap menor a 32 GB), una Persona ocupa unos
+ * 250 bytes con sus cadenas y una PersonaCompacta unos 160, casi todos del
+ * nombre y el apellido (ver benchmark.PersonaCompactaBenchmark). Para
+ * guardar muchas personas sin un objeto por persona, ver PersonasCompactas.
+ */
+package model;
+
+public final class PersonaCompacta {
+
+    // Estado de admisión codificado
+    public static final byte ADMISION_NULA = 0;
+    public static final byte ADMISION_SI = 1;
+    public static final byte ADMISION_NO = 2;
+
+    // Valores de Persona.admitido
+    private static final String SI = "SI";
+    private static final String NO = "NO";
+
+    // DNI que no se pudo empaquetar
+    private static final long SIN_EMPAQUETAR = 0;
+
+    // Dígitos que entran en un long detrás del 1 inicial
+    private static final int MAXIMO_DIGITOS = 18;
+
+    private final int idPersona;
+    private final long dni;
+    private final String dniTexto;
+    private final String nombre;
+    private final String apellido;
+    private final int puntaje;
+    private final byte facultad;
+    private final byte admitido;
+
+    private PersonaCompacta(int idPersona, long dni, String dniTexto, String nombre, String apellido,
+            int puntaje, byte facultad, byte admitido) {
+        this.idPersona = idPersona;
+        this.dni = dni;
+        this.dniTexto = dniTexto;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.puntaje = puntaje;
+        this.facultad = facultad;
+        this.admitido = admitido;
+    }
+
+    /**
+     * Crea la representación compacta de una persona.
+     *
+     * @param persona Persona a convertir
+     * @return Persona compacta con los mismos datos
+     * @throws IllegalArgumentException si el estado de admisión no es "SI", "NO" ni null
+     */
+    public static PersonaCompacta desde(Persona persona) {
+        long dni = empaquetarDni(persona.getDni());
+        return new PersonaCompacta(persona.getIdPersona(), dni, dni == SIN_EMPAQUETAR ? persona.getDni() : null,
+                persona.getNombre(), persona.getApellido(), persona.getPuntaje(),
+                (byte) CodigosFacultad.codigo(persona.getFacultadAspirada()), codificarAdmision(persona.getAdmitido()));
+    }
+
+    /**
+     * Crea una Persona con los datos de esta. La facultad y el estado de
+     * admisión son las mismas instancias para todas las personas.
+     *
+     * @return Persona nueva
+     */
+    public Persona aPersona() {
+        return new Persona(idPersona, getDni(), nombre, apellido, getFacultadAspirada(), puntaje,
+                decodificarAdmision(admitido));
+    }
+
+    public int getIdPersona() {
+        return idPersona;
+    }
+
+    public String getDni() {
+        return dni == SIN_EMPAQUETAR ? dniTexto : desempaquetarDni(dni);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public int getPuntaje() {
+        return puntaje;
+    }
+
+    public String getFacultadAspirada() {
+        return CodigosFacultad.nombre(facultad & 0xFF);
+    }
+
+    /**
+     * @return Código de la facultad (ver CodigosFacultad)
+     */
+    public int getCodigoFacultad() {
+        return facultad & 0xFF;
+    }
+
+    /**
+     * @return true si el estado de admisión es "SI"
+     */
+    public boolean isAdmitido() {
+        return admitido == ADMISION_SI;
+    }
+
+    /**
+     * Empaqueta un DNI formado solo por dígitos en un long. Se antepone un 1
+     * a los dígitos para conservar los ceros a la izquierda, así que el
+     * valor empaquetado es siempre mayor que 0.
+     *
+     * @param dni DNI a empaquetar
+     * @return DNI empaquetado, o 0 si es null, vacío, tiene otros caracteres o más de 18 dígitos
+     */
+    public static long empaquetarDni(String dni) {
+        if (dni == null || dni.isEmpty() || dni.length() > MAXIMO_DIGITOS) {
+            return SIN_EMPAQUETAR;
+        }
+        long valor = 1;
+        for (int i = 0; i < dni.length(); i++) {
+            char c = dni.charAt(i);
+            if (c < '0' || c > '9') {
+                return SIN_EMPAQUETAR;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /**
+     * Recupera el DNI empaquetado con empaquetarDni.
+     *
+     * @param valor Valor empaquetado, mayor que 0
+     * @return DNI original
+     */
+    public static String desempaquetarDni(long valor) {
+        return Long.toString(valor).substring(1);
+    }
+
+    /**
+     * Codifica el estado de admisión de Persona en un byte.
+     *
+     * @param admitido "SI", "NO" o null
+     * @return ADMISION_SI, ADMISION_NO o ADMISION_NULA
+     * @throws IllegalArgumentException si es otro valor
+     */
+    public static byte codificarAdmision(String admitido) {
+        if (admitido == null) {
+            return ADMISION_NULA;
+        } else if (SI.equals(admitido)) {
+            return ADMISION_SI;
+        } else if (NO.equals(admitido)) {
+            return ADMISION_NO;
+        }
+        throw new IllegalArgumentException("Estado de admisión desconocido: " + admitido);
+    }
+
+    /**
+     * Recupera el estado de admisión codificado con codificarAdmision.
+     *
+     * @param codigo ADMISION_SI, ADMISION_NO o ADMISION_NULA
+     * @return "SI", "NO" o null
+     */
+    public static String decodificarAdmision(byte codigo) {
+        return codigo == ADMISION_SI ? SI : codigo == ADMISION_NO ? NO : null;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Clase que guarda muchas personas en arreglos paralelos de tipos
+ * primitivos, sin un objeto por persona.
+ *
+ * Cada posición de los arreglos es una persona:
+ *   - idPersona y puntaje en arreglos de int;
+ *   - el DNI empaquetado en un arreglo de long (ver
+ *     PersonaCompacta.empaquetarDni); los pocos DNI que no se pueden
+ *     empaquetar van en un mapa aparte;
+ *   - la facultad y el estado de admisión en arreglos de byte;
+ *   - nombre y apellido concatenados en un texto por columna, con la
+ *     posición donde termina cada valor (ver ColumnaTexto).
+ *
+ * Con nombres y apellidos de unos 10 caracteres, cada persona ocupa unos 56
+ * bytes, frente a unos 250 de una Persona y unos 160 de una PersonaCompacta
+ * (ver benchmark.PersonaCompactaBenchmark).
+ *
+ * Las personas se agregan al final y no se modifican. La clase no es segura
+ * para usarla desde varios hilos mientras se agregan personas.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PersonasCompactas {
+
+    private int personas;
+    private int[] ids;
+    private int[] puntajes;
+    private long[] dnis;
+    private byte[] facultades;
+    private byte[] admitidos;
+
+    // DNI que no se pudieron empaquetar, por posición
+    private final Map<Integer, String> dnisTexto = new HashMap<>();
+
+    private final ColumnaTexto nombres;
+    private final ColumnaTexto apellidos;
+
+    /**
+     * Constructor de la clase PersonasCompactas.
+     *
+     * @param capacidadInicial Número de personas previsto; los arreglos crecen si se supera
+     */
+    public PersonasCompactas(int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, 16);
+        ids = new int[capacidad];
+        puntajes = new int[capacidad];
+        dnis = new long[capacidad];
+        facultades = new byte[capacidad];
+        admitidos = new byte[capacidad];
+        nombres = new ColumnaTexto(capacidad, 10);
+        apellidos = new ColumnaTexto(capacidad, 10);
+    }
+
+    /**
+     * Agrega una persona al final.
+     *
+     * @param persona Persona a agregar
+     * @return Posición de la persona
+     * @throws IllegalArgumentException si el estado de admisión no es "SI", "NO" ni null
+     */
+    public int agregar(Persona persona) {
+        byte admitido = PersonaCompacta.codificarAdmision(persona.getAdmitido());
+        if (personas == ids.length) {
+            int capacidad = personas + (personas >> 1);
+            ids = Arrays.copyOf(ids, capacidad);
+            puntajes = Arrays.copyOf(puntajes, capacidad);
+            dnis = Arrays.copyOf(dnis, capacidad);
+            facultades = Arrays.copyOf(facultades, capacidad);
+            admitidos = Arrays.copyOf(admitidos, capacidad);
+        }
+        int i = personas;
+        ids[i] = persona.getIdPersona();
+        puntajes[i] = persona.getPuntaje();
+        dnis[i] = PersonaCompacta.empaquetarDni(persona.getDni());
+        if (dnis[i] == 0 && persona.getDni() != null) {
+            dnisTexto.put(i, persona.getDni());
+        }
+        facultades[i] = (byte) CodigosFacultad.codigo(persona.getFacultadAspirada());
+        admitidos[i] = admitido;
+        nombres.agregar(i, persona.getNombre());
+        apellidos.agregar(i, persona.getApellido());
+        personas++;
+        return i;
+    }
+
+    /**
+     * @return Número de personas guardadas
+     */
+    public int size() {
+        return personas;
+    }
+
+    /**
+     * Crea una Persona con los datos de una posición.
+     *
+     * @param i Posición de la persona
+     * @return Persona nueva
+     */
+    public Persona get(int i) {
+        return new Persona(getIdPersona(i), getDni(i), getNombre(i), getApellido(i), getFacultadAspirada(i),
+                getPuntaje(i), PersonaCompacta.decodificarAdmision(admitidos[validar(i)]));
+    }
+
+    public int getIdPersona(int i) {
+        return ids[validar(i)];
+    }
+
+    public int getPuntaje(int i) {
+        return puntajes[validar(i)];
+    }
+
+    public String getDni(int i) {
+        long dni = dnis[validar(i)];
+        return dni == 0 ? dnisTexto.get(i) : PersonaCompacta.desempaquetarDni(dni);
+    }
+
+    public String getNombre(int i) {
+        return nombres.get(validar(i));
+    }
+
+    public String getApellido(int i) {
+        return apellidos.get(validar(i));
+    }
+
+    public String getFacultadAspirada(int i) {
+        return CodigosFacultad.nombre(facultades[validar(i)] & 0xFF);
+    }
+
+    /**
+     * @return Código de la facultad de una posición (ver CodigosFacultad)
+     */
+    public int getCodigoFacultad(int i) {
+        return facultades[validar(i)] & 0xFF;
+    }
+
+    /**
+     * @return true si el estado de admisión de una posición es "SI"
+     */
+    public boolean isAdmitido(int i) {
+        return admitidos[validar(i)] == PersonaCompacta.ADMISION_SI;
+    }
+
+    private int validar(int i) {
+        if (i < 0 || i >= personas) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de 0.." + (personas - 1));
+        }
+        return i;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Clase que ejecuta el trabajo de base de datos de la interfaz gráfica fuera
+ * del hilo de eventos de Swing (EDT).
+ *
+ * Cada tarea se ejecuta en un hilo de fondo y su resultado se entrega de
+ * vuelta en el EDT, donde es seguro actualizar los componentes. Mientras una
+ * tarea está en curso, los componentes indicados quedan deshabilitados para
+ * evitar envíos duplicados. Las tareas se identifican con una clave: si se
+ * lanza una tarea con la misma clave que otra que todavía no terminó, la
+ * anterior se cancela y su resultado se descarta.
+ *
+ * Los métodos de esta clase deben llamarse desde el EDT.
+ */
+package presentation;
+
+import java.awt.Component;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+public class EjecutorAsincrono {
+
+    /**
+     * Trabajo que se ejecuta en el hilo de fondo.
+     *
+     * @param <T> Tipo del resultado
+     */
+    public interface Tarea<T> {
+        T ejecutar() throws Exception;
+    }
+
+    /**
+     * Tarea en curso para una clave.
+     */
+    private static final class EnCurso {
+        final long generacion;
+        final Component[] deshabilitados;
+        Future<?> futuro;
+
+        EnCurso(long generacion, Component[] deshabilitados) {
+            this.generacion = generacion;
+            this.deshabilitados = deshabilitados;
+        }
+    }
+
+    private final ExecutorService hilos;
+
+    // Tarea vigente por clave; solo se accede desde el EDT
+    private final Map<String, EnCurso> enCurso = new HashMap<>();
+
+    // Tareas que mantienen deshabilitado cada componente y su estado original
+    private final Map<Component, Integer> bloqueos = new HashMap<>();
+    private final Map<Component, Boolean> estadoOriginal = new HashMap<>();
+
+    private long generaciones;
+
+    /**
+     * Constructor de la clase EjecutorAsincrono.
+     *
+     * @param numeroHilos Número de hilos de fondo
+     */
+    public EjecutorAsincrono(int numeroHilos) {
+        AtomicInteger contador = new AtomicInteger();
+        hilos = Executors.newFixedThreadPool(numeroHilos, r -> {
+            Thread hilo = new Thread(r, "interfaz-bd-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Ejecuta una tarea en segundo plano.
+     *
+     * @param <T> Tipo del resultado
+     * @param clave Identifica la acción; una tarea nueva con la misma clave reemplaza a la anterior
+     * @param tarea Trabajo a ejecutar fuera del EDT
+     * @param alTerminar Recibe el resultado en el EDT
+     * @param alFallar Recibe el error en el EDT si la tarea lanza una excepción
+     * @param deshabilitar Componentes que se deshabilitan mientras la tarea está en curso
+     */
+    public <T> void ejecutar(String clave, Tarea<T> tarea, Consumer<T> alTerminar, Consumer<Exception> alFallar,
+            Component... deshabilitar) {
+        cancelar(clave);
+
+        EnCurso actual = new EnCurso(++generaciones, deshabilitar);
+        enCurso.put(clave, actual);
+        for (Component c : deshabilitar) {
+            if (bloqueos.merge(c, 1, Integer::sum) == 1) {
+                estadoOriginal.put(c, c.isEnabled());
+                c.setEnabled(false);
+            }
+        }
+
+        actual.futuro = hilos.submit(() -> {
+            try {
+                T resultado = tarea.ejecutar();
+                SwingUtilities.invokeLater(() -> {
+                    if (terminar(clave, actual)) {
+                        alTerminar.accept(resultado);
+                    }
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (terminar(clave, actual)) {
+                        alFallar.accept(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancela la tarea en curso con la clave indicada, si la hay, y descarta su resultado.
+     *
+     * @param clave Clave de la tarea
+     */
+    public void cancelar(String clave) {
+        EnCurso anterior = enCurso.remove(clave);
+        if (anterior != null) {
+            anterior.futuro.cancel(true);
+            habilitar(anterior);
+        }
+    }
+
+    /**
+     * Indica si hay una tarea en curso con la clave indicada.
+     *
+     * @param clave Clave de la tarea
+     * @return true si la tarea todavía no terminó
+     */
+    public boolean enCurso(String clave) {
+        return enCurso.containsKey(clave);
+    }
+
+    /**
+     * Marca una tarea como terminada si sigue siendo la vigente para su clave.
+     *
+     * @return true si el resultado debe entregarse, false si fue reemplazada o cancelada
+     */
+    private boolean terminar(String clave, EnCurso tarea) {
+        EnCurso vigente = enCurso.get(clave);
+        if (vigente == null || vigente.generacion != tarea.generacion) {
+            return false;
+        }
+        enCurso.remove(clave);
+        habilitar(tarea);
+        return true;
+    }
+
+    /**
+     * Libera los componentes de una tarea. Cada componente recupera su estado
+     * original cuando ya no lo bloquea ninguna tarea.
+     */
+    private void habilitar(EnCurso tarea) {
+        for (Component c : tarea.deshabilitados) {
+            if (bloqueos.merge(c, -1, Integer::sum) == 0) {
+                bloqueos.remove(c);
+                c.setEnabled(estadoOriginal.remove(c));
+            }
+        }
+    }
+}
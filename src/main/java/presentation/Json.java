@@ -0,0 +1,201 @@
+/**
+ * Clase con la conversión mínima a y desde JSON que necesita ServidorHttp,
+ * para no agregar una dependencia: escribe personas y objetos planos, y lee
+ * objetos planos cuyos valores son textos, números, booleanos o null.
+ */
+package presentation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.EscritorJson;
+import model.Persona;
+
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Escribe una persona como objeto JSON, con el mismo formato que la
+     * exportación de ExportadorPostulantes (ver EscritorJson).
+     */
+    static StringBuilder persona(StringBuilder json, Persona p) {
+        return EscritorJson.persona(json, p);
+    }
+
+    /**
+     * Escribe una lista de personas como arreglo JSON.
+     */
+    static StringBuilder personas(StringBuilder json, List<Persona> personas) {
+        json.append('[');
+        for (int i = 0; i < personas.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            persona(json, personas.get(i));
+        }
+        return json.append(']');
+    }
+
+    /**
+     * Escribe un par "nombre":"valor", o "nombre":null.
+     */
+    static StringBuilder campo(StringBuilder json, String nombre, String valor) {
+        texto(json, nombre).append(':');
+        return valor == null ? json.append("null") : texto(json, valor);
+    }
+
+    /**
+     * Escribe un texto entre comillas, escapando los caracteres que lo requieren.
+     */
+    static StringBuilder texto(StringBuilder json, String valor) {
+        return EscritorJson.texto(json, valor);
+    }
+
+    /**
+     * Lee un objeto JSON plano.
+     *
+     * @param json Texto del objeto
+     * @return Valores por nombre: String, Long, Double, Boolean o null
+     * @throws IllegalArgumentException si el texto no es un objeto plano válido
+     */
+    static Map<String, Object> leerObjeto(String json) {
+        Lector lector = new Lector(json);
+        Map<String, Object> valores = new LinkedHashMap<>();
+        lector.esperar('{');
+        if (!lector.consumir('}')) {
+            do {
+                String nombre = lector.leerTexto();
+                lector.esperar(':');
+                valores.put(nombre, lector.leerValor());
+            } while (lector.consumir(','));
+            lector.esperar('}');
+        }
+        lector.saltarEspacios();
+        if (lector.posicion < json.length()) {
+            throw lector.error("contenido después del objeto");
+        }
+        return valores;
+    }
+
+    /**
+     * Recorre el texto JSON carácter por carácter.
+     */
+    private static final class Lector {
+        private final String json;
+        private int posicion;
+
+        Lector(String json) {
+            this.json = json;
+        }
+
+        void saltarEspacios() {
+            while (posicion < json.length() && Character.isWhitespace(json.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        boolean consumir(char c) {
+            saltarEspacios();
+            if (posicion < json.length() && json.charAt(posicion) == c) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        void esperar(char c) {
+            if (!consumir(c)) {
+                throw error("se esperaba '" + c + "'");
+            }
+        }
+
+        Object leerValor() {
+            saltarEspacios();
+            if (posicion >= json.length()) {
+                throw error("falta un valor");
+            }
+            char c = json.charAt(posicion);
+            if (c == '"') {
+                return leerTexto();
+            }
+            if (json.startsWith("null", posicion)) {
+                posicion += 4;
+                return null;
+            }
+            if (json.startsWith("true", posicion)) {
+                posicion += 4;
+                return Boolean.TRUE;
+            }
+            if (json.startsWith("false", posicion)) {
+                posicion += 5;
+                return Boolean.FALSE;
+            }
+            int inicio = posicion;
+            while (posicion < json.length() && "+-0123456789.eE".indexOf(json.charAt(posicion)) >= 0) {
+                posicion++;
+            }
+            String numero = json.substring(inicio, posicion);
+            try {
+                return numero.matches("-?\\d+") ? (Object) Long.parseLong(numero) : (Object) Double.parseDouble(numero);
+            } catch (NumberFormatException e) {
+                throw error("valor no válido");
+            }
+        }
+
+        String leerTexto() {
+            esperar('"');
+            StringBuilder texto = new StringBuilder();
+            while (posicion < json.length()) {
+                char c = json.charAt(posicion++);
+                if (c == '"') {
+                    return texto.toString();
+                }
+                if (c != '\\') {
+                    texto.append(c);
+                    continue;
+                }
+                if (posicion >= json.length()) {
+                    break;
+                }
+                char escape = json.charAt(posicion++);
+                switch (escape) {
+                    case 'n':
+                        texto.append('\n');
+                        break;
+                    case 'r':
+                        texto.append('\r');
+                        break;
+                    case 't':
+                        texto.append('\t');
+                        break;
+                    case 'b':
+                        texto.append('\b');
+                        break;
+                    case 'f':
+                        texto.append('\f');
+                        break;
+                    case 'u':
+                        if (posicion + 4 > json.length()) {
+                            throw error("escape \\u incompleto");
+                        }
+                        try {
+                            texto.append((char) Integer.parseInt(json.substring(posicion, posicion + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("escape \\u no válido");
+                        }
+                        posicion += 4;
+                        break;
+                    default:
+                        texto.append(escape);
+                }
+            }
+            throw error("texto sin cerrar");
+        }
+
+        IllegalArgumentException error(String motivo) {
+            return new IllegalArgumentException("JSON no válido en la posición " + posicion + ": " + motivo);
+        }
+    }
+}
@@ -3,11 +3,14 @@
  * 
  * Esta clase extiende JFrame y proporciona una interfaz visual para realizar
  * operaciones CRUD (Create, Read, Update, Delete) sobre personas.
- * Incluye campos de entrada para los datos de la persona y botones para
- * guardar, editar, actualizar y eliminar registros.
+ * Incluye campos de entrada para los datos de la persona, botones para
+ * guardar, editar, actualizar y eliminar registros, y un campo para buscar
+ * personas por nombre mientras se escribe.
  */
 package presentation;
 
+import data.interfaces.ResultadoEscritura;
+import java.util.List;
 import model.Persona;
 import javax.swing.JOptionPane;
 import service.PersonaService;
@@ -16,10 +19,31 @@ import service.PersonaService;
 
 public class PersonaFrame extends javax.swing.JFrame {
 
+    // Personas por página y páginas que se conservan en memoria en la tabla
+    private static final int TAMANO_PAGINA = 200;
+    private static final int PAGINAS_EN_MEMORIA = 20;
+    
+    // Espera tras la última tecla antes de buscar por nombre (ms) y resultados que se muestran
+    private static final int ESPERA_BUSQUEDA_MS = 150;
+    private static final int RESULTADOS_BUSQUEDA = 20;
+
     // Servicios y objetos para la gestión de personas
     PersonaService personaService;
     Persona persona;
     
+    // Ejecuta las llamadas a la base de datos fuera del hilo de eventos
+    private final EjecutorAsincrono ejecutor = new EjecutorAsincrono(2);
+    
+    // Modelo de la tabla; recibe las altas, cambios y bajas sin recargar todo
+    private PersonaTableModel modelo;
+    
+    // Búsqueda por nombre: campo, lista de resultados y temporizador que agrupa las teclas
+    private final javax.swing.JTextField txtBuscar = new javax.swing.JTextField();
+    private final javax.swing.DefaultListModel<Persona> resultados = new javax.swing.DefaultListModel<>();
+    private final javax.swing.JList<Persona> listaResultados = new javax.swing.JList<>(resultados);
+    private final javax.swing.JPopupMenu popupResultados = new javax.swing.JPopupMenu();
+    private final javax.swing.Timer esperaBusqueda = new javax.swing.Timer(ESPERA_BUSQUEDA_MS, e -> buscarPorNombre());
+    
     /**
      * Constructor de la clase PersonaFrame.
      * Inicializa los componentes de la interfaz gráfica y configura
@@ -27,9 +51,16 @@ public class PersonaFrame extends javax.swing.JFrame {
      */
     public PersonaFrame() {
         initComponents();
+        agregarBusqueda();
         setLocationRelativeTo(null);
         txtIdPersona.setVisible(false);
         personaService = new PersonaService();
+        personaService.prepararBusqueda();
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                personaService.cerrar();
+            }
+        });
         mostrarRegistros();
         deshabilitarBoton();
         
@@ -37,12 +68,161 @@ public class PersonaFrame extends javax.swing.JFrame {
     }
     
     /**
-     * Muestra los registros de personas en la tabla.
+     * Muestra los registros de personas en la tabla. Las filas se cargan
+     * por páginas a medida que el usuario se desplaza.
      */
     private void mostrarRegistros()
     {
-        jTablePersona.setModel(personaService.mostrar());
+        ejecutor.ejecutar("registros", personaService::contar,
+                total -> {
+                    modelo = new PersonaTableModel(personaService, total, TAMANO_PAGINA, PAGINAS_EN_MEMORIA);
+                    jTablePersona.setModel(modelo);
+                },
+                this::mostrarFallo);
+        
+    }
+    
+    /**
+     * Agrega sobre el formulario el campo de búsqueda por nombre. Cada tecla
+     * reinicia la espera; al cumplirse se busca en segundo plano y los
+     * resultados se muestran debajo del campo. Elegir uno carga sus datos
+     * como el botón Editar.
+     */
+    private void agregarBusqueda()
+    {
+        esperaBusqueda.setRepeats(false);
+        txtBuscar.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                esperaBusqueda.restart();
+            }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                esperaBusqueda.restart();
+            }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+            }
+        });
+        txtBuscar.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyPressed(java.awt.event.KeyEvent e) {
+                if (e.getKeyCode() == java.awt.event.KeyEvent.VK_DOWN && !resultados.isEmpty()) {
+                    listaResultados.requestFocusInWindow();
+                    listaResultados.setSelectedIndex(0);
+                } else if (e.getKeyCode() == java.awt.event.KeyEvent.VK_ESCAPE) {
+                    popupResultados.setVisible(false);
+                }
+            }
+        });
+        
+        listaResultados.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        listaResultados.setCellRenderer(new javax.swing.DefaultListCellRenderer() {
+            public java.awt.Component getListCellRendererComponent(javax.swing.JList<?> lista, Object valor,
+                    int indice, boolean seleccionado, boolean foco) {
+                Persona p = (Persona) valor;
+                return super.getListCellRendererComponent(lista,
+                        p.getNombre() + " " + p.getApellido() + " (" + p.getDni() + ")", indice, seleccionado, foco);
+            }
+        });
+        listaResultados.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                elegirResultado();
+            }
+        });
+        listaResultados.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyPressed(java.awt.event.KeyEvent e) {
+                if (e.getKeyCode() == java.awt.event.KeyEvent.VK_ENTER) {
+                    elegirResultado();
+                } else if (e.getKeyCode() == java.awt.event.KeyEvent.VK_ESCAPE) {
+                    popupResultados.setVisible(false);
+                    txtBuscar.requestFocusInWindow();
+                }
+            }
+        });
+        popupResultados.setFocusable(false);
+        popupResultados.add(new javax.swing.JScrollPane(listaResultados));
+        
+        javax.swing.JPanel panelBusqueda = new javax.swing.JPanel(new java.awt.BorderLayout(8, 0));
+        panelBusqueda.setBorder(javax.swing.BorderFactory.createEmptyBorder(8, 12, 0, 12));
+        javax.swing.JLabel etiqueta = new javax.swing.JLabel("Buscar por nombre:");
+        etiqueta.setFont(new java.awt.Font("Segoe UI", 1, 14)); // NOI18N
+        panelBusqueda.add(etiqueta, java.awt.BorderLayout.WEST);
+        panelBusqueda.add(txtBuscar, java.awt.BorderLayout.CENTER);
         
+        // El formulario generado queda debajo del campo de búsqueda
+        javax.swing.JPanel raiz = new javax.swing.JPanel(new java.awt.BorderLayout());
+        raiz.add(panelBusqueda, java.awt.BorderLayout.NORTH);
+        raiz.add(getContentPane(), java.awt.BorderLayout.CENTER);
+        setContentPane(raiz);
+        pack();
+    }
+    
+    /**
+     * Busca por nombre el texto escrito. Una búsqueda nueva reemplaza a la
+     * anterior si todavía no terminó.
+     */
+    private void buscarPorNombre()
+    {
+        String texto = txtBuscar.getText();
+        if (texto.trim().isEmpty()) {
+            ejecutor.cancelar("buscarNombre");
+            popupResultados.setVisible(false);
+            return;
+        }
+        ejecutor.ejecutar("buscarNombre", () -> personaService.buscarPorNombre(texto, RESULTADOS_BUSQUEDA),
+                this::mostrarResultados, this::mostrarFallo);
+    }
+    
+    /**
+     * Muestra debajo del campo de búsqueda las personas encontradas.
+     * 
+     * @param encontradas Personas encontradas
+     */
+    private void mostrarResultados(List<Persona> encontradas)
+    {
+        resultados.clear();
+        for (Persona p : encontradas) {
+            resultados.addElement(p);
+        }
+        if (encontradas.isEmpty() || !txtBuscar.isShowing()) {
+            popupResultados.setVisible(false);
+            return;
+        }
+        listaResultados.setVisibleRowCount(Math.min(encontradas.size(), 10));
+        popupResultados.setPopupSize(txtBuscar.getWidth(), popupResultados.getPreferredSize().height);
+        popupResultados.show(txtBuscar, 0, txtBuscar.getHeight());
+        txtBuscar.requestFocusInWindow();
+    }
+    
+    /**
+     * Carga en el formulario la persona elegida en los resultados de la búsqueda.
+     */
+    private void elegirResultado()
+    {
+        Persona elegida = listaResultados.getSelectedValue();
+        if (elegida == null) {
+            return;
+        }
+        popupResultados.setVisible(false);
+        txtDni.setText(elegida.getDni());
+        btnEditarActionPerformed(null);
+    }
+    
+    /**
+     * Muestra al usuario el error de una tarea en segundo plano.
+     * 
+     * @param e Excepción lanzada por la tarea
+     */
+    private void mostrarFallo(Exception e)
+    {
+        mostrarMensajeError(e.getMessage() != null ? e.getMessage() : "Ocurrio un error: " + e);
+    }
+    
+    /**
+     * Botones que se deshabilitan mientras una operación está en curso.
+     * 
+     * @return Botones de acción del formulario
+     */
+    private java.awt.Component[] botones()
+    {
+        return new java.awt.Component[] {btnGuardar, btnEditar, btnActualizar, btnEliminar};
     }
     
     /**
@@ -316,64 +496,113 @@ public class PersonaFrame extends javax.swing.JFrame {
 
     private void btnGuardarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnGuardarActionPerformed
         
-        //persona.setAdmitido();
-        
-        String resp = personaService.insertar(txtDni.getText(),Integer.parseInt(txtPuntaje.getText()),txtNombre.getText(), txtApellido.getText(),txtFacultad.getText(),personaService.SelectorFacultad(txtFacultad.getText(),Integer.parseInt(txtPuntaje.getText())));
-          
-        if(resp.equalsIgnoreCase("ok"))
-        {
-         mostrarMensajeOK("Se registro correctamente");
-         
-         mostrarRegistros();
-         
-         limpiar();
-        }
-        else
-        {
-          mostrarMensajeError(resp);
+        int puntaje;
+        try {
+            puntaje = Integer.parseInt(txtPuntaje.getText().trim());
+        } catch (NumberFormatException e) {
+            mostrarMensajeError("Ingrese un puntaje numerico");
+            return;
         }
+        Persona guardada = new Persona(0, txtDni.getText(), txtNombre.getText(), txtApellido.getText(),
+                txtFacultad.getText(), puntaje, null);
+        
+        // Si el DNI ya está registrado se reemplazan sus datos, en la misma escritura
+        ejecutor.ejecutar("guardar",
+                () -> {
+                    guardada.setAdmitido(personaService.evaluarAdmision(guardada.getFacultadAspirada(), guardada.getPuntaje()));
+                    return personaService.guardar(guardada);
+                },
+                resultado -> {
+                    if (resultado == ResultadoEscritura.INSERTADO) {
+                        mostrarMensajeOK("Se registro correctamente");
+                        if (modelo != null) {
+                            modelo.agregar(guardada);
+                        }
+                    }else{
+                        mostrarMensajeOK("Se actualizo correctamente");
+                        if (modelo != null) {
+                            modelo.actualizar(guardada);
+                        }
+                    }
+                    
+                    limpiar();
+                    deshabilitarBoton();
+                },
+                this::mostrarFallo, botones());
     }//GEN-LAST:event_btnGuardarActionPerformed
 
     private void btnEliminarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnEliminarActionPerformed
           if (txtDni.getText().isEmpty()) {
             JOptionPane.showMessageDialog(this, "Ingrese un DNI para eliminar a una persona");
         }else{
-            if (personaService.buscar(txtDni.getText()) == null) {
-                JOptionPane.showMessageDialog(this, "No existe la persona con el dni: " + txtDni.getText());
-            }else{
-                String resp = personaService.eliminar(txtDni.getText());
-                if (resp.equalsIgnoreCase("ok")) {
-                    mostrarMensajeOK("Se elimino correctamente");
-                    mostrarRegistros();
-                    limpiar();
-                }else{
-                    mostrarMensajeError(resp);
-                }
-            }
+            String dni = txtDni.getText();
+            
+            ejecutor.ejecutar("eliminar", () -> personaService.eliminar(dni),
+                    eliminada -> {
+                        if (eliminada == null) {
+                            JOptionPane.showMessageDialog(this, "No existe la persona con el dni: " + dni);
+                        }else{
+                            mostrarMensajeOK("Se elimino correctamente");
+                            if (modelo != null) {
+                                modelo.eliminar(eliminada);
+                            }
+                            limpiar();
+                        }
+                    },
+                    this::mostrarFallo, botones());
         }
     }//GEN-LAST:event_btnEliminarActionPerformed
 
     private void btnActualizarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnActualizarActionPerformed
-        // TODO add your handling code here:
-       
+        int puntaje;
+        try {
+            puntaje = Integer.parseInt(txtPuntaje.getText().trim());
+        } catch (NumberFormatException e) {
+            mostrarMensajeError("Ingrese un puntaje numerico");
+            return;
+        }
+        Persona editada = new Persona(Integer.parseInt(txtIdPersona.getText()), txtDni.getText(), txtNombre.getText(),
+                txtApellido.getText(), txtFacultad.getText(), puntaje, null);
+        
+        ejecutor.ejecutar("actualizar",
+                () -> {
+                    editada.setAdmitido(personaService.evaluarAdmision(editada.getFacultadAspirada(), editada.getPuntaje()));
+                    return personaService.actualizar(editada);
+                },
+                actualizada -> {
+                    mostrarMensajeOK("Se actualizo correctamente");
+                    if (modelo != null) {
+                        modelo.actualizar(actualizada);
+                    }
+                    limpiar();
+                    deshabilitarBoton();
+                },
+                this::mostrarFallo, botones());
     }//GEN-LAST:event_btnActualizarActionPerformed
 
     private void btnEditarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnEditarActionPerformed
          if (txtDni.getText().isEmpty()) {
             JOptionPane.showMessageDialog(this, "Ingrese un dni valido");
         }else{
-            persona = personaService.buscar(txtDni.getText());
-            if (persona == null) {
-                JOptionPane.showMessageDialog(this, "No existe la persona con el dni " + txtDni.getText());
-            }else{
-                txtIdPersona.setText(String.valueOf(persona.getIdPersona()));
-                txtDni.setText(persona.getDni());
-                txtNombre.setText(persona.getNombre());
-                txtApellido.setText(persona.getApellido());
-                txtPuntaje.setText(String.valueOf(persona.getPuntaje()));
-                
-                habilitarBoton();
-            }
+            String dni = txtDni.getText();
+            
+            ejecutor.ejecutar("buscar", () -> personaService.buscar(dni),
+                    encontrada -> {
+                        persona = encontrada;
+                        if (persona == null) {
+                            JOptionPane.showMessageDialog(this, "No existe la persona con el dni " + dni);
+                        }else{
+                            txtIdPersona.setText(String.valueOf(persona.getIdPersona()));
+                            txtDni.setText(persona.getDni());
+                            txtNombre.setText(persona.getNombre());
+                            txtApellido.setText(persona.getApellido());
+                            txtFacultad.setText(persona.getFacultadAspirada());
+                            txtPuntaje.setText(String.valueOf(persona.getPuntaje()));
+                            
+                            habilitarBoton();
+                        }
+                    },
+                    this::mostrarFallo, btnEditar, btnEliminar);
         }
     }//GEN-LAST:event_btnEditarActionPerformed
 
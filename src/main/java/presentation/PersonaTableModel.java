@@ -0,0 +1,330 @@
+/**
+ * Clase que implementa un modelo de tabla que carga las personas por páginas
+ * a medida que se necesitan.
+ *
+ * Las páginas se obtienen con paginación por clave (idPersona mayor que el
+ * último id de la página anterior) en un hilo de fondo, cuando la tabla pide
+ * una fila que todavía no está cargada. Solo se conserva en memoria un número
+ * acotado de páginas: las usadas menos recientemente se descartan y se vuelven
+ * a pedir si el usuario regresa a ellas. Para saltar a una página lejana
+ * (por ejemplo, al arrastrar la barra de desplazamiento hasta el final) se
+ * piden de una vez los últimos id de todas las páginas, en lugar de recorrer
+ * las intermedias.
+ *
+ * Las altas, modificaciones y bajas hechas desde la aplicación se aplican
+ * directamente sobre las páginas cargadas, notificando a la tabla solo la
+ * fila afectada, sin volver a consultar toda la tabla.
+ *
+ * Todos los métodos deben llamarse desde el hilo de eventos de Swing.
+ */
+package presentation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import model.Persona;
+import service.PersonaService;
+
+public class PersonaTableModel extends AbstractTableModel {
+
+    // Páginas intermedias que se recorren antes de pedir los últimos id de todas
+    private static final int SALTO_MAXIMO = 2;
+
+    private static final String[] COLUMNAS = {"idPersona", "Dni", "Nombre", "Apellido", "Facultad", "Puntaje", "Admitido"};
+
+    // Hilo de fondo compartido para las consultas de páginas
+    private static final ExecutorService CARGADOR = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "carga-tabla-personas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final PersonaService personaService;
+    private final int tamanoPagina;
+
+    // Páginas cargadas, de la usada menos recientemente a la más reciente
+    private final LinkedHashMap<Integer, List<Persona>> paginas;
+
+    // Último idPersona de cada página conocida; se escribe desde el EDT y se lee desde el hilo de fondo
+    private final Map<Integer, Integer> anclas = new ConcurrentHashMap<>();
+
+    // Páginas pedidas que todavía no llegaron
+    private final Set<Integer> solicitadas = new HashSet<>();
+
+    private int filas;
+
+    // Cambia cada vez que una baja desplaza las filas; las páginas pedidas antes se descartan
+    private int generacion;
+
+    /**
+     * Constructor de la clase PersonaTableModel.
+     *
+     * @param personaService Servicio del que se obtienen las páginas
+     * @param filas Número total de personas (PersonaService.contar())
+     * @param tamanoPagina Número de personas por página
+     * @param paginasEnMemoria Número máximo de páginas que se conservan cargadas
+     */
+    public PersonaTableModel(PersonaService personaService, int filas, int tamanoPagina, int paginasEnMemoria) {
+        this.personaService = personaService;
+        this.filas = Math.max(filas, 0);
+        this.tamanoPagina = tamanoPagina;
+        this.paginas = new LinkedHashMap<Integer, List<Persona>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Persona>> mayor) {
+                return size() > paginasEnMemoria;
+            }
+        };
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 || columna == 5 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        int numeroPagina = fila / tamanoPagina;
+        List<Persona> pagina = paginas.get(numeroPagina);
+        if (pagina == null) {
+            solicitar(numeroPagina);
+            return null;
+        }
+        int indice = fila % tamanoPagina;
+        if (indice >= pagina.size()) {
+            return null;
+        }
+
+        Persona p = pagina.get(indice);
+        switch (columna) {
+            case 0: return p.getIdPersona();
+            case 1: return p.getDni();
+            case 2: return p.getNombre();
+            case 3: return p.getApellido();
+            case 4: return p.getFacultadAspirada();
+            case 5: return p.getPuntaje();
+            default: return p.getAdmitido();
+        }
+    }
+
+    /**
+     * Obtiene la persona de una fila si su página está cargada.
+     *
+     * @param fila Índice de la fila
+     * @return Persona de la fila, o null si su página no está en memoria
+     */
+    public Persona getPersona(int fila) {
+        List<Persona> pagina = paginas.get(fila / tamanoPagina);
+        int indice = fila % tamanoPagina;
+        return pagina == null || indice >= pagina.size() ? null : pagina.get(indice);
+    }
+
+    /**
+     * Agrega al final de la tabla una persona recién insertada. Como su
+     * idPersona es el mayor, ocupa la última fila.
+     *
+     * @param p Persona insertada, con su idPersona generado
+     */
+    public void agregar(Persona p) {
+        int fila = filas;
+        int numeroPagina = fila / tamanoPagina;
+        List<Persona> pagina = paginas.get(numeroPagina);
+        if (pagina != null) {
+            pagina.add(p);
+        }
+        // El último id de la página cambia si se conocía su inicio
+        boolean inicioConocido = fila % tamanoPagina != 0
+                ? anclas.containsKey(numeroPagina)
+                : numeroPagina == 0 || anclas.containsKey(numeroPagina - 1);
+        if (inicioConocido) {
+            anclas.put(numeroPagina, p.getIdPersona());
+        }
+        filas++;
+        fireTableRowsInserted(fila, fila);
+    }
+
+    /**
+     * Reemplaza los datos de una persona modificada, si su fila está cargada.
+     * Si no lo está, se verá actualizada cuando se cargue su página.
+     *
+     * @param p Persona modificada
+     */
+    public void actualizar(Persona p) {
+        int fila = buscarFila(p.getIdPersona());
+        if (fila >= 0) {
+            paginas.get(fila / tamanoPagina).set(fila % tamanoPagina, p);
+            fireTableRowsUpdated(fila, fila);
+        }
+    }
+
+    /**
+     * Quita de la tabla una persona eliminada. Las filas siguientes se
+     * desplazan, por lo que las páginas desde la suya se vuelven a cargar.
+     * Sin idPersona no se sabe qué fila era, y se vuelven a cargar todas.
+     *
+     * @param p Persona eliminada
+     */
+    public void eliminar(Persona p) {
+        if (p.getIdPersona() <= 0) {
+            generacion++;
+            paginas.clear();
+            anclas.clear();
+            solicitadas.clear();
+            filas = Math.max(0, filas - 1);
+            fireTableDataChanged();
+            return;
+        }
+        int fila = buscarFila(p.getIdPersona());
+        int numeroPagina;
+        if (fila >= 0) {
+            numeroPagina = fila / tamanoPagina;
+        } else {
+            // Página que le corresponde según los id conocidos, aunque no esté cargada
+            numeroPagina = 0;
+            while (anclas.containsKey(numeroPagina) && anclas.get(numeroPagina) < p.getIdPersona()) {
+                numeroPagina++;
+            }
+            fila = Math.min(numeroPagina * tamanoPagina, filas - 1);
+        }
+        if (fila < 0) {
+            return;
+        }
+
+        int desde = numeroPagina;
+        generacion++;
+        paginas.keySet().removeIf(q -> q >= desde);
+        anclas.keySet().removeIf(q -> q >= desde);
+        solicitadas.clear();
+        filas--;
+        fireTableRowsDeleted(fila, fila);
+    }
+
+    /**
+     * Busca la fila de una persona entre las páginas cargadas.
+     *
+     * @return Índice de la fila, o -1 si su página no está cargada
+     */
+    private int buscarFila(int idPersona) {
+        for (Map.Entry<Integer, List<Persona>> entrada : paginas.entrySet()) {
+            List<Persona> pagina = entrada.getValue();
+            for (int i = 0; i < pagina.size(); i++) {
+                if (pagina.get(i).getIdPersona() == idPersona) {
+                    return entrada.getKey() * tamanoPagina + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pide una página al hilo de fondo, si no fue pedida ya.
+     */
+    private void solicitar(int numeroPagina) {
+        if (solicitadas.add(numeroPagina)) {
+            int generacionPedida = generacion;
+            CARGADOR.execute(() -> cargar(numeroPagina, generacionPedida));
+        }
+    }
+
+    /**
+     * Carga una página en el hilo de fondo. Para conocer desde qué id empieza
+     * hay que conocer el último id de la página anterior. Si no se conoce,
+     * se recorren las páginas desde la más cercana cuyo inicio sí se conoce;
+     * si esta queda a más de SALTO_MAXIMO páginas, se piden antes los
+     * últimos id de todas las páginas con una sola consulta.
+     */
+    private void cargar(int numeroPagina, int generacionPedida) {
+        int desde = numeroPagina;
+        while (desde > 0 && !anclas.containsKey(desde - 1)) {
+            desde--;
+        }
+        Integer anterior = desde == 0 ? Integer.valueOf(0) : anclas.get(desde - 1);
+
+        if (numeroPagina - desde > SALTO_MAXIMO) {
+            int[] fines = personaService.listarFinesDePagina(tamanoPagina);
+            if (fines != null) {
+                SwingUtilities.invokeLater(() -> recibirAnclas(fines, generacionPedida));
+                desde = Math.min(numeroPagina, fines.length);
+                anterior = desde == 0 ? 0 : fines[desde - 1];
+            }
+        }
+        if (anterior == null) {
+            // Una baja invalidó el ancla mientras tanto; la página se pedirá de nuevo
+            SwingUtilities.invokeLater(() -> solicitadas.remove(numeroPagina));
+            return;
+        }
+        int despuesDeId = anterior;
+
+        for (int q = desde; q <= numeroPagina; q++) {
+            List<Persona> pagina = new ArrayList<>(personaService.listarPagina(despuesDeId, tamanoPagina));
+            if (!pagina.isEmpty()) {
+                despuesDeId = pagina.get(pagina.size() - 1).getIdPersona();
+            }
+            int cargada = q;
+            SwingUtilities.invokeLater(() -> recibir(cargada, pagina, generacionPedida));
+            if (pagina.size() < tamanoPagina && q < numeroPagina) {
+                // No hay más filas (o la consulta falló): la página podrá pedirse de nuevo
+                SwingUtilities.invokeLater(() -> solicitadas.remove(numeroPagina));
+                break;
+            }
+        }
+    }
+
+    /**
+     * Guarda los últimos id de todas las páginas, si no hubo una baja desde
+     * que se pidieron.
+     */
+    private void recibirAnclas(int[] fines, int generacionPedida) {
+        if (generacionPedida != generacion) {
+            return;
+        }
+        for (int q = 0; q < fines.length; q++) {
+            anclas.put(q, fines[q]);
+        }
+    }
+
+    /**
+     * Guarda una página recibida del hilo de fondo, si fue pedida y sigue
+     * vigente, y repinta sus filas.
+     */
+    private void recibir(int numeroPagina, List<Persona> pagina, int generacionPedida) {
+        if (generacionPedida != generacion) {
+            return;
+        }
+        if (!pagina.isEmpty()) {
+            anclas.put(numeroPagina, pagina.get(pagina.size() - 1).getIdPersona());
+        }
+        if (!solicitadas.remove(numeroPagina)) {
+            return;
+        }
+        paginas.put(numeroPagina, pagina);
+
+        int primera = numeroPagina * tamanoPagina;
+        int ultima = Math.min(primera + tamanoPagina, filas) - 1;
+        if (primera <= ultima) {
+            fireTableRowsUpdated(primera, ultima);
+        }
+    }
+}
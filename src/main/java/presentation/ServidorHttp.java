@@ -0,0 +1,410 @@
+/**
+ * Clase que expone las operaciones de PersonaService por HTTP con JSON, sin
+ * interfaz gráfica, usando el servidor HTTP incluido en el JDK.
+ *
+ * Rutas:
+ *   POST   /personas                      registra una persona (409 si el DNI ya existe)
+ *   GET    /personas?despuesDe=0&tamano=100 página de personas por idPersona
+ *   GET    /personas/{dni}                busca por DNI
+ *   PUT    /personas/{dni}                registra o reemplaza la persona del DNI
+ *   DELETE /personas/{dni}                elimina por DNI
+ *   GET    /admision?facultad=X&puntaje=N evalúa la admisión sin registrar
+ *
+ * El cuerpo de POST y PUT es un objeto con dni (solo en POST), nombre,
+ * apellido, facultad y puntaje; el estado de admisión se calcula con las
+ * reglas vigentes, como en PersonaFrame.
+ *
+ * Cada petición se atiende en un hilo virtual si el entorno de ejecución
+ * los tiene (Java 21 o posterior). Si no, en un grupo de http.hilos hilos
+ * con una cola de http.cola peticiones; con la cola llena, el hilo que
+ * acepta conexiones atiende la petición él mismo y deja de aceptar otras
+ * mientras tanto. En ambos casos las consultas quedan limitadas por el pool
+ * de conexiones. Cada ruta se mide en las métricas "http.*".
+ */
+package presentation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import data.DatabaseConfig;
+import data.DatabaseConnection;
+import data.interfaces.ResultadoEscritura;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import metricas.Metricas;
+import metricas.Operacion;
+import model.Persona;
+import service.PersonaService;
+
+public class ServidorHttp {
+
+    // Tamaño máximo de una página de /personas
+    private static final int TAMANO_PAGINA_MAXIMO = 1000;
+
+    // Tamaño máximo del cuerpo de una petición
+    private static final int CUERPO_MAXIMO = 64 * 1024;
+
+    // El servidor escribe los encabezados y el cuerpo de la respuesta por
+    // separado; con el algoritmo de Nagle el cuerpo espera la confirmación
+    // retardada del cliente y cada petición en una conexión reutilizada
+    // tarda unos 40 ms. Se lee al crear el primer servidor.
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Error que se responde al cliente con un código de estado.
+     */
+    private static final class ErrorHttp extends RuntimeException {
+        final int estado;
+
+        ErrorHttp(int estado, String mensaje) {
+            super(mensaje);
+            this.estado = estado;
+        }
+    }
+
+    /**
+     * Respuesta de una ruta: código de estado y cuerpo JSON.
+     */
+    private static final class Respuesta {
+        final int estado;
+        final CharSequence json;
+
+        Respuesta(int estado, CharSequence json) {
+            this.estado = estado;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Atiende una ruta.
+     */
+    private interface Ruta {
+        Respuesta atender(HttpExchange intercambio) throws IOException;
+    }
+
+    private final PersonaService personaService;
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+    private final boolean virtuales;
+
+    /**
+     * Constructor de la clase ServidorHttp. El servidor no atiende peticiones
+     * hasta que se llama a iniciar().
+     *
+     * @param personaService Servicio que atiende las operaciones
+     * @param puerto Puerto en el que escucha; 0 para uno libre
+     * @param numeroHilos Hilos del grupo si no hay hilos virtuales
+     * @param capacidadCola Peticiones en espera del grupo si no hay hilos virtuales
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorHttp(PersonaService personaService, int puerto, int numeroHilos, int capacidadCola) throws IOException {
+        this.personaService = personaService;
+        ExecutorService virtual = DatabaseConfig.get("http.virtuales", "true").equals("true") ? hilosVirtuales() : null;
+        this.virtuales = virtual != null;
+        this.hilos = virtual != null ? virtual : grupoAcotado(numeroHilos, capacidadCola);
+
+        servidor = HttpServer.create(new InetSocketAddress(puerto), 0);
+        servidor.setExecutor(hilos);
+        servidor.createContext("/personas", manejador("personas", this::personas));
+        servidor.createContext("/admision", manejador("admision", this::admision));
+    }
+
+    /**
+     * Crea un ejecutor con un hilo virtual por tarea, si el entorno los tiene.
+     * Se busca por reflexión porque el proyecto compila para Java 11.
+     *
+     * @return Ejecutor de hilos virtuales, o null si no están disponibles
+     */
+    private static ExecutorService hilosVirtuales() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService grupoAcotado(int numeroHilos, int capacidadCola) {
+        AtomicInteger contador = new AtomicInteger();
+        int n = Math.max(1, numeroHilos);
+        return new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, capacidadCola)),
+                r -> {
+                    Thread hilo = new Thread(r, "http-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Empieza a atender peticiones.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de aceptar peticiones, espera hasta el plazo indicado a que
+     * terminen las que están en curso y detiene los hilos.
+     *
+     * @param esperaSegundos Plazo para las peticiones en curso
+     */
+    public void detener(int esperaSegundos) {
+        servidor.stop(esperaSegundos);
+        hilos.shutdown();
+    }
+
+    /**
+     * @return Puerto en el que escucha el servidor
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * @return true si las peticiones se atienden en hilos virtuales
+     */
+    public boolean isVirtuales() {
+        return virtuales;
+    }
+
+    /**
+     * Envuelve una ruta: mide la petición, convierte las excepciones en
+     * respuestas de error y escribe la respuesta.
+     */
+    private static HttpHandler manejador(String nombre, Ruta ruta) {
+        Operacion operacion = Metricas.operacion("http." + nombre);
+        return intercambio -> {
+            long inicio = System.nanoTime();
+            Respuesta respuesta;
+            try {
+                respuesta = ruta.atender(intercambio);
+            } catch (ErrorHttp e) {
+                respuesta = error(e.estado, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                respuesta = error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                respuesta = error(500, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+            try {
+                responder(intercambio, respuesta);
+            } finally {
+                operacion.registrar(inicio, respuesta.estado >= 500);
+            }
+        };
+    }
+
+    /**
+     * Rutas de /personas.
+     */
+    private Respuesta personas(HttpExchange intercambio) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath();
+        String metodo = intercambio.getRequestMethod();
+        String dni = ruta.length() > "/personas/".length() ? ruta.substring("/personas/".length()) : null;
+        if (dni != null && dni.contains("/")) {
+            throw new ErrorHttp(404, "Ruta desconocida: " + ruta);
+        }
+
+        if (dni == null) {
+            switch (metodo) {
+                case "GET":
+                    return listar(parametros(intercambio));
+                case "POST":
+                    return registrar(leerCuerpo(intercambio));
+                default:
+                    throw new ErrorHttp(405, "Método no permitido: " + metodo);
+            }
+        }
+        switch (metodo) {
+            case "GET":
+                Persona encontrada = personaService.buscar(dni);
+                if (encontrada == null) {
+                    throw new ErrorHttp(404, "No existe la persona con el dni " + dni);
+                }
+                return new Respuesta(200, Json.persona(new StringBuilder(), encontrada));
+            case "PUT":
+                return guardar(dni, leerCuerpo(intercambio));
+            case "DELETE":
+                // Con MySQL la baja no lee la fila, así que se responde solo con el DNI
+                if (personaService.eliminar(dni) == null) {
+                    throw new ErrorHttp(404, "No existe la persona con el dni " + dni);
+                }
+                StringBuilder json = new StringBuilder("{");
+                return new Respuesta(200, Json.campo(json, "dni", dni).append('}'));
+            default:
+                throw new ErrorHttp(405, "Método no permitido: " + metodo);
+        }
+    }
+
+    private Respuesta listar(Map<String, String> parametros) {
+        int despuesDe = entero(parametros, "despuesDe", 0);
+        int tamano = Math.min(entero(parametros, "tamano", 100), TAMANO_PAGINA_MAXIMO);
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        List<Persona> pagina = personaService.listarPagina(despuesDe, tamano);
+        StringBuilder json = new StringBuilder(pagina.size() * 128 + 64).append("{\"personas\":");
+        Json.personas(json, pagina).append(",\"siguiente\":");
+        // Sin más páginas no hay siguiente
+        if (pagina.size() == tamano) {
+            json.append(pagina.get(pagina.size() - 1).getIdPersona());
+        } else {
+            json.append("null");
+        }
+        return new Respuesta(200, json.append('}'));
+    }
+
+    private Respuesta registrar(Map<String, Object> cuerpo) {
+        Persona persona = persona(texto(cuerpo, "dni"), cuerpo);
+        if (personaService.insertarSiNoExiste(persona) == ResultadoEscritura.DUPLICADO) {
+            throw new ErrorHttp(409, "Ya existe una persona con el dni " + persona.getDni());
+        }
+        return new Respuesta(201, Json.persona(new StringBuilder(), persona));
+    }
+
+    private Respuesta guardar(String dni, Map<String, Object> cuerpo) {
+        Persona persona = persona(dni, cuerpo);
+        ResultadoEscritura resultado = personaService.guardar(persona);
+        return new Respuesta(resultado == ResultadoEscritura.INSERTADO ? 201 : 200,
+                Json.persona(new StringBuilder(), persona));
+    }
+
+    /**
+     * Ruta /admision.
+     */
+    private Respuesta admision(HttpExchange intercambio) {
+        if (!intercambio.getRequestMethod().equals("GET")) {
+            throw new ErrorHttp(405, "Método no permitido: " + intercambio.getRequestMethod());
+        }
+        Map<String, String> parametros = parametros(intercambio);
+        String facultad = parametros.get("facultad");
+        if (facultad == null) {
+            throw new IllegalArgumentException("Falta el parámetro facultad");
+        }
+        int puntaje = entero(parametros, "puntaje", -1);
+        if (puntaje < 0) {
+            throw new IllegalArgumentException("Falta el parámetro puntaje o es negativo");
+        }
+        StringBuilder json = new StringBuilder("{");
+        Json.campo(json, "facultad", facultad).append(",\"puntaje\":").append(puntaje).append(',');
+        Json.campo(json, "admitido", personaService.evaluarAdmision(facultad, puntaje));
+        return new Respuesta(200, json.append('}'));
+    }
+
+    /**
+     * Crea una persona con los datos del cuerpo y calcula su admisión.
+     */
+    private Persona persona(String dni, Map<String, Object> cuerpo) {
+        if (dni == null || dni.trim().isEmpty()) {
+            throw new IllegalArgumentException("Falta el dni");
+        }
+        Object puntaje = cuerpo.get("puntaje");
+        if (!(puntaje instanceof Long) || (Long) puntaje < 0 || (Long) puntaje > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El puntaje debe ser un entero no negativo");
+        }
+        Persona persona = new Persona(0, dni.trim(), texto(cuerpo, "nombre"), texto(cuerpo, "apellido"),
+                texto(cuerpo, "facultad"), ((Long) puntaje).intValue(), null);
+        persona.setAdmitido(personaService.evaluarAdmision(persona.getFacultadAspirada(), persona.getPuntaje()));
+        return persona;
+    }
+
+    private static String texto(Map<String, Object> cuerpo, String nombre) {
+        Object valor = cuerpo.get(nombre);
+        if (!(valor instanceof String) || ((String) valor).trim().isEmpty()) {
+            throw new IllegalArgumentException("Falta el campo " + nombre);
+        }
+        return ((String) valor).trim();
+    }
+
+    private static int entero(Map<String, String> parametros, String nombre, int defecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return defecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe ser un entero");
+        }
+    }
+
+    private static Map<String, String> parametros(HttpExchange intercambio) {
+        String consulta = intercambio.getRequestURI().getRawQuery();
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private static Map<String, Object> leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream in = intercambio.getRequestBody()) {
+            byte[] bytes = in.readNBytes(CUERPO_MAXIMO + 1);
+            if (bytes.length > CUERPO_MAXIMO) {
+                throw new ErrorHttp(413, "El cuerpo supera los " + CUERPO_MAXIMO + " bytes");
+            }
+            return Json.leerObjeto(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Respuesta error(int estado, String mensaje) {
+        StringBuilder json = new StringBuilder("{");
+        return new Respuesta(estado, Json.campo(json, "error", mensaje).append('}'));
+    }
+
+    private static void responder(HttpExchange intercambio, Respuesta respuesta) throws IOException {
+        byte[] bytes = respuesta.json.toString().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(respuesta.estado, bytes.length);
+        try (OutputStream out = intercambio.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Inicia el servidor desde la línea de comandos.
+     *
+     * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar presentation.ServidorHttp [puerto]
+     *
+     * @param args Puerto; por defecto http.puerto
+     */
+    public static void main(String[] args) throws IOException {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : DatabaseConfig.getInt("http.puerto", 8080);
+        PersonaService personaService = new PersonaService();
+        ServidorHttp servidor = new ServidorHttp(personaService, puerto,
+                DatabaseConfig.getInt("http.hilos", 64), DatabaseConfig.getInt("http.cola", 1024));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.detener(5);
+            personaService.cerrar();
+            DatabaseConnection.cerrarPool();
+        }, "cierre-servidor-http"));
+
+        servidor.iniciar();
+        System.out.println("Servidor HTTP en el puerto " + servidor.getPuerto()
+                + (servidor.isVirtuales() ? " (hilos virtuales)" : " (grupo de " + DatabaseConfig.getInt("http.hilos", 64) + " hilos)"));
+    }
+}
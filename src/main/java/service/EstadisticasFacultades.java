@@ -0,0 +1,300 @@
+/**
+ * Clase que mantiene los totales de postulantes, admitidos y puntajes de
+ * cada facultad sin consultar la base de datos en cada lectura.
+ *
+ * PersonaService informa cada alta, modificación y baja que hace, y los
+ * totales se actualizan sumando la diferencia. Las lecturas solo consultan
+ * un mapa, por lo que su costo no depende del número de personas.
+ *
+ * Los cambios hechos fuera del servicio (otra instancia de la aplicación,
+ * la reevaluación de la admisión o la base de datos directamente) no se
+ * ven hasta la siguiente reconciliación, que vuelve a calcular los totales
+ * con una consulta agrupada. Los cambios registrados mientras la consulta
+ * está en curso se suman al resultado; uno confirmado en la base de datos
+ * justo antes de la consulta pero registrado después puede contarse dos
+ * veces hasta la reconciliación siguiente.
+ *
+ * Si el servicio no conoce los datos anteriores de una modificación o una
+ * baja (no estaban en la caché), no consulta la fila antes de escribirla:
+ * el cambio se marca y los totales se corrigen en la siguiente
+ * reconciliación periódica, compartida por todos los cambios marcados
+ * mientras tanto. Así una carga constante de escrituras sin caché no
+ * dispara una consulta agrupada por cada una.
+ */
+package service;
+
+import data.interfaces.PersonaInterface;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import model.EstadisticaFacultad;
+import model.Persona;
+
+public class EstadisticasFacultades {
+
+    private final PersonaInterface datos;
+
+    // Totales vigentes; se modifican con el candado del objeto y se leen sin candado
+    private volatile Map<String, EstadisticaFacultad> totales = new ConcurrentHashMap<>();
+
+    // Cambios registrados durante una reconciliación, o null si no hay una en curso
+    private Map<String, EstadisticaFacultad> pendientes;
+
+    // Evita dos reconciliaciones a la vez
+    private final Object reconciliacion = new Object();
+
+    // Hubo cambios sin datos anteriores desde la última reconciliación; se usa con el candado del objeto
+    private boolean desconocidos;
+
+    private volatile long ultimaReconciliacion;
+    private volatile int correcciones;
+
+    private final long reconciliacionMs;
+
+    // Hilo de las reconciliaciones, o null si todavía no se usaron los totales; se usa con el candado de hilos
+    private ScheduledExecutorService hilo;
+    private boolean cerrado;
+    private final Object hilos = new Object();
+
+    /**
+     * Constructor de la clase EstadisticasFacultades. Los totales no se
+     * calculan hasta que se llama a iniciar() o se leen por primera vez;
+     * entonces se calculan en segundo plano y hasta que terminan están
+     * vacíos. Así las herramientas que no los leen no hacen la consulta.
+     *
+     * @param datos Fuente de datos para las reconciliaciones
+     * @param reconciliacionMs Intervalo entre reconciliaciones; 0 o menos para reconciliar solo al inicio
+     */
+    public EstadisticasFacultades(PersonaInterface datos, long reconciliacionMs) {
+        this.datos = datos;
+        this.reconciliacionMs = reconciliacionMs;
+    }
+
+    /**
+     * Empieza a calcular los totales en segundo plano y, si se configuró un
+     * intervalo, a reconciliarlos periódicamente. No hace nada si ya se
+     * inició o se cerró.
+     */
+    public void iniciar() {
+        synchronized (hilos) {
+            if (hilo != null || cerrado) {
+                return;
+            }
+            hilo = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "reconciliacion-estadisticas");
+                t.setDaemon(true);
+                return t;
+            });
+            if (reconciliacionMs > 0) {
+                hilo.scheduleWithFixedDelay(this::reconciliarEnSegundoPlano, 0, reconciliacionMs, TimeUnit.MILLISECONDS);
+            } else {
+                hilo.execute(this::reconciliarEnSegundoPlano);
+            }
+        }
+    }
+
+    /**
+     * Pide una reconciliación en segundo plano si los totales ya se están
+     * usando. Si todavía no se iniciaron no hace nada: se calcularán al
+     * iniciarlos.
+     */
+    void reconciliarPronto() {
+        synchronized (hilos) {
+            if (hilo != null && !cerrado) {
+                hilo.execute(this::reconciliarEnSegundoPlano);
+            }
+        }
+    }
+
+    /**
+     * Obtiene los totales de una facultad.
+     *
+     * @param facultad Nombre de la facultad
+     * @return Totales de la facultad; todos en 0 si no tiene postulantes
+     */
+    public EstadisticaFacultad getEstadistica(String facultad) {
+        iniciar();
+        EstadisticaFacultad estadistica = facultad == null ? null : totales.get(facultad);
+        return estadistica != null ? estadistica : new EstadisticaFacultad(facultad, 0, 0, 0);
+    }
+
+    /**
+     * @return Totales de cada facultad con postulantes, en orden alfabético
+     */
+    public List<EstadisticaFacultad> getEstadisticas() {
+        iniciar();
+        return Collections.unmodifiableList(new ArrayList<>(new TreeMap<>(totales).values()));
+    }
+
+    /**
+     * @return Instante de la última reconciliación exitosa (System.currentTimeMillis()), o 0 si no hubo ninguna
+     */
+    public long getUltimaReconciliacion() {
+        return ultimaReconciliacion;
+    }
+
+    /**
+     * @return Número de reconciliaciones que encontraron totales distintos de los mantenidos
+     */
+    public int getCorrecciones() {
+        return correcciones;
+    }
+
+    /**
+     * Registra una persona nueva.
+     */
+    void registrarAlta(Persona persona) {
+        aplicar(persona, 1);
+    }
+
+    /**
+     * Registra una persona eliminada.
+     */
+    void registrarBaja(Persona persona) {
+        aplicar(persona, -1);
+    }
+
+    /**
+     * Registra una persona modificada.
+     *
+     * @param anterior Datos de la persona antes del cambio
+     * @param nueva Datos de la persona después del cambio
+     */
+    void registrarCambio(Persona anterior, Persona nueva) {
+        synchronized (this) {
+            aplicar(anterior, -1);
+            aplicar(nueva, 1);
+        }
+    }
+
+    /**
+     * Registra una modificación o una baja cuyos datos anteriores no se
+     * conocen. Los totales se corrigen en la siguiente reconciliación
+     * periódica; con reconciliacionMs 0 o menos, en la siguiente llamada a
+     * reconciliar().
+     */
+    synchronized void registrarDesconocido() {
+        desconocidos = true;
+    }
+
+    /**
+     * @return true si hubo modificaciones o bajas sin datos anteriores desde la última reconciliación
+     */
+    public synchronized boolean hayDesconocidos() {
+        return desconocidos;
+    }
+
+    /**
+     * Suma o resta una persona de los totales de su facultad.
+     */
+    private synchronized void aplicar(Persona persona, int signo) {
+        String facultad = persona.getFacultadAspirada();
+        if (facultad == null) {
+            return;
+        }
+        EstadisticaFacultad diferencia = new EstadisticaFacultad(facultad, signo,
+                ReglasAdmision.SI.equals(persona.getAdmitido()) ? signo : 0, (long) signo * persona.getPuntaje());
+        sumar(totales, diferencia);
+        if (pendientes != null) {
+            sumar(pendientes, diferencia);
+        }
+    }
+
+    /**
+     * Suma una diferencia a los totales de un mapa y quita las facultades
+     * cuyos totales quedan en 0.
+     */
+    private static void sumar(Map<String, EstadisticaFacultad> mapa, EstadisticaFacultad diferencia) {
+        mapa.merge(diferencia.getFacultad(), diferencia, (actual, d) -> {
+            EstadisticaFacultad suma = actual.sumar(d);
+            boolean vacia = suma.getPostulantes() == 0 && suma.getAdmitidos() == 0 && suma.getSumaPuntajes() == 0;
+            return vacia ? null : suma;
+        });
+    }
+
+    /**
+     * Vuelve a calcular los totales con la fuente de datos, sumando los
+     * cambios registrados mientras tanto.
+     *
+     * @return true si se reconcilió, false si la consulta falló y se conservan los totales anteriores
+     */
+    public boolean reconciliar() {
+        synchronized (reconciliacion) {
+            boolean esperada;
+            synchronized (this) {
+                pendientes = new HashMap<>();
+                esperada = desconocidos;
+                desconocidos = false;
+            }
+            List<EstadisticaFacultad> consultadas = null;
+            try {
+                consultadas = datos.contarPorFacultad();
+            } finally {
+                synchronized (this) {
+                    Map<String, EstadisticaFacultad> cambios = pendientes;
+                    pendientes = null;
+                    if (consultadas != null) {
+                        reemplazar(consultadas, cambios, esperada);
+                    } else if (esperada) {
+                        desconocidos = true;
+                    }
+                }
+            }
+            return consultadas != null;
+        }
+    }
+
+    /**
+     * Reemplaza los totales por los consultados más los cambios registrados
+     * durante la consulta. Debe llamarse con el candado del objeto.
+     *
+     * @param esperada true si había cambios sin datos anteriores, y una diferencia no es una corrección
+     */
+    private void reemplazar(List<EstadisticaFacultad> consultadas, Map<String, EstadisticaFacultad> cambios,
+            boolean esperada) {
+        Map<String, EstadisticaFacultad> nuevos = new ConcurrentHashMap<>();
+        for (EstadisticaFacultad estadistica : consultadas) {
+            if (estadistica.getFacultad() != null && estadistica.getPostulantes() > 0) {
+                nuevos.put(estadistica.getFacultad(), estadistica);
+            }
+        }
+        for (EstadisticaFacultad cambio : cambios.values()) {
+            sumar(nuevos, cambio);
+        }
+        if (ultimaReconciliacion != 0 && !esperada && !nuevos.equals(totales)) {
+            correcciones++;
+            System.out.println("Estadísticas por facultad corregidas en la reconciliación: " + new TreeMap<>(nuevos).values());
+        }
+        totales = nuevos;
+        ultimaReconciliacion = System.currentTimeMillis();
+    }
+
+    private void reconciliarEnSegundoPlano() {
+        try {
+            if (!reconciliar()) {
+                System.out.println("No se pudieron reconciliar las estadísticas por facultad");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Error al reconciliar las estadísticas por facultad: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene las reconciliaciones periódicas.
+     */
+    public void cerrar() {
+        synchronized (hilos) {
+            cerrado = true;
+            if (hilo != null) {
+                hilo.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/**
+ * Clase que exporta la tabla de postulantes a un archivo CSV o JSON sin
+ * interfaz gráfica.
+ *
+ * Las filas se leen del almacenamiento del servicio a medida que llegan y
+ * cada una se escribe apenas se lee, así que el consumo de memoria no
+ * depende del tamaño de la tabla. En MySQL el filtro por facultad y
+ * admisión se aplica en la consulta (ver PersonaDAO.recorrer); con los
+ * demás almacenamientos se recorre PersonaService.recorrer y se filtra al
+ * leer. La salida se arma en un búfer de bytes fijo que se vuelca al canal
+ * del archivo cuando se llena, opcionalmente comprimida con gzip.
+ *
+ * CSV: dni,nombre,apellido,facultad,puntaje,admitido, con encabezado y los
+ * campos con comas o comillas entre comillas dobles.
+ * JSON: un arreglo con un objeto por persona.
+ */
+package service;
+
+import data.DatabaseConnection;
+import data.PersonaDAO;
+import data.interfaces.PersonaInterface;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import model.EscritorJson;
+import model.Persona;
+
+public class ExportadorPostulantes {
+
+    // Tamaño del búfer de salida y del búfer de gzip
+    private static final int TAMANO_BUFER = 64 * 1024;
+
+    // Intervalo mínimo entre dos avisos de progreso
+    private static final long AVISO_CADA_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * Formato del archivo exportado.
+     */
+    public enum Formato {
+        CSV, JSON
+    }
+
+    /**
+     * Resumen de una exportación, en curso o terminada.
+     */
+    public static final class Resumen {
+        private long filas;
+        private long bytes;
+        private long bytesArchivo;
+        private long nanos;
+
+        public long getFilas() {
+            return filas;
+        }
+
+        /**
+         * @return Bytes generados, antes de comprimir
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return Bytes escritos en el archivo; se conocen al terminar
+         */
+        public long getBytesArchivo() {
+            return bytesArchivo;
+        }
+
+        /**
+         * @return Filas exportadas por segundo
+         */
+        public double getFilasPorSegundo() {
+            return nanos == 0 ? 0 : filas / (nanos / 1e9);
+        }
+
+        /**
+         * @return Bytes generados por segundo, antes de comprimir
+         */
+        public double getBytesPorSegundo() {
+            return nanos == 0 ? 0 : bytes / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Filas exportadas: %,d | %,d bytes (%,d en el archivo) | %.1f s | %,.0f filas/s | %,.1f MB/s",
+                    filas, bytes, bytesArchivo, nanos / 1e9, getFilasPorSegundo(), getBytesPorSegundo() / 1e6);
+        }
+    }
+
+    private final PersonaService personaService;
+
+    /**
+     * Constructor de la clase ExportadorPostulantes.
+     *
+     * @param personaService Servicio del que se toman las personas y las facultades válidas
+     */
+    public ExportadorPostulantes(PersonaService personaService) {
+        this.personaService = personaService;
+    }
+
+    /**
+     * Exporta las personas de la tabla a un archivo, reemplazándolo si existe.
+     *
+     * @param destino Archivo a escribir
+     * @param formato Formato del archivo
+     * @param comprimir true para comprimir la salida con gzip
+     * @param facultad Facultad a exportar, o null para todas
+     * @param admitidos true para exportar solo los admitidos, false solo los no admitidos, null para todos
+     * @param progreso Recibe el resumen parcial cada pocos segundos; puede ser null
+     * @return Resumen de la exportación
+     * @throws IllegalArgumentException si la facultad no existe
+     * @throws SQLException si falla la consulta en MySQL; el archivo queda incompleto
+     * @throws IllegalStateException si falla la lectura en otro almacenamiento; el archivo queda incompleto
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public Resumen exportar(Path destino, Formato formato, boolean comprimir, String facultad, Boolean admitidos,
+            Consumer<Resumen> progreso) throws SQLException, IOException {
+        if (facultad != null && personaService.getReglas().idFacultad(facultad) < 0) {
+            throw new IllegalArgumentException("Facultad desconocida: " + facultad);
+        }
+        String admitido = admitidos == null ? null : admitidos ? ReglasAdmision.SI : ReglasAdmision.NO;
+
+        Resumen resumen = new Resumen();
+        long inicio = System.nanoTime();
+        long[] ultimoAviso = {inicio};
+
+        try (FileChannel archivo = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            try (Salida salida = new Salida(comprimir
+                    ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(archivo), TAMANO_BUFER))
+                    : archivo)) {
+
+                StringBuilder fila = new StringBuilder(256);
+                salida.escribir(formato == Formato.CSV ? "dni,nombre,apellido,facultad,puntaje,admitido\n" : "[");
+
+                recorrer(facultad, admitido, persona -> {
+                    fila.setLength(0);
+                    if (formato == Formato.CSV) {
+                        filaCsv(fila, persona);
+                    } else {
+                        filaJson(fila, persona, resumen.filas == 0);
+                    }
+                    salida.escribir(fila);
+                    resumen.filas++;
+
+                    // Consultar el reloj cada 1024 filas basta para avisar a tiempo
+                    if (progreso != null && (resumen.filas & 1023) == 0) {
+                        long ahora = System.nanoTime();
+                        if (ahora - ultimoAviso[0] >= AVISO_CADA_NANOS) {
+                            resumen.bytes = salida.bytes;
+                            resumen.nanos = ahora - inicio;
+                            progreso.accept(resumen);
+                            ultimoAviso[0] = ahora;
+                        }
+                    }
+                });
+
+                if (formato == Formato.JSON) {
+                    salida.escribir(resumen.filas == 0 ? "]\n" : "\n]\n");
+                }
+                resumen.bytes = salida.bytes;
+            }
+        } finally {
+            resumen.nanos = System.nanoTime() - inicio;
+        }
+        // Con gzip el canal del archivo ya se cerró junto con la salida
+        resumen.bytesArchivo = Files.size(destino);
+        return resumen;
+    }
+
+    /**
+     * Recorre las personas de una facultad y un estado de admisión con el
+     * almacenamiento del servicio.
+     */
+    private void recorrer(String facultad, String admitido, PersonaDAO.Visitante visitante)
+            throws SQLException, IOException {
+        PersonaInterface fuente = personaService.getFuente();
+        if (fuente instanceof PersonaDAO) {
+            ((PersonaDAO) fuente).recorrer(facultad, admitido, visitante);
+            return;
+        }
+        try (Stream<Persona> personas = personaService.recorrer(0)) {
+            Iterator<Persona> it = personas.iterator();
+            while (it.hasNext()) {
+                Persona persona = it.next();
+                if ((facultad == null || facultad.equals(persona.getFacultadAspirada()))
+                        && (admitido == null || admitido.equals(persona.getAdmitido()))) {
+                    visitante.visitar(persona);
+                }
+            }
+        }
+    }
+
+    /**
+     * Búfer de bytes delante de un canal. El texto se codifica en UTF-8
+     * carácter por carácter, sin crear un arreglo por fila.
+     */
+    private static final class Salida implements AutoCloseable {
+        private final WritableByteChannel canal;
+        private final ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANO_BUFER);
+        long bytes;
+
+        Salida(WritableByteChannel canal) {
+            this.canal = canal;
+        }
+
+        void escribir(CharSequence texto) throws IOException {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (bufer.remaining() < 4) {
+                    vaciar();
+                }
+                if (c < 0x80) {
+                    bufer.put((byte) c);
+                    bytes++;
+                } else if (c < 0x800) {
+                    bufer.put((byte) (0xC0 | (c >> 6)));
+                    bufer.put((byte) (0x80 | (c & 0x3F)));
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                        && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, texto.charAt(++i));
+                    bufer.put((byte) (0xF0 | (cp >> 18)));
+                    bufer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                    bufer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                    bufer.put((byte) (0x80 | (cp & 0x3F)));
+                    bytes += 4;
+                } else {
+                    bufer.put((byte) (0xE0 | (c >> 12)));
+                    bufer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    bufer.put((byte) (0x80 | (c & 0x3F)));
+                    bytes += 3;
+                }
+            }
+        }
+
+        private void vaciar() throws IOException {
+            bufer.flip();
+            while (bufer.hasRemaining()) {
+                canal.write(bufer);
+            }
+            bufer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                vaciar();
+            } finally {
+                // Con gzip, cerrar el canal escribe el final del archivo comprimido
+                if (canal.isOpen()) {
+                    canal.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega una persona como línea CSV.
+     */
+    private static void filaCsv(StringBuilder fila, Persona persona) {
+        campoCsv(fila, persona.getDni()).append(',');
+        campoCsv(fila, persona.getNombre()).append(',');
+        campoCsv(fila, persona.getApellido()).append(',');
+        campoCsv(fila, persona.getFacultadAspirada()).append(',');
+        fila.append(persona.getPuntaje()).append(',');
+        campoCsv(fila, persona.getAdmitido()).append('\n');
+    }
+
+    private static StringBuilder campoCsv(StringBuilder fila, String valor) {
+        if (valor == null) {
+            return fila;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            return fila.append(valor);
+        }
+        fila.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                fila.append('"');
+            }
+            fila.append(c);
+        }
+        return fila.append('"');
+    }
+
+    /**
+     * Agrega una persona como objeto JSON, precedido de una coma si no es el primero.
+     */
+    private static void filaJson(StringBuilder fila, Persona persona, boolean primera) {
+        EscritorJson.persona(fila.append(primera ? "\n" : ",\n"), persona);
+    }
+
+    /**
+     * Exporta desde la línea de comandos. El formato sale de la extensión
+     * (.json o .csv) y la salida se comprime si termina en .gz.
+     *
+     * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+     *          service.ExportadorPostulantes destino.csv[.gz]|destino.json[.gz] [facultad|todas] [admitidos|rechazados|todos]
+     *
+     * @param args Archivo destino, facultad y estado de admisión
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Uso: ExportadorPostulantes destino.csv[.gz]|destino.json[.gz] [facultad|todas] [admitidos|rechazados|todos]");
+            return;
+        }
+        Path destino = Paths.get(args[0]);
+        String nombre = destino.getFileName().toString().toLowerCase();
+        boolean comprimir = nombre.endsWith(".gz");
+        if (comprimir) {
+            nombre = nombre.substring(0, nombre.length() - 3);
+        }
+        Formato formato = nombre.endsWith(".json") ? Formato.JSON : Formato.CSV;
+        String facultad = args.length > 1 && !args[1].equalsIgnoreCase("todas") ? args[1] : null;
+        Boolean admitidos = null;
+        if (args.length > 2 && args[2].equalsIgnoreCase("admitidos")) {
+            admitidos = true;
+        } else if (args.length > 2 && args[2].equalsIgnoreCase("rechazados")) {
+            admitidos = false;
+        }
+
+        PersonaService personaService = new PersonaService();
+        try {
+            Resumen resumen = new ExportadorPostulantes(personaService)
+                    .exportar(destino, formato, comprimir, facultad, admitidos, System.out::println);
+
+            System.out.println(resumen);
+            System.out.println("Exportado en: " + destino);
+        } finally {
+            personaService.cerrar();
+            DatabaseConnection.cerrarPool();
+        }
+    }
+}
@@ -0,0 +1,436 @@
+/**
+ * Clase que importa postulantes desde un archivo CSV o TSV sin interfaz gráfica.
+ *
+ * El archivo se lee línea a línea y nunca se carga completo en memoria. La
+ * importación se divide en tres etapas que se ejecutan en hilos separados y
+ * se comunican mediante colas acotadas:
+ *
+ *   1. Lectura: separa cada línea en campos.
+ *   2. Evaluación: valida DNI, nombre, facultad y puntaje y calcula el estado
+ *      de admisión con las reglas de PersonaService.
+ *   3. Escritura: inserta las personas válidas en lotes.
+ *
+ * Como las colas tienen capacidad fija, la lectura se detiene cuando la base
+ * de datos no alcanza a escribir, y el consumo de memoria no depende del
+ * tamaño del archivo. Las filas rechazadas se escriben en un archivo de
+ * rechazos con su número de línea y el motivo.
+ *
+ * Formato esperado (con o sin encabezado): dni,nombre,apellido,facultad,puntaje
+ */
+package service;
+
+import data.DatabaseConnection;
+import data.interfaces.ResultadoEscritura;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import model.Persona;
+
+public class ImportadorPostulantes {
+
+    // Filas que viajan juntas entre etapas, para no pagar la cola por cada fila
+    private static final int FILAS_POR_BLOQUE = 500;
+
+    // Bloques que puede acumular cada cola antes de frenar a la etapa anterior
+    private static final int CAPACIDAD_COLA = 8;
+
+    // Marca de fin de datos que cada etapa pasa a la siguiente
+    private static final List<Object> FIN = Collections.emptyList();
+
+    private static final Pattern DNI_VALIDO = Pattern.compile("[0-9A-Za-z]{1,20}");
+
+    /**
+     * Línea del archivo separada en campos.
+     */
+    private static final class Fila {
+        final long linea;
+        final String texto;
+        final String[] campos;
+
+        Fila(long linea, String texto, String[] campos) {
+            this.linea = linea;
+            this.texto = texto;
+            this.campos = campos;
+        }
+    }
+
+    /**
+     * Persona válida junto con la línea de la que proviene.
+     */
+    private static final class Evaluada {
+        final Fila fila;
+        final Persona persona;
+
+        Evaluada(Fila fila, Persona persona) {
+            this.fila = fila;
+            this.persona = persona;
+        }
+    }
+
+    /**
+     * Resumen de una importación.
+     */
+    public static final class Resumen {
+        private long leidas;
+        private long insertadas;
+        private long rechazadas;
+        private long nanos;
+
+        public long getLeidas() {
+            return leidas;
+        }
+
+        public long getInsertadas() {
+            return insertadas;
+        }
+
+        public long getRechazadas() {
+            return rechazadas;
+        }
+
+        /**
+         * @return Filas leídas por segundo durante toda la importación
+         */
+        public double getFilasPorSegundo() {
+            return nanos == 0 ? 0 : leidas / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Filas leídas: %,d | insertadas: %,d | rechazadas: %,d | %.1f s | %,.0f filas/s",
+                    leidas, insertadas, rechazadas, nanos / 1e9, getFilasPorSegundo());
+        }
+    }
+
+    private final PersonaService personaService;
+    private final int tamanoLote;
+
+    /**
+     * Constructor de la clase ImportadorPostulantes.
+     *
+     * @param personaService Servicio usado para evaluar la admisión e insertar
+     * @param tamanoLote Número de filas por lote de inserción
+     */
+    public ImportadorPostulantes(PersonaService personaService, int tamanoLote) {
+        this.personaService = personaService;
+        this.tamanoLote = tamanoLote;
+    }
+
+    /**
+     * Importa un archivo de postulantes. El separador es tabulador si la
+     * extensión es .tsv y coma en cualquier otro caso.
+     *
+     * @param archivo Archivo a importar
+     * @param archivoRechazos Archivo donde se escriben las filas rechazadas
+     * @return Resumen de la importación
+     * @throws IOException si no se puede leer el archivo o escribir los rechazos
+     * @throws InterruptedException si se interrumpe la importación
+     */
+    public Resumen importar(Path archivo, Path archivoRechazos) throws IOException, InterruptedException {
+        char separador = archivo.getFileName().toString().toLowerCase().endsWith(".tsv") ? '\t' : ',';
+
+        BlockingQueue<List<?>> filas = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        BlockingQueue<List<?>> evaluadas = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        AtomicReference<Exception> fallo = new AtomicReference<>();
+        Resumen resumen = new Resumen();
+        long inicio = System.nanoTime();
+
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8);
+             BufferedWriter rechazos = Files.newBufferedWriter(archivoRechazos, StandardCharsets.UTF_8)) {
+
+            rechazos.write("linea,motivo,contenido");
+            rechazos.newLine();
+
+            Thread lectura = new Thread(() -> ejecutar(fallo, filas, () -> leer(lector, separador, filas, resumen)),
+                    "importacion-lectura");
+            Thread evaluacion = new Thread(
+                    () -> ejecutar(fallo, evaluadas, () -> evaluar(filas, evaluadas, rechazos, resumen)),
+                    "importacion-evaluacion");
+            lectura.start();
+            evaluacion.start();
+
+            try {
+                escribir(evaluadas, rechazos, resumen);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                fallo.compareAndSet(null, e);
+            } finally {
+                // Si una etapa falla, las demás se interrumpen para que no queden bloqueadas en su cola
+                if (fallo.get() != null) {
+                    lectura.interrupt();
+                    evaluacion.interrupt();
+                }
+                lectura.join();
+                evaluacion.join();
+            }
+        }
+
+        resumen.nanos = System.nanoTime() - inicio;
+
+        Exception error = fallo.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof InterruptedException) {
+            throw (InterruptedException) error;
+        } else if (error != null) {
+            throw new IOException("La importación falló: " + error.getMessage(), error);
+        }
+        return resumen;
+    }
+
+    /**
+     * Tarea de una etapa que puede fallar.
+     */
+    private interface Etapa {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * Ejecuta una etapa y, al terminar, pasa la marca de fin a la siguiente.
+     *
+     * Si la etapa falla o se interrumpe, primero registra el error y después
+     * descarta los bloques que la siguiente etapa no llegó a tomar: esta
+     * puede haber dejado de leer, y con la cola llena la marca de fin no
+     * entraría nunca. Como solo esta etapa escribe en su cola de salida, tras
+     * vaciarla la marca siempre entra.
+     */
+    private static void ejecutar(AtomicReference<Exception> fallo, BlockingQueue<List<?>> salida, Etapa etapa) {
+        try {
+            etapa.ejecutar();
+            salida.put(FIN);
+        } catch (Exception e) {
+            fallo.compareAndSet(null, e);
+            salida.clear();
+            salida.offer(FIN);
+        }
+    }
+
+    /**
+     * Etapa 1: lee el archivo y lo entrega en bloques de filas separadas en campos.
+     */
+    private void leer(BufferedReader lector, char separador, BlockingQueue<List<?>> salida, Resumen resumen)
+            throws IOException, InterruptedException {
+        List<Fila> bloque = new ArrayList<>(FILAS_POR_BLOQUE);
+        long linea = 0;
+        String texto;
+
+        while ((texto = lector.readLine()) != null) {
+            linea++;
+            if (texto.isEmpty() || (linea == 1 && esEncabezado(texto))) {
+                continue;
+            }
+            bloque.add(new Fila(linea, texto, separar(texto, separador)));
+            if (bloque.size() == FILAS_POR_BLOQUE) {
+                salida.put(bloque);
+                resumen.leidas += bloque.size();
+                bloque = new ArrayList<>(FILAS_POR_BLOQUE);
+            }
+        }
+        if (!bloque.isEmpty()) {
+            salida.put(bloque);
+            resumen.leidas += bloque.size();
+        }
+    }
+
+    /**
+     * Etapa 2: valida cada fila y calcula su estado de admisión.
+     */
+    private void evaluar(BlockingQueue<List<?>> entrada, BlockingQueue<List<?>> salida, BufferedWriter rechazos,
+            Resumen resumen) throws IOException, InterruptedException {
+        // Todas las filas se evalúan con los mismos cortes aunque se recarguen durante la importación
+        ReglasAdmision reglas = personaService.getReglas();
+        List<?> bloque;
+        while ((bloque = entrada.take()) != FIN) {
+            List<Evaluada> validas = new ArrayList<>(bloque.size());
+            for (Object elemento : bloque) {
+                Fila fila = (Fila) elemento;
+                String motivo = validar(fila.campos);
+                if (motivo != null) {
+                    rechazar(rechazos, fila, motivo, resumen);
+                    continue;
+                }
+                String facultad = fila.campos[3].trim();
+                int puntaje = Integer.parseInt(fila.campos[4].trim());
+                int idFacultad = reglas.idFacultad(facultad);
+                if (idFacultad < 0) {
+                    rechazar(rechazos, fila, "facultad desconocida", resumen);
+                    continue;
+                }
+                String admitido = reglas.admitido(idFacultad, puntaje) ? ReglasAdmision.SI : ReglasAdmision.NO;
+                validas.add(new Evaluada(fila, new Persona(0, fila.campos[0].trim(), fila.campos[1].trim(),
+                        fila.campos[2].trim(), facultad, puntaje, admitido)));
+            }
+            if (!validas.isEmpty()) {
+                salida.put(validas);
+            }
+        }
+    }
+
+    /**
+     * Etapa 3: inserta las personas válidas en lotes y registra los rechazos de la base de datos.
+     */
+    private void escribir(BlockingQueue<List<?>> entrada, BufferedWriter rechazos, Resumen resumen)
+            throws IOException, InterruptedException {
+        List<Evaluada> pendientes = new ArrayList<>(tamanoLote);
+        List<?> bloque;
+        while ((bloque = entrada.take()) != FIN) {
+            for (Object elemento : bloque) {
+                pendientes.add((Evaluada) elemento);
+                if (pendientes.size() >= tamanoLote) {
+                    insertar(pendientes, rechazos, resumen);
+                    pendientes.clear();
+                }
+            }
+        }
+        if (!pendientes.isEmpty()) {
+            insertar(pendientes, rechazos, resumen);
+        }
+    }
+
+    /**
+     * Inserta un lote y clasifica el resultado de cada fila.
+     */
+    private void insertar(List<Evaluada> pendientes, BufferedWriter rechazos, Resumen resumen) throws IOException {
+        List<Persona> personas = new ArrayList<>(pendientes.size());
+        for (Evaluada e : pendientes) {
+            personas.add(e.persona);
+        }
+        List<ResultadoEscritura> resultados = personaService.insertarLote(personas, tamanoLote);
+        for (int i = 0; i < resultados.size(); i++) {
+            switch (resultados.get(i)) {
+                case INSERTADO:
+                    resumen.insertadas++;
+                    break;
+                case DUPLICADO:
+                    rechazar(rechazos, pendientes.get(i).fila, "dni duplicado", resumen);
+                    break;
+                default:
+                    rechazar(rechazos, pendientes.get(i).fila, "error al insertar", resumen);
+            }
+        }
+    }
+
+    /**
+     * Valida los campos de una fila.
+     *
+     * @return Motivo del rechazo, o null si la fila es válida
+     */
+    private static String validar(String[] campos) {
+        if (campos.length != 5) {
+            return "se esperaban 5 campos y hay " + campos.length;
+        }
+        if (!DNI_VALIDO.matcher(campos[0].trim()).matches()) {
+            return "dni inválido";
+        }
+        for (int i = 1; i <= 3; i++) {
+            String campo = campos[i].trim();
+            if (campo.isEmpty() || campo.length() > 100) {
+                return "campo " + (i + 1) + " vacío o demasiado largo";
+            }
+        }
+        try {
+            if (Integer.parseInt(campos[4].trim()) < 0) {
+                return "puntaje negativo";
+            }
+        } catch (NumberFormatException e) {
+            return "puntaje no numérico";
+        }
+        return null;
+    }
+
+    /**
+     * Escribe una fila en el archivo de rechazos. Lo usan dos etapas a la vez.
+     */
+    private static void rechazar(BufferedWriter rechazos, Fila fila, String motivo, Resumen resumen)
+            throws IOException {
+        synchronized (rechazos) {
+            rechazos.write(Long.toString(fila.linea));
+            rechazos.write(",\"");
+            rechazos.write(motivo);
+            rechazos.write("\",\"");
+            rechazos.write(fila.texto.replace("\"", "\"\""));
+            rechazos.write('"');
+            rechazos.newLine();
+            resumen.rechazadas++;
+        }
+    }
+
+    /**
+     * Indica si la primera línea es un encabezado (empieza con el nombre de la columna dni).
+     */
+    private static boolean esEncabezado(String texto) {
+        return texto.toLowerCase().startsWith("dni");
+    }
+
+    /**
+     * Separa una línea en campos. Con coma como separador admite campos entre
+     * comillas dobles, con "" para representar una comilla.
+     */
+    static String[] separar(String texto, char separador) {
+        List<String> campos = new ArrayList<>(5);
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"' && separador == ',' && actual.length() == 0) {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos.toArray(new String[0]);
+    }
+
+    /**
+     * Importa un archivo desde la línea de comandos.
+     *
+     * Uso: java -cp target/StudentRegistry-1.0.0-jar-with-dependencies.jar
+     *          service.ImportadorPostulantes archivo.csv [rechazos.csv] [tamanoLote]
+     *
+     * @param args Archivo a importar, archivo de rechazos y tamaño de lote
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Uso: ImportadorPostulantes archivo.csv|archivo.tsv [rechazos.csv] [tamanoLote]");
+            return;
+        }
+        Path archivo = Paths.get(args[0]);
+        Path rechazos = Paths.get(args.length > 1 ? args[1] : args[0] + ".rechazos.csv");
+        int tamanoLote = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        PersonaService personaService = new PersonaService();
+        try {
+            Resumen resumen = new ImportadorPostulantes(personaService, tamanoLote).importar(archivo, rechazos);
+
+            System.out.println(resumen);
+            System.out.println("Rechazos en: " + rechazos);
+        } finally {
+            personaService.cerrar();
+            DatabaseConnection.cerrarPool();
+        }
+    }
+}
@@ -0,0 +1,536 @@
+/**
+ * Clase que mantiene en memoria un índice de prefijos sobre los nombres y
+ * apellidos de las personas, para buscarlas mientras se escribe.
+ *
+ * Cada palabra del nombre y del apellido se normaliza (minúsculas y sin
+ * tildes) y se guarda en un mapa ordenado de palabras distintas, cada una
+ * con los idPersona que la contienen. Los nombres se repiten mucho, así que
+ * el mapa tiene pocas entradas aunque haya un millón de personas, y una
+ * búsqueda por prefijo solo recorre las palabras que empiezan con él. De
+ * cada persona se guarda, por idPersona, un único texto con su DNI, nombre
+ * y apellido, y en un mapa aparte su idPersona por DNI.
+ *
+ * El índice se construye la primera vez que se pide, recorriendo la fuente
+ * de datos en segundo plano; mientras tanto las búsquedas ven las personas
+ * ya cargadas. PersonaService informa cada alta, modificación y baja. Los
+ * cambios hechos fuera del servicio se ven tras la siguiente
+ * reconstrucción, si se configuró una periódica.
+ */
+package service;
+
+import data.interfaces.PersonaInterface;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import model.Persona;
+
+public class IndiceNombres {
+
+    // Personas que se leen juntas y se agregan con cada toma del candado al construir el índice
+    private static final int TAMANO_PAGINA = 10000;
+
+    // Separa el DNI, el nombre y el apellido en el texto guardado de cada persona
+    private static final char SEPARADOR = '\t';
+
+    /**
+     * idPersona de las personas que tienen una palabra, sin orden.
+     */
+    private static final class Lista {
+        int[] ids = new int[2];
+        int tamano;
+
+        void agregar(int id) {
+            if (tamano == ids.length) {
+                ids = Arrays.copyOf(ids, tamano * 2);
+            }
+            ids[tamano++] = id;
+        }
+
+        void quitar(int id) {
+            for (int i = 0; i < tamano; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--tamano];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Palabras y personas del índice. Se reemplaza completo al reconstruirlo.
+     */
+    private static final class Contenido {
+        final TreeMap<String, Lista> palabras = new TreeMap<>();
+
+        // Por idPersona: "dni\tnombre\tapellido", o null si no existe
+        String[] registros = new String[1024];
+        int personas;
+
+        // idPersona de cada DNI, para las bajas que solo conocen el DNI
+        final Map<String, Integer> idPorDni = new HashMap<>();
+
+        void poner(int id, String dni, String nombre, String apellido) {
+            if (id <= 0) {
+                return;
+            }
+            quitar(id);
+            if (id >= registros.length) {
+                registros = Arrays.copyOf(registros, Math.max(id + 1, registros.length * 2));
+            }
+            String registro = (dni == null ? "" : dni) + SEPARADOR + texto(nombre) + SEPARADOR + texto(apellido);
+            registros[id] = registro;
+            personas++;
+            if (dni != null) {
+                idPorDni.put(dni, id);
+            }
+            for (String palabra : palabrasDe(registro)) {
+                palabras.computeIfAbsent(palabra, p -> new Lista()).agregar(id);
+            }
+        }
+
+        void quitar(int id) {
+            if (id <= 0 || id >= registros.length || registros[id] == null) {
+                return;
+            }
+            for (String palabra : palabrasDe(registros[id])) {
+                Lista lista = palabras.get(palabra);
+                if (lista != null) {
+                    lista.quitar(id);
+                    if (lista.tamano == 0) {
+                        palabras.remove(palabra);
+                    }
+                }
+            }
+            idPorDni.remove(registros[id].substring(0, registros[id].indexOf(SEPARADOR)), id);
+            registros[id] = null;
+            personas--;
+        }
+
+        int buscarDni(String dni) {
+            Integer id = idPorDni.get(dni);
+            return id == null ? -1 : id;
+        }
+    }
+
+    private final PersonaInterface datos;
+    private final long reconstruccionMs;
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    // Índice que responden las búsquedas; durante la primera construcción es el mismo que nuevo
+    private Contenido actual = new Contenido();
+
+    // Índice en construcción y personas escritas mientras tanto, o null si no se está construyendo
+    private Contenido nuevo;
+    private BitSet escritos;
+
+    private volatile ScheduledExecutorService hilo;
+    private volatile boolean listo;
+    private boolean cerrado;
+
+    // Hay una reconstrucción pedida por un cambio sin idPersona que aún no empezó
+    private final AtomicBoolean reconstruccionPedida = new AtomicBoolean();
+
+    /**
+     * Constructor de la clase IndiceNombres. El índice no se construye hasta
+     * que se llama a iniciar() o a buscar().
+     *
+     * @param datos Fuente de datos para construir el índice
+     * @param reconstruccionMs Intervalo entre reconstrucciones; 0 o menos para construirlo una sola vez
+     */
+    public IndiceNombres(PersonaInterface datos, long reconstruccionMs) {
+        this.datos = datos;
+        this.reconstruccionMs = reconstruccionMs;
+    }
+
+    /**
+     * Empieza a construir el índice en segundo plano, si no se hizo antes y
+     * no se cerró.
+     */
+    public synchronized void iniciar() {
+        if (hilo != null || cerrado) {
+            return;
+        }
+        hilo = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "indice-nombres");
+            t.setDaemon(true);
+            return t;
+        });
+        if (reconstruccionMs > 0) {
+            hilo.scheduleWithFixedDelay(this::construirEnSegundoPlano, 0, reconstruccionMs, TimeUnit.MILLISECONDS);
+        } else {
+            hilo.execute(this::construirEnSegundoPlano);
+        }
+    }
+
+    /**
+     * @return true si el índice ya se construyó por completo al menos una vez
+     */
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * @return Número de personas en el índice
+     */
+    public int getPersonas() {
+        candado.readLock().lock();
+        try {
+            return actual.personas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Número de palabras distintas en el índice
+     */
+    public int getPalabras() {
+        candado.readLock().lock();
+        try {
+            return actual.palabras.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las personas cuyo nombre o apellido tienen palabras que empiezan
+     * con cada una de las palabras del texto, sin distinguir mayúsculas ni
+     * tildes. Por ejemplo, "jua per" encuentra a Juan Pérez y a Juana Perales.
+     *
+     * @param texto Texto escrito por el usuario
+     * @param cantidad Número máximo de personas a devolver
+     * @return Personas encontradas, ordenadas por la palabra que coincide con
+     *         el término más largo. Solo tienen idPersona, DNI, nombre y apellido
+     */
+    public List<Persona> buscar(String texto, int cantidad) {
+        iniciar();
+        List<String> terminos = palabrasDe(texto == null ? "" : texto);
+        if (terminos.isEmpty() || cantidad <= 0) {
+            return Collections.emptyList();
+        }
+        // El término más largo suele tener menos palabras que empiezan con él
+        String guia = terminos.get(0);
+        for (String termino : terminos) {
+            if (termino.length() > guia.length()) {
+                guia = termino;
+            }
+        }
+
+        List<Persona> encontradas = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            Map<String, Lista> candidatas = actual.palabras.subMap(guia, true, guia + Character.MAX_VALUE, false);
+            for (Lista lista : candidatas.values()) {
+                for (int i = 0; i < lista.tamano; i++) {
+                    int id = lista.ids[i];
+                    String registro = actual.registros[id];
+                    if (coincide(registro, terminos) && !contiene(encontradas, id)) {
+                        encontradas.add(persona(id, registro));
+                        if (encontradas.size() == cantidad) {
+                            return encontradas;
+                        }
+                    }
+                }
+            }
+            return encontradas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registra una persona nueva o modificada.
+     */
+    void registrar(Persona persona) {
+        escribir(persona.getIdPersona(), persona);
+    }
+
+    /**
+     * Registra una persona eliminada.
+     *
+     * @param idPersona idPersona de la persona, o 0 si no se conoce
+     * @param dni DNI de la persona, para buscarla si no se conoce su idPersona
+     */
+    void registrarBaja(int idPersona, String dni) {
+        if (idPersona > 0) {
+            escribir(idPersona, null);
+            return;
+        }
+        candado.writeLock().lock();
+        try {
+            int id = buscarId(dni);
+            if (id > 0) {
+                escribir(id, null);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el idPersona de un DNI sin consultar la fuente de datos.
+     *
+     * @param dni DNI de la persona
+     * @return idPersona de la persona, o 0 si el índice no la tiene o todavía no se usó
+     */
+    int buscarId(String dni) {
+        candado.readLock().lock();
+        try {
+            if (dni == null || hilo == null) {
+                return 0;
+            }
+            int id = actual.buscarDni(dni);
+            if (id < 0 && nuevo != null && nuevo != actual) {
+                id = nuevo.buscarDni(dni);
+            }
+            return Math.max(id, 0);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un cambio al índice vigente y al que se está construyendo. Un
+     * cambio sin idPersona no se puede aplicar: se informa y se pide una
+     * reconstrucción para que el índice no quede desactualizado.
+     *
+     * @param persona Datos nuevos, o null para quitar la persona
+     */
+    private void escribir(int id, Persona persona) {
+        if (id <= 0) {
+            if (hilo != null) {
+                pedirReconstruccion("cambio sin idPersona"
+                        + (persona != null && persona.getDni() != null ? " (dni " + persona.getDni() + ")" : ""));
+            }
+            return;
+        }
+        candado.writeLock().lock();
+        try {
+            if (hilo == null) {
+                // Todavía no se usó: se construirá con los datos ya escritos
+                return;
+            }
+            for (Contenido contenido : nuevo == null || nuevo == actual
+                    ? new Contenido[] {actual} : new Contenido[] {actual, nuevo}) {
+                if (persona == null) {
+                    contenido.quitar(id);
+                } else {
+                    contenido.poner(id, persona.getDni(), persona.getNombre(), persona.getApellido());
+                }
+            }
+            if (escritos != null) {
+                escritos.set(id);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Construye el índice completo recorriendo la fuente de datos. Las
+     * personas se agregan de a TAMANO_PAGINA con el candado de escritura.
+     * Una persona escrita durante la construcción no se reemplaza con la
+     * versión leída, que puede ser anterior. Si la lectura falla se
+     * conserva el índice anterior: recorrer() lanza la excepción en lugar
+     * de terminar antes, como haría una página vacía.
+     */
+    private void construir() {
+        candado.writeLock().lock();
+        try {
+            nuevo = listo ? new Contenido() : actual;
+            escritos = new BitSet();
+        } finally {
+            candado.writeLock().unlock();
+        }
+        boolean completo = false;
+        try (Stream<Persona> personas = datos.recorrer(TAMANO_PAGINA)) {
+            List<Persona> pagina = new ArrayList<>(TAMANO_PAGINA);
+            Iterator<Persona> it = personas.iterator();
+            while (it.hasNext()) {
+                pagina.add(it.next());
+                if (pagina.size() == TAMANO_PAGINA || !it.hasNext()) {
+                    agregarLeidas(pagina);
+                    pagina.clear();
+                }
+            }
+            completo = true;
+        } finally {
+            candado.writeLock().lock();
+            try {
+                if (completo) {
+                    actual = nuevo;
+                    listo = true;
+                }
+                nuevo = null;
+                escritos = null;
+            } finally {
+                candado.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Agrega al índice en construcción las personas leídas que no se
+     * escribieron mientras tanto.
+     */
+    private void agregarLeidas(List<Persona> leidas) {
+        candado.writeLock().lock();
+        try {
+            for (Persona p : leidas) {
+                if (!escritos.get(p.getIdPersona())) {
+                    nuevo.poner(p.getIdPersona(), p.getDni(), p.getNombre(), p.getApellido());
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pide una reconstrucción completa en segundo plano, salvo que ya haya
+     * una pedida que no empezó.
+     */
+    private void pedirReconstruccion(String motivo) {
+        System.out.println("Índice de nombres: " + motivo + "; se reconstruirá");
+        if (!reconstruccionPedida.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            hilo.execute(() -> {
+                reconstruccionPedida.set(false);
+                construirEnSegundoPlano();
+            });
+        } catch (RejectedExecutionException e) {
+            // El índice se cerró
+            reconstruccionPedida.set(false);
+        }
+    }
+
+    private void construirEnSegundoPlano() {
+        try {
+            construir();
+        } catch (RuntimeException e) {
+            System.out.println("Error al construir el índice de nombres: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene las reconstrucciones periódicas.
+     */
+    public synchronized void cerrar() {
+        cerrado = true;
+        if (hilo != null) {
+            hilo.shutdownNow();
+        }
+    }
+
+    /**
+     * Indica si cada término es el comienzo de alguna palabra del nombre o
+     * del apellido guardados.
+     */
+    private static boolean coincide(String registro, List<String> terminos) {
+        if (registro == null) {
+            return false;
+        }
+        List<String> palabras = palabrasDe(registro);
+        for (String termino : terminos) {
+            boolean encontrado = false;
+            for (String palabra : palabras) {
+                if (palabra.startsWith(termino)) {
+                    encontrado = true;
+                    break;
+                }
+            }
+            if (!encontrado) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contiene(List<Persona> personas, int id) {
+        for (Persona p : personas) {
+            if (p.getIdPersona() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Persona persona(int id, String registro) {
+        int fin = registro.indexOf(SEPARADOR);
+        int finNombre = registro.indexOf(SEPARADOR, fin + 1);
+        Persona p = new Persona();
+        p.setIdPersona(id);
+        p.setDni(registro.substring(0, fin));
+        p.setNombre(registro.substring(fin + 1, finNombre));
+        p.setApellido(registro.substring(finNombre + 1));
+        return p;
+    }
+
+    private static String texto(String valor) {
+        return valor == null ? "" : valor.replace(SEPARADOR, ' ');
+    }
+
+    /**
+     * Separa un texto en palabras normalizadas y distintas. En el texto
+     * guardado de una persona se omite el DNI.
+     */
+    private static List<String> palabrasDe(String texto) {
+        List<String> palabras = new ArrayList<>(4);
+        int inicio = texto.indexOf(SEPARADOR) + 1;
+        StringBuilder palabra = new StringBuilder();
+        for (int i = inicio; i <= texto.length(); i++) {
+            char c = i < texto.length() ? normalizar(texto.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                palabra.append(c);
+            } else if (palabra.length() > 0) {
+                String p = palabra.toString();
+                if (!palabras.contains(p)) {
+                    palabras.add(p);
+                }
+                palabra.setLength(0);
+            }
+        }
+        return palabras;
+    }
+
+    /**
+     * Pasa una letra a minúscula y le quita la tilde o la diéresis.
+     */
+    private static char normalizar(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        switch (Character.toLowerCase(c)) {
+            case 'á': case 'à': case 'ä': case 'â':
+                return 'a';
+            case 'é': case 'è': case 'ë': case 'ê':
+                return 'e';
+            case 'í': case 'ì': case 'ï': case 'î':
+                return 'i';
+            case 'ó': case 'ò': case 'ö': case 'ô':
+                return 'o';
+            case 'ú': case 'ù': case 'ü': case 'û':
+                return 'u';
+            case 'ñ':
+                return 'n';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+}
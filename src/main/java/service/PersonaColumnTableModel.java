@@ -0,0 +1,150 @@
+/**
+ * Clase que implementa un modelo de tabla de personas almacenado por columnas.
+ *
+ * En lugar de guardar una fila de objetos por persona, cada columna se guarda
+ * en una estructura compacta:
+ *   - idPersona y puntaje en arreglos de int, sin objetos Integer.
+ *   - dni, nombre y apellido concatenados en un único texto por columna,
+ *     con un arreglo con la posición donde termina cada valor (ColumnaTexto).
+ *   - facultad y admitido, que repiten pocos valores distintos, como un
+ *     código de un byte que apunta a un diccionario de valores (Diccionario).
+ *
+ * Los valores se convierten a objetos solo cuando la tabla pide una celda
+ * para pintarla.
+ */
+package service;
+
+import java.util.Arrays;
+import javax.swing.table.AbstractTableModel;
+import model.ColumnaTexto;
+import model.Diccionario;
+import model.Persona;
+
+public class PersonaColumnTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNAS = {"idPersona", "Dni", "Nombre", "Apellido", "Facultad", "Puntaje", "Admitido"};
+
+    private int filas;
+    private int[] ids;
+    private int[] puntajes;
+    private final ColumnaTexto dnis;
+    private final ColumnaTexto nombres;
+    private final ColumnaTexto apellidos;
+    private final ColumnaCodificada facultades;
+    private final ColumnaCodificada admitidos;
+
+    /**
+     * Constructor de la clase PersonaColumnTableModel.
+     *
+     * @param capacidadInicial Número de filas previsto; los arreglos crecen si se supera
+     */
+    public PersonaColumnTableModel(int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, 16);
+        ids = new int[capacidad];
+        puntajes = new int[capacidad];
+        dnis = new ColumnaTexto(capacidad, 8);
+        nombres = new ColumnaTexto(capacidad, 10);
+        apellidos = new ColumnaTexto(capacidad, 10);
+        facultades = new ColumnaCodificada(capacidad);
+        admitidos = new ColumnaCodificada(capacidad);
+    }
+
+    /**
+     * Agrega una persona al final del modelo.
+     *
+     * @param p Persona a agregar
+     */
+    public void agregar(Persona p) {
+        if (filas == ids.length) {
+            int capacidad = filas + (filas >> 1);
+            ids = Arrays.copyOf(ids, capacidad);
+            puntajes = Arrays.copyOf(puntajes, capacidad);
+        }
+        ids[filas] = p.getIdPersona();
+        puntajes[filas] = p.getPuntaje();
+        dnis.agregar(filas, p.getDni());
+        nombres.agregar(filas, p.getNombre());
+        apellidos.agregar(filas, p.getApellido());
+        facultades.agregar(filas, p.getFacultadAspirada());
+        admitidos.agregar(filas, p.getAdmitido());
+        filas++;
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 || columna == 5 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        switch (columna) {
+            case 0: return ids[fila];
+            case 1: return dnis.get(fila);
+            case 2: return nombres.get(fila);
+            case 3: return apellidos.get(fila);
+            case 4: return facultades.get(fila);
+            case 5: return puntajes[fila];
+            default: return admitidos.get(fila);
+        }
+    }
+
+    /**
+     * Obtiene el idPersona de una fila sin crear objetos.
+     *
+     * @param fila Índice de la fila
+     * @return idPersona de la fila
+     */
+    public int getIdPersona(int fila) {
+        return ids[fila];
+    }
+
+    /**
+     * Obtiene el puntaje de una fila sin crear objetos.
+     *
+     * @param fila Índice de la fila
+     * @return Puntaje de la fila
+     */
+    public int getPuntaje(int fila) {
+        return puntajes[fila];
+    }
+
+    /**
+     * Columna con pocos valores distintos: cada fila guarda el código de un
+     * byte de su valor en un Diccionario. Admite hasta 255 valores distintos
+     * más null.
+     */
+    private static final class ColumnaCodificada {
+        private byte[] codigos;
+        private final Diccionario valores = new Diccionario(255);
+
+        ColumnaCodificada(int capacidad) {
+            codigos = new byte[capacidad];
+        }
+
+        void agregar(int fila, String valor) {
+            if (fila == codigos.length) {
+                codigos = Arrays.copyOf(codigos, fila + (fila >> 1));
+            }
+            codigos[fila] = (byte) valores.codigo(valor);
+        }
+
+        String get(int fila) {
+            return valores.valor(codigos[fila] & 0xFF);
+        }
+    }
+}
@@ -3,33 +3,172 @@
  * 
  * Esta clase actúa como una capa intermedia entre la interfaz de usuario y
  * la capa de acceso a datos. Contiene métodos para insertar, mostrar, buscar,
- * actualizar y eliminar personas, así como para determinar la admisión según
- * la facultad y el puntaje.
+ * actualizar y eliminar personas, buscarlas por nombre (ver IndiceNombres),
+ * así como para determinar la admisión según la facultad y el puntaje (ver
+ * ReglasAdmision).
  */
 package service;
 
+import data.DatabaseConfig;
+import data.PersonaCache;
+import data.PersonaArchivo;
 import data.PersonaDAO;
+import data.PersonaMemoria;
+import data.PersonaMetricas;
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
 import model.Persona;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import javax.swing.table.DefaultTableModel;
+import java.util.stream.Stream;
+import metricas.Metricas;
+import metricas.Operacion;
 
 public class PersonaService {
     
-    // Objetos para acceder a los datos y manejar personas
-    PersonaDAO datos;
-    Persona persona;
+    // Filas por lote en las inserciones masivas
+    private static final int TAMANO_LOTE = DatabaseConfig.getInt("lote.tamano", 500);
     
-    // Modelo para la tabla de la interfaz gráfica
-    DefaultTableModel modelo;
+    // Filas que se leen juntas al recorrer la tabla completa (ver PersonaInterface.recorrer)
+    private static final int TAMANO_LECTURA = DatabaseConfig.getInt("recorrido.tamanoLectura", 0);
+    
+    // Filas previstas del modelo de mostrar(); sus arreglos crecen si hay más
+    private static final int FILAS_PREVISTAS = 1024;
+    
+    // Objeto para acceder a los datos, con la caché y las métricas. El resto
+    // del estado (caché, estadísticas, índice de nombres, reglas) admite
+    // accesos concurrentes, así que el servicio puede usarse desde varios
+    // hilos a la vez.
+    private final PersonaInterface datos;
+    
+    // Caché de búsquedas por DNI, delante del acceso a datos
+    private final PersonaCache cache;
+    
+    // Almacenamiento elegido (datos.backend), sin la caché ni las métricas
+    private final PersonaInterface fuente;
+    
+    // true si el servicio creó el almacenamiento y debe cerrarlo
+    private final boolean fuentePropia;
+    
+    // Totales por facultad, actualizados con cada escritura del servicio
+    private final EstadisticasFacultades estadisticas;
+    
+    // Búsqueda por nombre y apellido, actualizada con cada escritura del servicio
+    private final IndiceNombres nombres;
+    
+    // Construcción del modelo de tabla completo
+    private final Operacion mostrar = Metricas.operacion("servicio.mostrar");
+    
+    // Cortes de admisión por facultad; se reemplazan completos al recargarlos
+    private volatile ReglasAdmision reglas;
     
     /**
      * Constructor de la clase PersonaService.
      * Inicializa los objetos necesarios para el funcionamiento del servicio.
      */
     public PersonaService(){
-        datos = new PersonaDAO();
-        persona = new Persona();
+        this(crearFuente(DatabaseConfig.get("datos.backend", "mysql")), true);
+    }
+    
+    /**
+     * Constructor de la clase PersonaService con otra fuente de datos, por
+     * ejemplo para medir el servicio sin base de datos. Las operaciones se
+     * miden en las métricas "persona.*", incluidas las resueltas por la caché.
+     * 
+     * @param fuente Implementación de acceso a datos que usará el servicio; cerrar() no la cierra
+     */
+    public PersonaService(PersonaInterface fuente){
+        this(fuente, false);
+    }
+    
+    private PersonaService(PersonaInterface fuente, boolean fuentePropia){
+        this.fuente = fuente;
+        this.fuentePropia = fuentePropia;
+        cache = PersonaCache.desdeConfiguracion(fuente);
+        datos = new PersonaMetricas(cache);
+        reglas = ReglasAdmision.cargar();
+        estadisticas = new EstadisticasFacultades(datos, DatabaseConfig.getLong("estadisticas.reconciliacionMs", 300000));
+        nombres = new IndiceNombres(datos, DatabaseConfig.getLong("busqueda.reconstruccionMs", 0));
+        Metricas.iniciarRegistro(DatabaseConfig.getLong("metricas.registroMs", 0));
+    }
+    
+    /**
+     * Crea la implementación de acceso a datos indicada en la configuración.
+     * 
+     * @param backend "mysql" para la base de datos, "memoria" para guardar los datos solo en memoria o "archivo" para guardarlos en archivos locales
+     * @return Implementación de acceso a datos
+     * @throws IllegalStateException si el backend no existe
+     */
+    private static PersonaInterface crearFuente(String backend){
+        switch(backend){
+        case "mysql":
+            return new PersonaDAO();
+        case "memoria":
+            return new PersonaMemoria();
+        case "archivo":
+            PersonaArchivo archivo = PersonaArchivo.desdeConfiguracion();
+            // Guarda el punto de control y sincroniza el log al cerrar la aplicación
+            Runtime.getRuntime().addShutdownHook(new Thread(archivo::cerrar, "cierre-archivo-personas"));
+            return archivo;
+        default:
+            throw new IllegalStateException("Backend de datos desconocido: " + backend);
+        }
+    }
+    
+    /**
+     * Obtiene la caché de búsquedas por DNI, para consultar sus contadores.
+     * 
+     * @return Caché usada por el servicio
+     */
+    public PersonaCache getCache(){
+        return cache;
+    }
+    
+    /**
+     * Obtiene el almacenamiento del servicio, sin la caché ni las métricas,
+     * para las herramientas que usan operaciones propias de uno de ellos.
+     * Las escrituras hechas por esa vía no pasan por la caché.
+     * 
+     * @return Almacenamiento elegido con datos.backend, o el recibido en el constructor
+     */
+    public PersonaInterface getFuente(){
+        return fuente;
+    }
+    
+    /**
+     * Recorre todas las personas sin cargarlas juntas en memoria (ver
+     * PersonaInterface.recorrer). El flujo debe cerrarse.
+     * 
+     * @param tamanoLectura Personas que se leen juntas; 0 o menos para el valor de cada almacenamiento
+     * @return Flujo de personas, en orden de idPersona
+     * @throws IllegalStateException si la lectura falla
+     */
+    public Stream<Persona> recorrer(int tamanoLectura){
+        return datos.recorrer(tamanoLectura);
+    }
+    
+    /**
+     * Obtiene los totales de postulantes, admitidos y puntajes por facultad.
+     * La primera llamada empieza a calcularlos en segundo plano.
+     * 
+     * @return Estadísticas por facultad mantenidas por el servicio
+     */
+    public EstadisticasFacultades getEstadisticas(){
+        estadisticas.iniciar();
+        return estadisticas;
+    }
+    
+    /**
+     * Descarta lo que este servicio guarda de las personas después de un
+     * cambio hecho directamente en el almacenamiento: vacía la caché de
+     * búsquedas y pide una reconciliación de las estadísticas si ya se
+     * están usando. Solo alcanza a este servicio; otros procesos ven el
+     * cambio al vencer su caché y en su próxima reconciliación.
+     */
+    void descartarGuardados(){
+        cache.limpiar();
+        estadisticas.reconciliarPronto();
     }
     
     /**
@@ -41,10 +180,12 @@ public class PersonaService {
      * @param apellido Apellido de la persona
      * @param facultad Facultad a la que aspira la persona
      * @param admitido Estado de admisión de la persona
-     * @return "OK" si la inserción fue exitosa, mensaje de error en caso contrario
+     * @return Persona registrada, con el idPersona generado por la base de datos
+     * @throws IllegalStateException si la inserción no fue exitosa
      */
-    public String insertar(String dni,int puntaje, String nombre, String apellido, String facultad,String admitido){
+    public Persona insertar(String dni,int puntaje, String nombre, String apellido, String facultad,String admitido){
         
+        Persona persona = new Persona();
         persona.setDni(dni);
         persona.setPuntaje(puntaje);
         persona.setNombre(nombre);
@@ -55,223 +196,349 @@ public class PersonaService {
         
         
         if (datos.insertar(persona)) {
-            return "OK";
+            estadisticas.registrarAlta(persona);
+            nombres.registrar(persona);
+            return persona;
         }else{
-            return "Ocurrio un error en el registro";
+            throw new IllegalStateException("Ocurrio un error en el registro");
         }
     }
     
     /**
-     * Obtiene y formatea los datos de todas las personas para mostrar en una tabla.
+     * Registra una persona nueva con una sola escritura. Un DNI que ya
+     * existe no se trata como error: se informa como DUPLICADO.
      * 
-     * @return DefaultTableModel con los datos de las personas
+     * @param persona Persona a registrar, con su estado de admisión ya calculado; recibe el idPersona generado
+     * @return INSERTADO o DUPLICADO
+     * @throws IllegalStateException si no se pudo registrar
      */
-    public DefaultTableModel mostrar(){
-        List<Persona> lista = new ArrayList<>();
-        
-        lista.addAll(datos.listar());
-        
-        String[] title = {"idPersona", "Dni","Nombre", "Apellido", "Facultad", "Puntaje","Admitido"};
-        modelo = new DefaultTableModel(null, title);
-        
-        String[] registro = new String[7];
-        
-        for (Persona item : lista) {
-            registro[0] = Integer.toString(item.getIdPersona());
-            registro[1] = item.getDni();
-            registro[2] = item.getNombre();
-            registro[3] = item.getApellido();
-            registro[4] = item.getFacultadAspirada();
-            registro[5] = Integer.toString(item.getPuntaje());
-            registro[6] = item.getAdmitido();
-            
-            modelo.addRow(registro);
+    public ResultadoEscritura insertarSiNoExiste(Persona persona){
+        ResultadoEscritura resultado = datos.insertarSiNoExiste(persona);
+        switch (resultado) {
+        case INSERTADO:
+            estadisticas.registrarAlta(persona);
+            nombres.registrar(persona);
+            return resultado;
+        case DUPLICADO:
+            return resultado;
+        default:
+            throw new IllegalStateException("Ocurrio un error en el registro");
         }
-        
-        return modelo;
-        
     }
     
     /**
-     * Busca una persona por su DNI.
+     * Registra una persona o, si ya existe una con su DNI, reemplaza sus
+     * datos, con una sola escritura. Asigna a la persona el idPersona de la
+     * fila.
      * 
-     * @param dni DNI de la persona a buscar
-     * @return Objeto Persona encontrado, o null si no se encuentra
+     * @param persona Persona a guardar, con su estado de admisión ya calculado
+     * @return INSERTADO o ACTUALIZADO
+     * @throws IllegalStateException si no se pudo guardar
      */
-    public Persona buscar(String dni){
-        persona = datos.buscar(dni);
-        return persona;
+    public ResultadoEscritura guardar(Persona persona){
+        // Datos anteriores para las estadísticas, solo si ya están en la caché
+        Persona anterior = cache.enCache(persona.getDni());
+        ResultadoEscritura resultado = datos.guardar(persona);
+        switch (resultado) {
+        case INSERTADO:
+            estadisticas.registrarAlta(persona);
+            nombres.registrar(persona);
+            return resultado;
+        case ACTUALIZADO:
+            registrarCambio(anterior, persona);
+            nombres.registrar(persona);
+            return resultado;
+        default:
+            throw new IllegalStateException("Ocurrio un error en el registro");
+        }
     }
     
     /**
-     * Actualiza la información de una persona existente.
-     * 
-     * @param persona Persona con la información actualizada
-     * @return "OK" si la actualización fue exitosa, mensaje de error en caso contrario
+     * Informa un cambio a las estadísticas; si no se conocen los datos
+     * anteriores, se corrige en la siguiente reconciliación periódica.
      */
-    public String actualizar(Persona persona){
-        if (datos.actualizar(persona)) {
-            return "OK";
+    private void registrarCambio(Persona anterior, Persona nueva){
+        if (anterior != null && anterior.getIdPersona() == nueva.getIdPersona()) {
+            estadisticas.registrarCambio(anterior, nueva);
         }else{
-            return "Ocurrio un error al actualizar";
+            estadisticas.registrarDesconocido();
         }
     }
     
     /**
-     * Elimina una persona del sistema por su DNI.
+     * Inserta varias personas en lotes. Un DNI duplicado no impide registrar
+     * a las demás personas.
      * 
-     * @param dni DNI de la persona a eliminar
-     * @return "OK" si la eliminación fue exitosa, mensaje de error en caso contrario
+     * @param personas Personas a insertar, con su estado de admisión ya calculado
+     * @return Resultado de cada persona, en el mismo orden de la colección
      */
-    public String eliminar(String dni){
-        if (datos.eliminar(dni)) {
-            return "OK";
-        }else{
-            return "Ocurrio un error al eliminar";
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas){
+        return insertarLote(personas, TAMANO_LOTE);
+    }
+    
+    /**
+     * Inserta varias personas en lotes del tamaño indicado.
+     * 
+     * @param personas Personas a insertar, con su estado de admisión ya calculado
+     * @param tamanoLote Número de filas por lote y por transacción
+     * @return Resultado de cada persona, en el mismo orden de la colección
+     */
+    public List<ResultadoEscritura> insertarLote(Collection<Persona> personas, int tamanoLote){
+        List<ResultadoEscritura> resultados = datos.insertarLote(personas, tamanoLote);
+        Iterator<ResultadoEscritura> resultado = resultados.iterator();
+        for (Persona persona : personas) {
+            if (resultado.hasNext() && resultado.next() == ResultadoEscritura.INSERTADO) {
+                estadisticas.registrarAlta(persona);
+                nombres.registrar(persona);
+            }
         }
+        return resultados;
     }
     
     /**
-     * Determina si una persona es admitida según la facultad y el puntaje.
+     * Obtiene los datos de todas las personas para mostrar en una tabla.
+     * Los datos se guardan por columnas y se convierten en objetos al pintar
+     * cada celda. Las personas se recorren sin cargarlas en una lista: cada
+     * una se pasa a las columnas apenas se lee.
      * 
-     * @param facultad Facultad a la que aspira la persona
-     * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido, "NO" si no es admitido
+     * La ventana no lo usa: muestra la tabla con PersonaTableModel, que
+     * carga solo las páginas visibles. Hoy solo lo llama
+     * benchmark.jmh.MostrarBenchmark, para medir la carga completa.
+     * 
+     * @return Modelo de tabla con los datos de las personas
+     * @throws IllegalStateException si falla la lectura de las personas
      */
-    public String SelectorFacultad(String facultad,int puntaje)
-    {
-        String adm = "";
-        
-        
-
-        switch(facultad){
-        case "Ingenieria":
-            adm = VerificadorIngenieria(puntaje);
+    public PersonaColumnTableModel mostrar(){
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try (Stream<Persona> personas = datos.recorrer(TAMANO_LECTURA)) {
+            PersonaColumnTableModel modelo = new PersonaColumnTableModel(FILAS_PREVISTAS);
             
-            break;
-
-        case "Artes":
-            adm = VerificadorArtes(puntaje);
-            break;
-
-        case "Tecnologica":
-            adm = VerificadorTecnologica(puntaje);
-            break;
-
-        case "Medio_Ambiente":
-            adm = VerificadorMedioAmbiente(puntaje);
-            break;
-
-        case "Ciencias":
-            adm = VerificadorCiencias(puntaje);
-            break; 
-
-
-           
-        default: 
-            System.out.println("Sede Introducida, incorrecta");
-        }    
-        
-             return adm;
-
+            personas.forEachOrdered(modelo::agregar);
+            
+            exito = true;
+            mostrar.agregarFilas(modelo.getRowCount());
+            return modelo;
+        } finally {
+            mostrar.registrar(inicio, !exito);
+        }
     }
     
     /**
-     * Verifica si una persona es admitida en la facultad de Ingeniería según su puntaje.
+     * Obtiene una página de personas ordenadas por idPersona.
      * 
-     * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido (puntaje >= 350), "NO" si no es admitido
+     * @param despuesDeId Último idPersona de la página anterior, o 0 para la primera página
+     * @param tamano Número máximo de personas de la página
+     * @return Lista de personas de la página
      */
-    public static String VerificadorIngenieria(int puntaje)
-    {   
-        String estado;
-        if(puntaje < 350)
-        {
-            estado= "NO";
-        }
-        else
-        {
-            estado= "SI";
-        }
-        return estado;
-       
-        
+    public List<Persona> listarPagina(int despuesDeId, int tamano){
+        return datos.listarPagina(despuesDeId, tamano);
     }
     
     /**
-     * Verifica si una persona es admitida en la facultad de Artes según su puntaje.
+     * Obtiene el último idPersona de cada página completa, para llegar a una
+     * página lejana sin pedir las anteriores.
      * 
-     * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido (puntaje >= 350), "NO" si no es admitido
+     * @param tamanoPagina Número de personas por página
+     * @return Último idPersona de cada página completa, o null si ocurre un error
      */
-    public static String VerificadorArtes(int puntaje)
-    {String estado;
-        if(puntaje < 350)
-        {
-            estado= "NO";
-        }
-        else
-        {
-            estado= "SI";
-        }
-        return estado;
+    public int[] listarFinesDePagina(int tamanoPagina){
+        return datos.listarFinesDePagina(tamanoPagina);
     }
     
     /**
-     * Verifica si una persona es admitida en la facultad Tecnológica según su puntaje.
+     * Obtiene las personas de una facultad con mayor puntaje.
      * 
-     * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido (puntaje >= 280), "NO" si no es admitido
+     * @param facultad Facultad de las personas
+     * @param cantidad Número de personas a devolver
+     * @return Lista de personas, de mayor a menor puntaje
+     * @throws IllegalArgumentException si la facultad no existe
      */
-    public static String VerificadorTecnologica(int puntaje)
-    {String estado;
-        if(puntaje < 280)
-        {
-            estado= "NO";
-        }
-        else
-        {
-            estado= "SI";
+    public List<Persona> listarMejores(String facultad, int cantidad){
+        return listarRanking(facultad, Integer.MIN_VALUE, Integer.MAX_VALUE, false, cantidad);
+    }
+    
+    /**
+     * Obtiene las personas de una facultad con puntaje dentro de un rango.
+     * 
+     * @param facultad Facultad de las personas
+     * @param puntajeMinimo Puntaje mínimo, inclusive
+     * @param puntajeMaximo Puntaje máximo, inclusive
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de personas, de mayor a menor puntaje
+     * @throws IllegalArgumentException si la facultad no existe
+     */
+    public List<Persona> listarPorPuntaje(String facultad, int puntajeMinimo, int puntajeMaximo, int cantidad){
+        return listarRanking(facultad, puntajeMinimo, puntajeMaximo, false, cantidad);
+    }
+    
+    /**
+     * Obtiene las personas admitidas en una facultad.
+     * 
+     * @param facultad Facultad de las personas
+     * @param cantidad Número máximo de personas a devolver
+     * @return Lista de personas admitidas, de mayor a menor puntaje
+     * @throws IllegalArgumentException si la facultad no existe
+     */
+    public List<Persona> listarAdmitidos(String facultad, int cantidad){
+        return listarRanking(facultad, Integer.MIN_VALUE, Integer.MAX_VALUE, true, cantidad);
+    }
+    
+    /**
+     * Valida la facultad y consulta el ranking.
+     */
+    private List<Persona> listarRanking(String facultad, int puntajeMinimo, int puntajeMaximo, boolean soloAdmitidos, int cantidad){
+        if (reglas.idFacultad(facultad) < 0) {
+            throw new IllegalArgumentException("Facultad desconocida: " + facultad);
         }
-        return estado;
+        return datos.listarRanking(facultad, puntajeMinimo, puntajeMaximo, soloAdmitidos, cantidad);
     }
     
     /**
-     * Verifica si una persona es admitida en la facultad de Medio Ambiente según su puntaje.
+     * Cuenta las personas registradas.
      * 
-     * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido (puntaje >= 300), "NO" si no es admitido
+     * @return Número de personas, o -1 si ocurre un error
+     */
+    public int contar(){
+        return datos.contar();
+    }
+    
+    /**
+     * Busca una persona por su DNI.
+     * 
+     * @param dni DNI de la persona a buscar
+     * @return Objeto Persona encontrado, o null si no se encuentra
+     * @throws IllegalStateException si la consulta falla
+     */
+    public Persona buscar(String dni){
+        return datos.buscar(dni);
+    }
+    
+    /**
+     * Busca personas por nombre y apellido mientras se escribe: cada palabra
+     * del texto debe ser el comienzo de una palabra del nombre o del
+     * apellido, sin distinguir mayúsculas ni tildes. No consulta la base de
+     * datos; la primera llamada empieza a construir el índice en segundo
+     * plano (ver prepararBusqueda()).
+     * 
+     * @param texto Texto escrito por el usuario, por ejemplo "jua per"
+     * @param cantidad Número máximo de personas a devolver
+     * @return Personas encontradas, solo con idPersona, DNI, nombre y apellido
+     */
+    public List<Persona> buscarPorNombre(String texto, int cantidad){
+        return nombres.buscar(texto, cantidad);
+    }
+    
+    /**
+     * Empieza a construir el índice de búsqueda por nombre en segundo plano,
+     * para que esté listo cuando el usuario empiece a escribir.
+     */
+    public void prepararBusqueda(){
+        nombres.iniciar();
+    }
+    
+    /**
+     * Actualiza la información de una persona existente.
+     * 
+     * @param persona Persona con la información actualizada
+     * @return Persona actualizada
+     * @throws IllegalStateException si la actualización no fue exitosa
      */
-    public static String VerificadorMedioAmbiente(int puntaje)
-    {String estado;
-        if(puntaje < 300)
-        {
-            estado= "NO";
+    public Persona actualizar(Persona persona){
+        // Datos anteriores para las estadísticas, solo si ya están en la caché
+        // (la persona se buscó antes de editarla y no cambió su DNI)
+        Persona anterior = cache.enCache(persona.getDni());
+        if (datos.actualizar(persona)) {
+            registrarCambio(anterior, persona);
+            nombres.registrar(persona);
+            return persona;
+        }else{
+            throw new IllegalStateException("Ocurrio un error al actualizar");
         }
-        else
-        {
-            estado= "SI";
+    }
+    
+    /**
+     * Elimina una persona del sistema por su DNI, con una sola escritura y
+     * sin buscarla antes. Los datos de la fila eliminada salen del
+     * almacenamiento si los devuelve (en memoria, en archivo) o de la caché;
+     * si no se conocen, el idPersona se toma del índice de nombres y las
+     * estadísticas se corrigen en la siguiente reconciliación periódica.
+     * 
+     * @param dni DNI de la persona a eliminar
+     * @return Persona eliminada, o null si no existe una persona con ese DNI.
+     *         Si sus datos no se conocen solo tiene el DNI y, si el índice de
+     *         nombres lo tiene, el idPersona
+     * @throws IllegalStateException si no se pudo eliminar
+     */
+    public Persona eliminar(String dni){
+        Persona persona = new Persona();
+        persona.setDni(dni);
+        switch (datos.eliminarSiExiste(persona)) {
+        case ELIMINADO:
+            if (persona.getIdPersona() > 0) {
+                estadisticas.registrarBaja(persona);
+            }else{
+                estadisticas.registrarDesconocido();
+                persona.setIdPersona(nombres.buscarId(dni));
+            }
+            nombres.registrarBaja(persona.getIdPersona(), dni);
+            return persona;
+        case NO_EXISTE:
+            return null;
+        default:
+            throw new IllegalStateException("Ocurrio un error al eliminar");
         }
-        return estado;
     }
     
     /**
-     * Verifica si una persona es admitida en la facultad de Ciencias según su puntaje.
+     * Determina si una persona es admitida según la facultad y el puntaje,
+     * con las reglas de admisión vigentes.
      * 
+     * @param facultad Facultad a la que aspira la persona
      * @param puntaje Puntaje obtenido por la persona
-     * @return "SI" si es admitido (puntaje >= 320), "NO" si no es admitido
+     * @return "SI" si es admitido, "NO" si no es admitido
+     * @throws IllegalArgumentException si la facultad no existe
      */
-    public static String VerificadorCiencias(int puntaje)
-    {String estado;
-        if(puntaje < 320)
-        {
-            estado= "NO";
-        }
-        else
-        {
-            estado= "SI";
+    public String evaluarAdmision(String facultad,int puntaje){
+        return reglas.evaluar(facultad, puntaje);
+    }
+    
+    /**
+     * Obtiene las reglas de admisión vigentes. Quien evalúa muchas personas
+     * debe usar la misma instancia para todas, así una recarga no cambia los
+     * cortes a mitad del proceso.
+     * 
+     * @return Reglas de admisión vigentes
+     */
+    public ReglasAdmision getReglas(){
+        return reglas;
+    }
+    
+    /**
+     * Vuelve a leer los cortes de admisión. Si el archivo tiene errores se
+     * conservan las reglas anteriores.
+     * 
+     * @return Reglas cargadas
+     * @throws IllegalStateException si no se pudieron leer las reglas
+     */
+    public ReglasAdmision recargarReglas(){
+        reglas = ReglasAdmision.cargar();
+        return reglas;
+    }
+    
+    /**
+     * Detiene los hilos de fondo del servicio: la reconciliación de las
+     * estadísticas, la construcción del índice de nombres y, si el servicio
+     * creó el almacenamiento en archivo, su mantenimiento (guarda el punto
+     * de control y cierra el log). No cierra el pool de conexiones, que es
+     * compartido (ver DatabaseConnection.cerrarPool()).
+     */
+    public void cerrar(){
+        estadisticas.cerrar();
+        nombres.cerrar();
+        if (fuentePropia && fuente instanceof PersonaArchivo) {
+            ((PersonaArchivo) fuente).cerrar();
         }
-        return estado;
     }
    
 }
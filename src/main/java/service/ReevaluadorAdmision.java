@@ -0,0 +1,259 @@
+/**
+ * Clase que recalcula el estado de admisión de las personas ya registradas
+ * cuando cambian los cortes de admisión.
+ *
+ * La tabla se recorre por tramos de idPersona consecutivos (paginación por
+ * clave primaria). Cada tramo se actualiza con una sola sentencia que aplica
+ * los cortes de todas las facultades y se confirma por separado, así los
+ * bloqueos solo alcanzan a las filas del tramo y duran poco.
+ *
+ * Después de cada tramo se guarda un punto de control con el último
+ * idPersona procesado. Si el proceso se interrumpe, al volver a ejecutarlo
+ * con el mismo archivo continúa desde ese punto; si los cortes cambiaron
+ * entre tanto, empieza de nuevo desde el principio.
+ *
+ * Las sentencias por tramo son de MySQL, así que solo funciona con
+ * datos.backend=mysql.
+ *
+ * Al terminar se descartan las búsquedas guardadas y las estadísticas del
+ * servicio recibido, pero no las de otros procesos: una aplicación o un
+ * servidor HTTP que estén en marcha siguen viendo el estado anterior hasta
+ * que vence su caché (cache.ttlMs) y hasta su próxima reconciliación de
+ * estadísticas (estadisticas.reconciliacionMs).
+ */
+package service;
+
+import data.DatabaseConfig;
+import data.DatabaseConnection;
+import data.PersonaDAO;
+import data.interfaces.PersonaInterface;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class ReevaluadorAdmision {
+
+    // Intervalo mínimo entre dos avisos de progreso
+    private static final long AVISO_CADA_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * Resumen de una reevaluación, en curso o terminada.
+     */
+    public static final class Resumen {
+        private long revisadas;
+        private long actualizadas;
+        private int ultimoId;
+        private long nanos;
+        private boolean reanudada;
+
+        public long getRevisadas() {
+            return revisadas;
+        }
+
+        public long getActualizadas() {
+            return actualizadas;
+        }
+
+        /**
+         * @return Último idPersona procesado
+         */
+        public int getUltimoId() {
+            return ultimoId;
+        }
+
+        /**
+         * @return true si se continuó desde un punto de control
+         */
+        public boolean isReanudada() {
+            return reanudada;
+        }
+
+        /**
+         * @return Filas revisadas por segundo en esta ejecución
+         */
+        public double getFilasPorSegundo() {
+            return nanos == 0 ? 0 : revisadas / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Filas revisadas: %,d | actualizadas: %,d | último id: %d | %.1f s | %,.0f filas/s",
+                    revisadas, actualizadas, ultimoId, nanos / 1e9, getFilasPorSegundo());
+        }
+    }
+
+    private final PersonaService personaService;
+    private final PersonaDAO datos;
+    private final int tamanoTramo;
+    private final long pausaMs;
+
+    /**
+     * Constructor de la clase ReevaluadorAdmision.
+     *
+     * @param personaService Servicio del que se toman las reglas de admisión vigentes
+     * @param tamanoTramo Número de personas por tramo y por transacción
+     * @param pausaMs Pausa entre tramos, para ceder la base de datos a otras operaciones
+     * @throws IllegalStateException si el servicio no guarda las personas en MySQL
+     */
+    public ReevaluadorAdmision(PersonaService personaService, int tamanoTramo, long pausaMs) {
+        PersonaInterface fuente = personaService.getFuente();
+        if (!(fuente instanceof PersonaDAO)) {
+            throw new IllegalStateException("La reevaluación por tramos necesita datos.backend=mysql; el servicio usa "
+                    + fuente.getClass().getSimpleName());
+        }
+        this.personaService = personaService;
+        this.datos = (PersonaDAO) fuente;
+        this.tamanoTramo = Math.max(1, tamanoTramo);
+        this.pausaMs = pausaMs;
+    }
+
+    /**
+     * Recalcula el estado de admisión con las reglas vigentes.
+     *
+     * @param facultad Facultad a recalcular, o null para todas
+     * @param puntoControl Archivo del punto de control, o null para no guardarlo
+     * @param progreso Recibe el resumen parcial cada pocos segundos; puede ser null
+     * @return Resumen de la reevaluación
+     * @throws IllegalArgumentException si la facultad no existe
+     * @throws SQLException si falla un tramo; el punto de control queda en el último tramo confirmado
+     * @throws IOException si no se puede leer o escribir el punto de control
+     */
+    public Resumen reevaluar(String facultad, Path puntoControl, Consumer<Resumen> progreso)
+            throws SQLException, IOException, InterruptedException {
+        ReglasAdmision reglas = personaService.getReglas();
+        Map<String, Integer> cortes = new LinkedHashMap<>();
+        if (facultad != null) {
+            int id = reglas.idFacultad(facultad);
+            if (id < 0) {
+                throw new IllegalArgumentException("Facultad desconocida: " + facultad);
+            }
+            cortes.put(facultad, reglas.getCorte(id));
+        } else {
+            for (int id = 0; id < reglas.getNumeroFacultades(); id++) {
+                cortes.put(reglas.getFacultad(id), reglas.getCorte(id));
+            }
+        }
+        // Identifica el trabajo: un punto de control solo vale para los mismos cortes
+        String trabajo = cortes.toString();
+
+        Resumen resumen = new Resumen();
+        int despuesDeId = puntoControl == null ? 0 : leerPuntoControl(puntoControl, trabajo);
+        resumen.reanudada = despuesDeId > 0;
+        resumen.ultimoId = despuesDeId;
+
+        long inicio = System.nanoTime();
+        long ultimoAviso = inicio;
+        try {
+            while (true) {
+                int[] tramo = datos.finDeTramo(despuesDeId, tamanoTramo, facultad);
+                if (tramo[1] == 0) {
+                    break;
+                }
+                resumen.actualizadas += datos.reevaluarTramo(despuesDeId, tramo[0], cortes);
+                resumen.revisadas += tramo[1];
+                resumen.ultimoId = despuesDeId = tramo[0];
+                if (puntoControl != null) {
+                    guardarPuntoControl(puntoControl, trabajo, despuesDeId);
+                }
+
+                long ahora = System.nanoTime();
+                if (progreso != null && ahora - ultimoAviso >= AVISO_CADA_NANOS) {
+                    resumen.nanos = ahora - inicio;
+                    progreso.accept(resumen);
+                    ultimoAviso = ahora;
+                }
+                if (tramo[1] < tamanoTramo) {
+                    break;
+                }
+                if (pausaMs > 0) {
+                    Thread.sleep(pausaMs);
+                }
+            }
+        } finally {
+            resumen.nanos = System.nanoTime() - inicio;
+            // Las búsquedas guardadas pueden tener el estado anterior
+            personaService.descartarGuardados();
+        }
+
+        if (puntoControl != null) {
+            Files.deleteIfExists(puntoControl);
+        }
+        return resumen;
+    }
+
+    /**
+     * Lee el último idPersona procesado de un punto de control.
+     *
+     * @return Último id procesado, o 0 si no hay punto de control o es de otro trabajo
+     */
+    private static int leerPuntoControl(Path archivo, String trabajo) throws IOException {
+        if (!Files.exists(archivo)) {
+            return 0;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(archivo)) {
+            props.load(in);
+        }
+        if (!trabajo.equals(props.getProperty("trabajo"))) {
+            System.out.println("El punto de control corresponde a otros cortes; se empieza desde el principio");
+            return 0;
+        }
+        try {
+            return Integer.parseInt(props.getProperty("ultimoId", "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Guarda el punto de control. Se escribe en un archivo temporal que luego
+     * reemplaza al anterior, para que una interrupción nunca deje un archivo a medias.
+     */
+    private static void guardarPuntoControl(Path archivo, String trabajo, int ultimoId) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("trabajo", trabajo);
+        props.setProperty("ultimoId", Integer.toString(ultimoId));
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporal)) {
+            props.store(out, null);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Ejecuta la reevaluación desde la línea de comandos.
+     *
+     * @param args [facultad|todas] [puntoControl]
+     */
+    public static void main(String[] args) throws Exception {
+        String facultad = args.length > 0 && !args[0].equalsIgnoreCase("todas") ? args[0] : null;
+        Path puntoControl = Paths.get(args.length > 1 ? args[1] : "reevaluacion.checkpoint");
+
+        PersonaService personaService = new PersonaService();
+        try {
+            ReevaluadorAdmision reevaluador = new ReevaluadorAdmision(personaService,
+                    DatabaseConfig.getInt("reevaluacion.tramo", 1000),
+                    DatabaseConfig.getLong("reevaluacion.pausaMs", 0));
+            Resumen resumen = reevaluador.reevaluar(facultad, puntoControl, System.out::println);
+
+            if (resumen.isReanudada()) {
+                System.out.println("Reanudada desde el punto de control " + puntoControl);
+            }
+            System.out.println(resumen);
+        } finally {
+            personaService.cerrar();
+            DatabaseConnection.cerrarPool();
+        }
+    }
+}
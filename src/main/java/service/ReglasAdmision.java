@@ -0,0 +1,215 @@
+/**
+ * Clase que contiene las reglas de admisión: el puntaje mínimo (corte) que
+ * se necesita para ingresar a cada facultad.
+ *
+ * Los cortes se leen del archivo admision.properties, con una clave
+ * corte.<Facultad> por facultad, y se compilan en una tabla: cada facultad
+ * recibe un id numérico (su posición en orden alfabético) y su corte se
+ * guarda en un arreglo de int en esa posición. Evaluar a una persona es una
+ * comparación con un elemento del arreglo, sin crear objetos.
+ *
+ * Por defecto se usa el archivo del classpath; con -Dadmision.archivo=ruta
+ * se usa un archivo externo, que puede modificarse y volver a cargarse con
+ * la aplicación en ejecución (PersonaService.recargarReglas()).
+ *
+ * Las instancias son inmutables y pueden usarse desde varios hilos a la vez.
+ */
+package service;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public final class ReglasAdmision {
+
+    public static final String SI = "SI";
+    public static final String NO = "NO";
+
+    // Archivo del classpath con los cortes por defecto
+    private static final String ARCHIVO = "/admision.properties";
+
+    private static final String PREFIJO = "corte.";
+
+    // Nombre de cada facultad, por id
+    private final String[] facultades;
+
+    // Corte de cada facultad, por id
+    private final int[] cortes;
+
+    // Id de cada facultad, por nombre
+    private final Map<String, Integer> ids;
+
+    /**
+     * Constructor de la clase ReglasAdmision.
+     *
+     * @param cortesPorFacultad Puntaje mínimo de admisión de cada facultad
+     * @throws IllegalArgumentException si no hay facultades o algún corte es negativo
+     */
+    public ReglasAdmision(Map<String, Integer> cortesPorFacultad) {
+        if (cortesPorFacultad.isEmpty()) {
+            throw new IllegalArgumentException("No hay facultades configuradas");
+        }
+        List<String> nombres = new ArrayList<>(cortesPorFacultad.keySet());
+        Collections.sort(nombres);
+
+        facultades = nombres.toArray(new String[0]);
+        cortes = new int[facultades.length];
+        ids = new HashMap<>();
+        for (int id = 0; id < facultades.length; id++) {
+            int corte = cortesPorFacultad.get(facultades[id]);
+            if (corte < 0) {
+                throw new IllegalArgumentException("Corte negativo para " + facultades[id] + ": " + corte);
+            }
+            cortes[id] = corte;
+            ids.put(facultades[id], id);
+        }
+    }
+
+    /**
+     * Carga las reglas del archivo externo indicado en -Dadmision.archivo o,
+     * si no se indicó, de admision.properties del classpath.
+     *
+     * @return Reglas cargadas
+     * @throws IllegalStateException si el archivo no existe o tiene valores inválidos
+     */
+    public static ReglasAdmision cargar() {
+        String ruta = System.getProperty("admision.archivo");
+        Properties props = new Properties();
+        try (InputStream in = ruta != null ? new FileInputStream(ruta) : ReglasAdmision.class.getResourceAsStream(ARCHIVO)) {
+            if (in == null) {
+                throw new IllegalStateException("No se encontro " + ARCHIVO);
+            }
+            props.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al leer las reglas de admision: " + e.getMessage(), e);
+        }
+
+        Map<String, Integer> cortesPorFacultad = new HashMap<>();
+        for (String clave : props.stringPropertyNames()) {
+            if (!clave.startsWith(PREFIJO)) {
+                continue;
+            }
+            String valor = props.getProperty(clave).trim();
+            try {
+                cortesPorFacultad.put(clave.substring(PREFIJO.length()), Integer.parseInt(valor));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Corte no numerico para " + clave + ": " + valor);
+            }
+        }
+        try {
+            return new ReglasAdmision(cortesPorFacultad);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene el id numérico de una facultad.
+     *
+     * @param facultad Nombre de la facultad
+     * @return Id de la facultad, o -1 si no existe
+     */
+    public int idFacultad(String facultad) {
+        Integer id = facultad == null ? null : ids.get(facultad);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Determina si un puntaje alcanza el corte de una facultad.
+     *
+     * @param idFacultad Id de la facultad (idFacultad())
+     * @param puntaje Puntaje obtenido por la persona
+     * @return true si es admitido
+     */
+    public boolean admitido(int idFacultad, int puntaje) {
+        return puntaje >= cortes[idFacultad];
+    }
+
+    /**
+     * Determina si una persona es admitida según la facultad y el puntaje.
+     *
+     * @param facultad Facultad a la que aspira la persona
+     * @param puntaje Puntaje obtenido por la persona
+     * @return SI si es admitido, NO si no es admitido
+     * @throws IllegalArgumentException si la facultad no existe
+     */
+    public String evaluar(String facultad, int puntaje) {
+        int id = idFacultad(facultad);
+        if (id < 0) {
+            throw new IllegalArgumentException("Facultad desconocida: " + facultad);
+        }
+        return puntaje >= cortes[id] ? SI : NO;
+    }
+
+    /**
+     * Evalúa un conjunto de personas de distintas facultades.
+     *
+     * @param idsFacultad Id de la facultad de cada persona
+     * @param puntajes Puntaje de cada persona
+     * @param admitidos Recibe el resultado de cada persona
+     * @param cantidad Número de personas a evaluar, desde la posición 0
+     * @return Número de personas admitidas
+     */
+    public int evaluar(int[] idsFacultad, int[] puntajes, boolean[] admitidos, int cantidad) {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            boolean admitida = puntajes[i] >= cortes[idsFacultad[i]];
+            admitidos[i] = admitida;
+            if (admitida) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Evalúa un conjunto de personas de una misma facultad.
+     *
+     * @param idFacultad Id de la facultad
+     * @param puntajes Puntaje de cada persona
+     * @param admitidos Recibe el resultado de cada persona
+     * @param cantidad Número de personas a evaluar, desde la posición 0
+     * @return Número de personas admitidas
+     */
+    public int evaluar(int idFacultad, int[] puntajes, boolean[] admitidos, int cantidad) {
+        int corte = cortes[idFacultad];
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            boolean admitida = puntajes[i] >= corte;
+            admitidos[i] = admitida;
+            if (admitida) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Número de facultades configuradas
+     */
+    public int getNumeroFacultades() {
+        return facultades.length;
+    }
+
+    /**
+     * @param idFacultad Id de la facultad
+     * @return Nombre de la facultad
+     */
+    public String getFacultad(int idFacultad) {
+        return facultades[idFacultad];
+    }
+
+    /**
+     * @param idFacultad Id de la facultad
+     * @return Puntaje mínimo de admisión de la facultad
+     */
+    public int getCorte(int idFacultad) {
+        return cortes[idFacultad];
+    }
+}
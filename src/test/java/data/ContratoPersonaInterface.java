@@ -0,0 +1,285 @@
+/**
+ * Pruebas del comportamiento que PersonaInterface promete, comunes a todos
+ * los almacenamientos. Cada almacenamiento las ejecuta con una subclase que
+ * indica cómo crearlo y cerrarlo.
+ */
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import data.interfaces.PersonaInterface;
+import data.interfaces.ResultadoEscritura;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.Persona;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+abstract class ContratoPersonaInterface {
+
+    protected PersonaInterface datos;
+
+    /**
+     * @return Almacenamiento vacío
+     */
+    protected abstract PersonaInterface crear() throws Exception;
+
+    /**
+     * Libera el almacenamiento creado por crear().
+     */
+    protected void cerrar(PersonaInterface datos) throws Exception {
+    }
+
+    @BeforeEach
+    void abrir() throws Exception {
+        datos = crear();
+    }
+
+    @AfterEach
+    void liberar() throws Exception {
+        cerrar(datos);
+    }
+
+    static Persona persona(String dni, int puntaje) {
+        return new Persona(0, dni, "Nombre " + dni, "Apellido " + dni, "Ingenieria", puntaje, puntaje >= 60 ? "SI" : "NO");
+    }
+
+    static void assertMismaPersona(Persona esperada, Persona obtenida) {
+        assertNotNull(obtenida, "no se encontró " + esperada.getDni());
+        assertEquals(esperada.getIdPersona(), obtenida.getIdPersona());
+        assertEquals(esperada.getDni(), obtenida.getDni());
+        assertEquals(esperada.getNombre(), obtenida.getNombre());
+        assertEquals(esperada.getApellido(), obtenida.getApellido());
+        assertEquals(esperada.getFacultadAspirada(), obtenida.getFacultadAspirada());
+        assertEquals(esperada.getPuntaje(), obtenida.getPuntaje());
+        assertEquals(esperada.getAdmitido(), obtenida.getAdmitido());
+    }
+
+    static List<Integer> ids(List<Persona> personas) {
+        return personas.stream().map(Persona::getIdPersona).collect(Collectors.toList());
+    }
+
+    /**
+     * Inserta personas con DNI "1" a "cantidad".
+     */
+    List<Persona> insertarVarias(int cantidad) {
+        List<Persona> insertadas = new ArrayList<>();
+        for (int i = 1; i <= cantidad; i++) {
+            Persona p = persona(Integer.toString(i), i % 100);
+            assertTrue(datos.insertar(p));
+            insertadas.add(p);
+        }
+        return insertadas;
+    }
+
+    @Test
+    void insertarAsignaIdsCrecientesYSePuedeBuscar() {
+        Persona primera = persona("100", 70);
+        Persona segunda = persona("200", 40);
+
+        assertTrue(datos.insertar(primera));
+        assertTrue(datos.insertar(segunda));
+
+        assertTrue(primera.getIdPersona() > 0);
+        assertTrue(segunda.getIdPersona() > primera.getIdPersona());
+        assertMismaPersona(primera, datos.buscar("100"));
+        assertMismaPersona(segunda, datos.buscar("200"));
+        assertNull(datos.buscar("300"));
+        assertEquals(2, datos.contar());
+    }
+
+    @Test
+    void insertarUnDniExistenteFalla() {
+        Persona original = persona("100", 70);
+        assertTrue(datos.insertar(original));
+
+        Persona repetida = persona("100", 10);
+        assertFalse(datos.insertar(repetida));
+
+        assertEquals(1, datos.contar());
+        assertMismaPersona(original, datos.buscar("100"));
+    }
+
+    @Test
+    void insertarSiNoExisteDistingueDuplicadosDeErrores() {
+        Persona nueva = persona("100", 70);
+        assertEquals(ResultadoEscritura.INSERTADO, datos.insertarSiNoExiste(nueva));
+        assertTrue(nueva.getIdPersona() > 0);
+
+        assertEquals(ResultadoEscritura.DUPLICADO, datos.insertarSiNoExiste(persona("100", 10)));
+        Persona sinApellido = persona("200", 10);
+        sinApellido.setApellido(null);
+        assertEquals(ResultadoEscritura.ERROR, datos.insertarSiNoExiste(sinApellido));
+
+        assertEquals(1, datos.contar());
+        assertMismaPersona(nueva, datos.buscar("100"));
+    }
+
+    @Test
+    void insertarLoteInformaDuplicadosYErrores() {
+        assertTrue(datos.insertar(persona("1", 50)));
+        Persona sinNombre = persona("4", 50);
+        sinNombre.setNombre(null);
+
+        List<ResultadoEscritura> resultados = datos.insertarLote(
+                Arrays.asList(persona("1", 10), persona("2", 20), persona("2", 30), sinNombre, persona("3", 40)), 2);
+
+        assertEquals(Arrays.asList(ResultadoEscritura.DUPLICADO, ResultadoEscritura.INSERTADO,
+                ResultadoEscritura.DUPLICADO, ResultadoEscritura.ERROR, ResultadoEscritura.INSERTADO), resultados);
+        assertEquals(3, datos.contar());
+        assertEquals(20, datos.buscar("2").getPuntaje());
+    }
+
+    @Test
+    void rechazaDatosQueNoCumplenElEsquema() {
+        Persona dniLargo = persona("123456789012345678901", 50);
+        Persona sinFacultad = persona("2", 50);
+        sinFacultad.setFacultadAspirada(null);
+        Persona admitidoLargo = persona("3", 50);
+        admitidoLargo.setAdmitido("SIN");
+
+        assertFalse(datos.insertar(dniLargo));
+        assertFalse(datos.insertar(sinFacultad));
+        assertEquals(ResultadoEscritura.ERROR, datos.guardar(admitidoLargo));
+        assertEquals(0, datos.contar());
+
+        Persona valida = persona("4", 50);
+        assertTrue(datos.insertar(valida));
+        valida.setApellido(String.join("", Collections.nCopies(101, "x")));
+        assertFalse(datos.actualizar(valida));
+        assertEquals("Apellido 4", datos.buscar("4").getApellido());
+    }
+
+    @Test
+    void actualizarCambiaLosDatosYElDni() {
+        Persona p = persona("100", 40);
+        assertTrue(datos.insertar(p));
+
+        p.setDni("101");
+        p.setPuntaje(90);
+        p.setAdmitido("SI");
+        assertTrue(datos.actualizar(p));
+
+        assertNull(datos.buscar("100"));
+        assertMismaPersona(p, datos.buscar("101"));
+        assertEquals(1, datos.contar());
+
+        // El DNI anterior queda libre
+        assertTrue(datos.insertar(persona("100", 10)));
+    }
+
+    @Test
+    void actualizarAlDniDeOtraPersonaFalla() {
+        Persona primera = persona("100", 40);
+        Persona segunda = persona("200", 50);
+        assertTrue(datos.insertar(primera));
+        assertTrue(datos.insertar(segunda));
+
+        Persona cambio = persona("100", 99);
+        cambio.setIdPersona(segunda.getIdPersona());
+        assertFalse(datos.actualizar(cambio));
+
+        assertMismaPersona(primera, datos.buscar("100"));
+        assertMismaPersona(segunda, datos.buscar("200"));
+    }
+
+    @Test
+    void actualizarUnIdInexistenteFalla() {
+        Persona p = persona("100", 40);
+        p.setIdPersona(42);
+        assertFalse(datos.actualizar(p));
+        assertEquals(0, datos.contar());
+    }
+
+    @Test
+    void guardarInsertaOReemplazaPorDni() {
+        Persona nueva = persona("100", 40);
+        assertEquals(ResultadoEscritura.INSERTADO, datos.guardar(nueva));
+        int id = nueva.getIdPersona();
+        assertTrue(id > 0);
+
+        Persona reemplazo = persona("100", 80);
+        assertEquals(ResultadoEscritura.ACTUALIZADO, datos.guardar(reemplazo));
+        assertEquals(id, reemplazo.getIdPersona());
+        assertMismaPersona(reemplazo, datos.buscar("100"));
+        assertEquals(1, datos.contar());
+    }
+
+    @Test
+    void eliminarQuitaLaPersonaYNoReutilizaSuId() {
+        List<Persona> insertadas = insertarVarias(3);
+
+        assertTrue(datos.eliminar("3"));
+        assertFalse(datos.eliminar("3"));
+        assertNull(datos.buscar("3"));
+        assertEquals(2, datos.contar());
+
+        Persona nueva = persona("4", 10);
+        assertTrue(datos.insertar(nueva));
+        assertTrue(nueva.getIdPersona() > insertadas.get(2).getIdPersona());
+    }
+
+    @Test
+    void eliminarSiExisteCopiaLaPersonaEliminada() {
+        Persona p = persona("100", 75);
+        assertTrue(datos.insertar(p));
+
+        Persona baja = new Persona();
+        baja.setDni("100");
+        assertEquals(ResultadoEscritura.ELIMINADO, datos.eliminarSiExiste(baja));
+        assertMismaPersona(p, baja);
+
+        Persona otra = new Persona();
+        otra.setDni("100");
+        assertEquals(ResultadoEscritura.NO_EXISTE, datos.eliminarSiExiste(otra));
+        assertEquals(0, datos.contar());
+    }
+
+    @Test
+    void listarPaginaRecorreTodoEnOrdenDeId() {
+        List<Persona> insertadas = insertarVarias(25);
+        assertTrue(datos.eliminar("7"));
+        List<Integer> esperados = ids(insertadas);
+        esperados.remove(Integer.valueOf(insertadas.get(6).getIdPersona()));
+
+        List<Integer> leidos = new ArrayList<>();
+        int despuesDeId = 0;
+        while (true) {
+            List<Persona> pagina = datos.listarPagina(despuesDeId, 10);
+            leidos.addAll(ids(pagina));
+            if (pagina.size() < 10) {
+                break;
+            }
+            despuesDeId = pagina.get(pagina.size() - 1).getIdPersona();
+        }
+
+        assertEquals(esperados, leidos);
+        assertEquals(esperados, ids(datos.listar()));
+        try (Stream<Persona> todas = datos.recorrer(4)) {
+            assertEquals(esperados, todas.map(Persona::getIdPersona).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void listarFinesDePaginaDevuelveElUltimoIdDeCadaPaginaCompleta() {
+        List<Persona> insertadas = insertarVarias(25);
+        assertTrue(datos.eliminar("7"));
+
+        // Quedan 24 personas: dos páginas completas de 10
+        int[] fines = datos.listarFinesDePagina(10);
+
+        assertArrayEquals(new int[]{insertadas.get(10).getIdPersona(), insertadas.get(20).getIdPersona()}, fines);
+        List<Persona> tercera = datos.listarPagina(fines[1], 10);
+        assertEquals(4, tercera.size());
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Pruebas de PersonaArchivo: el contrato de PersonaInterface y lo propio
+ * del almacenamiento en archivo, que los datos sobrevivan a cerrarlo y
+ * abrirlo, a la compactación del log y a un registro escrito a medias.
+ */
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import data.interfaces.PersonaInterface;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import model.Persona;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersonaArchivoTest extends ContratoPersonaInterface {
+
+    @TempDir
+    Path directorio;
+
+    @Override
+    protected PersonaInterface crear() throws IOException {
+        return abrirArchivo();
+    }
+
+    @Override
+    protected void cerrar(PersonaInterface datos) {
+        ((PersonaArchivo) datos).cerrar();
+    }
+
+    /**
+     * Abre el almacenamiento del directorio de la prueba. El mantenimiento
+     * de fondo se programa lejos para que solo compacte la prueba.
+     */
+    private PersonaArchivo abrirArchivo() throws IOException {
+        return new PersonaArchivo(directorio, PersonaArchivo.Sincronizacion.SIEMPRE, 1000, 3_600_000);
+    }
+
+    private void reabrir() throws IOException {
+        cerrar(datos);
+        datos = abrirArchivo();
+    }
+
+    private Path logVigente() throws IOException {
+        List<Path> logs = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "personas-*.log")) {
+            archivos.forEach(logs::add);
+        }
+        assertEquals(1, logs.size(), "debería quedar un solo log: " + logs);
+        return logs.get(0);
+    }
+
+    @Test
+    void reabrirConservaLosDatosYLosIds() throws IOException {
+        List<Persona> insertadas = insertarVarias(5);
+        Persona cambiada = insertadas.get(1);
+        cambiada.setDni("20");
+        cambiada.setPuntaje(95);
+        assertTrue(datos.actualizar(cambiada));
+        assertTrue(datos.eliminar("5"));
+
+        reabrir();
+
+        assertEquals(4, datos.contar());
+        assertMismaPersona(insertadas.get(0), datos.buscar("1"));
+        assertMismaPersona(cambiada, datos.buscar("20"));
+        assertNull(datos.buscar("2"));
+        assertNull(datos.buscar("5"));
+        Persona nueva = persona("6", 30);
+        assertTrue(datos.insertar(nueva));
+        assertEquals(insertadas.get(4).getIdPersona() + 1, nueva.getIdPersona());
+    }
+
+    @Test
+    void reabrirSinPuntoDeControlRecorreElLog() throws IOException {
+        List<Persona> insertadas = insertarVarias(5);
+        cerrar(datos);
+        Files.delete(directorio.resolve("personas.idx"));
+
+        datos = abrirArchivo();
+
+        assertEquals(5, datos.contar());
+        for (Persona p : insertadas) {
+            assertMismaPersona(p, datos.buscar(p.getDni()));
+        }
+    }
+
+    @Test
+    void compactarConservaLosVigentesYElUltimoId() throws IOException {
+        List<Persona> insertadas = insertarVarias(10);
+        for (int i = 1; i <= 9; i++) {
+            Persona p = insertadas.get(i - 1);
+            p.setPuntaje(p.getPuntaje() + 1);
+            assertTrue(datos.actualizar(p));
+        }
+        for (int i = 3; i <= 10; i++) {
+            assertTrue(datos.eliminar(Integer.toString(i)));
+        }
+        Path anterior = logVigente();
+
+        ((PersonaArchivo) datos).compactar();
+
+        assertNotEquals(anterior, logVigente());
+        assertEquals(2, datos.contar());
+        assertMismaPersona(insertadas.get(0), datos.buscar("1"));
+        assertMismaPersona(insertadas.get(1), datos.buscar("2"));
+
+        reabrir();
+
+        assertEquals(2, datos.contar());
+        assertMismaPersona(insertadas.get(1), datos.buscar("2"));
+        // El id de la última persona, aunque se eliminó, no se vuelve a usar
+        Persona nueva = persona("11", 10);
+        assertTrue(datos.insertar(nueva));
+        assertEquals(insertadas.get(9).getIdPersona() + 1, nueva.getIdPersona());
+    }
+
+    @Test
+    void unRegistroEscritoAMediasSeDescartaAlAbrir() throws IOException {
+        List<Persona> insertadas = insertarVarias(3);
+        cerrar(datos);
+        // Sin punto de control el log se recorre completo y se valida cada registro
+        Files.delete(directorio.resolve("personas.idx"));
+
+        try (RandomAccessFile log = new RandomAccessFile(logVigente().toFile(), "rw")) {
+            // Busca el último registro: cada uno empieza con su longitud y su CRC
+            long posicion = 0;
+            long ultimo = -1;
+            int longitud;
+            log.seek(posicion);
+            while ((longitud = log.readInt()) > 0) {
+                ultimo = posicion;
+                posicion += LogRegistros.CABECERA + longitud;
+                log.seek(posicion);
+            }
+            // Borra la segunda mitad del contenido, como una escritura interrumpida
+            log.seek(ultimo);
+            int tamano = log.readInt();
+            log.seek(ultimo + LogRegistros.CABECERA + tamano / 2);
+            log.write(new byte[tamano - tamano / 2]);
+        }
+
+        datos = abrirArchivo();
+
+        assertEquals(2, datos.contar());
+        assertMismaPersona(insertadas.get(0), datos.buscar("1"));
+        assertMismaPersona(insertadas.get(1), datos.buscar("2"));
+        assertNull(datos.buscar("3"));
+        // La escritura siguiente reemplaza al registro incompleto
+        Persona nueva = persona("3", 77);
+        assertTrue(datos.insertar(nueva));
+        reabrir();
+        assertMismaPersona(nueva, datos.buscar("3"));
+    }
+}
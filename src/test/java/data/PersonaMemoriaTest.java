@@ -0,0 +1,14 @@
+/**
+ * Pruebas de PersonaMemoria con el contrato de PersonaInterface.
+ */
+package data;
+
+import data.interfaces.PersonaInterface;
+
+class PersonaMemoriaTest extends ContratoPersonaInterface {
+
+    @Override
+    protected PersonaInterface crear() {
+        return new PersonaMemoria();
+    }
+}